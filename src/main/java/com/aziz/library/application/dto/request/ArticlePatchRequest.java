@@ -0,0 +1,52 @@
+package com.aziz.library.application.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Article merge patch (RFC 7396): omitted fields are left unchanged")
+public class ArticlePatchRequest {
+
+    // Required fields cannot be removed, so an explicit null is rejected while reading the body
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(min = 3, max = 200, message = "Title must be between 3 and 200 characters")
+    @Schema(description = "Article title", example = "Furniture Color Guidance")
+    private String title;
+    
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Content must not be blank")
+    @Size(min = 10, message = "Content must be at least 10 characters")
+    @Schema(description = "Article content", example = "This is a guide for choosing best color")
+    private String content;
+    
+    // Named like the "public" field of ArticleRequest and ArticleResponse
+    @JsonProperty("public")
+    @JsonAlias("isPublic")
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Schema(description = "Is article public", example = "true")
+    private Boolean isPublic;
+    
+    @JsonSetter(nulls = Nulls.AS_EMPTY)
+    @Size(max = 10, message = "An article can have at most 10 tags")
+    @Schema(description = "Tags, replacing the current ones; null removes them all", example = "[\"design\", \"interior\"]")
+    private List<
+            @NotBlank(message = "Tags must not be blank")
+            @Size(max = 50, message = "Tags must be at most 50 characters")
+            @Pattern(regexp = "[\\p{L}\\p{Nd} _-]+", message = "Tags may only contain letters, digits, spaces, '-' and '_'")
+            String> tags;
+
+}
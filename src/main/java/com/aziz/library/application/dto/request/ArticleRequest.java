@@ -2,10 +2,12 @@ package com.aziz.library.application.dto.request;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -25,5 +27,14 @@ public class ArticleRequest {
     
     @Schema(description = "Is article public", example = "true")
     private boolean isPublic;
+    
+    @Size(max = 10, message = "An article can have at most 10 tags")
+    @Schema(description = "Tags, stored lower-case with spaces as '-'. Omit on update to keep the current tags",
+            example = "[\"design\", \"interior\"]")
+    private List<
+            @NotBlank(message = "Tags must not be blank")
+            @Size(max = 50, message = "Tags must be at most 50 characters")
+            @Pattern(regexp = "[\\p{L}\\p{Nd} _-]+", message = "Tags may only contain letters, digits, spaces, '-' and '_'")
+            String> tags;
 
 }
@@ -0,0 +1,22 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A line of an article import that was not imported")
+public class ArticleImportErrorResponse {
+
+    @Schema(description = "One-based line number in the uploaded file", example = "42")
+    private long line;
+    
+    @Schema(description = "Why the line was not imported", example = "title: Title is required")
+    private String message;
+
+}
@@ -0,0 +1,29 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of an article import")
+public class ArticleImportResponse {
+
+    @Schema(description = "Number of articles imported", example = "9998")
+    private long imported;
+    
+    @Schema(description = "Number of lines not imported", example = "2")
+    private long failed;
+    
+    @Schema(description = "Lines not imported, in file order; at most the first 1000")
+    private List<ArticleImportErrorResponse> errors;
+    
+    @Schema(description = "Whether more lines failed than are listed", example = "false")
+    private boolean errorsTruncated;
+
+}
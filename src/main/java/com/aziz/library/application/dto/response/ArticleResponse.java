@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -32,6 +33,12 @@ public class ArticleResponse {
     @Schema(description = "Is article public", example = "true")
     private boolean isPublic;
     
+    @Schema(description = "Tags, alphabetical", example = "[\"design\", \"interior\"]")
+    private List<String> tags;
+    
+    @Schema(description = "Number of views; recent views are added every few seconds", example = "42")
+    private long views;
+    
     @Schema(description = "Creation timestamp")
     private LocalDateTime createdAt;
     
@@ -0,0 +1,39 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An article as it was at one version")
+public class ArticleRevisionResponse {
+
+    @Schema(description = "Article ID", example = "1")
+    private Long articleId;
+    
+    @Schema(description = "Version, as in the article's ETag", example = "3")
+    private Long version;
+    
+    @Schema(description = "Article title at this version", example = "Manual Book of Life")
+    private String title;
+    
+    @Schema(description = "Article content at this version")
+    private String content;
+    
+    @Schema(description = "Was the article public at this version", example = "true")
+    private boolean isPublic;
+    
+    @Schema(description = "Tags at this version, alphabetical", example = "[\"design\", \"interior\"]")
+    private List<String> tags;
+    
+    @Schema(description = "When this version was saved")
+    private LocalDateTime updatedAt;
+
+}
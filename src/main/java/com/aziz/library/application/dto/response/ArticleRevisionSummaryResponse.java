@@ -0,0 +1,29 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An earlier version of an article, without its content")
+public class ArticleRevisionSummaryResponse {
+
+    @Schema(description = "Version, as in the article's ETag", example = "3")
+    private Long version;
+    
+    @Schema(description = "Article title at this version", example = "Manual Book of Life")
+    private String title;
+    
+    @Schema(description = "Was the article public at this version", example = "true")
+    private boolean isPublic;
+    
+    @Schema(description = "When this version was saved")
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,29 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of article search results, best match first")
+public class ArticleSearchPageResponse {
+
+    @Schema(description = "Matching articles on this page")
+    private List<ArticleSearchResultResponse> items;
+    
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+    
+    @Schema(description = "Page size", example = "20")
+    private int size;
+    
+    @Schema(description = "Whether more results follow this page", example = "true")
+    private boolean hasMore;
+
+}
@@ -0,0 +1,44 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Article matching a full-text search")
+public class ArticleSearchResultResponse {
+
+    @Schema(description = "Article ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "Article title", example = "Manual Book of Life")
+    private String title;
+    
+    @Schema(description = "HTML-escaped title with matched terms wrapped in <mark>", example = "Manual <mark>Book</mark> of Life")
+    private String titleHighlight;
+    
+    @Schema(description = "HTML-escaped excerpts of the content with matched terms wrapped in <mark>")
+    private String snippet;
+    
+    @Schema(description = "Author ID", example = "1")
+    private Long authorId;
+    
+    @Schema(description = "Is article public", example = "true")
+    private boolean isPublic;
+    
+    @Schema(description = "Relevance score; higher is better", example = "0.4")
+    private double rank;
+    
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+    
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime updatedAt;
+
+}
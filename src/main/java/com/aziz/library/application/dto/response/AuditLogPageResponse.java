@@ -0,0 +1,26 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of audit log entries, newest first")
+public class AuditLogPageResponse {
+
+    @Schema(description = "Audit log entries on this page")
+    private List<AuditLogResponse> items;
+    
+    @Schema(description = "Opaque cursor for the next page; absent on the last page", example = "MjAyNi0xMC0xOVQxMDowMHw0Mg")
+    private String nextCursor;
+    
+    @Schema(description = "Whether more entries follow this page", example = "true")
+    private boolean hasMore;
+
+}
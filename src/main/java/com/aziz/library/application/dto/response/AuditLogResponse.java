@@ -38,9 +38,15 @@ public class AuditLogResponse {
     @Schema(description = "IP address", example = "192.168.1.1")
     private String ipAddress;
     
-    @Schema(description = "Browser information", example = "Chrome 120")
+    @Schema(description = "Raw User-Agent header")
+    private String userAgent;
+    
+    @Schema(description = "Browser information", example = "Chrome")
     private String browser;
     
+    @Schema(description = "Browser version", example = "120.0.0.0")
+    private String browserVersion;
+    
     @Schema(description = "Device type", example = "Desktop")
     private String device;
     
@@ -0,0 +1,34 @@
+package com.aziz.library.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Audit event count for one time bucket; dimensions not grouped by are omitted")
+public class AuditLogStatResponse {
+
+    @Schema(description = "Start of the bucket", example = "2026-10-19T10:00:00")
+    private LocalDateTime bucketStart;
+    
+    @Schema(description = "Action performed", example = "LOGIN")
+    private String action;
+    
+    @Schema(description = "Entity type", example = "ARTICLE")
+    private String entity;
+    
+    @Schema(description = "User ID who performed the action", example = "1")
+    private Long userId;
+    
+    @Schema(description = "Number of events in the bucket", example = "42")
+    private long count;
+
+}
@@ -0,0 +1,22 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of matching articles carrying a tag")
+public class TagFacetResponse {
+
+    @Schema(description = "Tag name", example = "interior")
+    private String name;
+    
+    @Schema(description = "Matching articles with this tag", example = "12")
+    private long count;
+
+}
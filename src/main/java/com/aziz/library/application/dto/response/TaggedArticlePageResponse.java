@@ -0,0 +1,32 @@
+package com.aziz.library.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of articles matching a tag filter, newest first")
+public class TaggedArticlePageResponse {
+
+    @Schema(description = "Matching articles on this page")
+    private List<ArticleResponse> items;
+    
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+    
+    @Schema(description = "Page size", example = "20")
+    private int size;
+    
+    @Schema(description = "Total number of matching articles", example = "57")
+    private long total;
+    
+    @Schema(description = "Most common tags among all matching articles, most common first")
+    private List<TagFacetResponse> facets;
+
+}
@@ -0,0 +1,60 @@
+package com.aziz.library.application.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.application.mapper.ArticleMapper;
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.port.out.UserRepositoryPort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes articles to an output stream one row at a time as NDJSON, in the shape of
+ * {@code ArticleResponse}, so an export never holds more than the current article in memory.
+ * Author names are looked up once per author rather than once per article.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleExportWriter {
+
+    private final ArticleMapper articleMapper;
+    private final UserRepositoryPort userRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every article produced by {@code source} to {@code out}. The source is called once
+     * with a sink that serialises each article as it arrives.
+     */
+    public void write(OutputStream out, Consumer<Consumer<Article>> source) throws IOException {
+        // Let the generator's buffer decide when to hit the socket instead of flushing every row
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Map<Long, String> usernames = new HashMap<>();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            source.accept(article -> {
+                String username = usernames.computeIfAbsent(article.getAuthorId(), authorId ->
+                        userRepository.findUsernameById(authorId).orElse("Unknown"));
+                try {
+                    rowWriter.writeValue(generator, articleMapper.toResponse(article, username));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+}
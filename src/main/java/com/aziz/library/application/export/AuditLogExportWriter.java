@@ -0,0 +1,123 @@
+package com.aziz.library.application.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.application.dto.response.AuditLogResponse;
+import com.aziz.library.application.mapper.AuditLogMapper;
+import com.aziz.library.domain.model.AuditLog;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes audit logs to an output stream one row at a time as NDJSON or CSV, so an export
+ * never holds more than the current row in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogExportWriter {
+
+    private static final String[] CSV_HEADER = {
+        "id", "timestamp", "userId", "username", "action", "entity", "entityId", "details",
+        "ipAddress", "browser", "browserVersion", "device", "operatingSystem", "userAgent"
+    };
+
+    private final AuditLogMapper auditLogMapper;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+    }
+
+    /**
+     * Streams every row produced by {@code source} to {@code out}. The source is called once with
+     * a sink that serialises each row as it arrives.
+     */
+    public void write(Format format, OutputStream out, Consumer<Consumer<AuditLog>> source) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(out, source);
+            } else {
+                writeNdjson(out, source);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(OutputStream out, Consumer<Consumer<AuditLog>> source) throws IOException {
+        // Let the generator's buffer decide when to hit the socket instead of flushing every row
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            source.accept(auditLog -> {
+                try {
+                    rowWriter.writeValue(generator, auditLogMapper.toResponse(auditLog));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out, Consumer<Consumer<AuditLog>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+        source.accept(auditLog -> {
+            AuditLogResponse row = auditLogMapper.toResponse(auditLog);
+            try {
+                writeCsvRow(writer, row.getId(), row.getTimestamp(), row.getUserId(), row.getUsername(),
+                        row.getAction(), row.getEntity(), row.getEntityId(), row.getDetails(), row.getIpAddress(),
+                        row.getBrowser(), row.getBrowserVersion(), row.getDevice(), row.getOperatingSystem(),
+                        row.getUserAgent());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        // Neutralise spreadsheet formulas in user-controlled fields such as details and user agent
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.aziz.library.application.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.application.dto.request.ArticleRequest;
+import com.aziz.library.application.mapper.ArticleMapper;
+import com.aziz.library.domain.model.ArticleImportLine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads an NDJSON article import one line at a time as it is iterated, so a file of any length
+ * takes no more memory than its longest line. Each line is parsed and validated like the body of
+ * a create request; blank lines are skipped but still counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ArticleMapper articleMapper;
+
+    public Iterator<ArticleImportLine> read(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ObjectReader requestReader = objectMapper.readerFor(ArticleRequest.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        return new Iterator<>() {
+            private long linesRead;
+            private String pending;
+            private long pendingNumber;
+
+            @Override
+            public boolean hasNext() {
+                while (pending == null) {
+                    String line = readLine(reader);
+                    if (line == null) {
+                        return false;
+                    }
+                    linesRead++;
+                    if (!line.isBlank()) {
+                        pending = line;
+                        pendingNumber = linesRead;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public ArticleImportLine next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String line = pending;
+                pending = null;
+                return parse(requestReader, pendingNumber, line);
+            }
+        };
+    }
+
+    private ArticleImportLine parse(ObjectReader requestReader, long lineNumber, String line) {
+        ArticleRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ArticleImportLine.invalid(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (request == null) {
+            return ArticleImportLine.invalid(lineNumber, "Each line must be a JSON object");
+        }
+        Set<ConstraintViolation<ArticleRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return ArticleImportLine.invalid(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return ArticleImportLine.valid(lineNumber, articleMapper.toDomain(request));
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -5,9 +5,27 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.aziz.library.application.dto.request.ArticlePatchRequest;
 import com.aziz.library.application.dto.request.ArticleRequest;
+import com.aziz.library.application.dto.response.ArticleImportErrorResponse;
+import com.aziz.library.application.dto.response.ArticleImportResponse;
 import com.aziz.library.application.dto.response.ArticleResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionSummaryResponse;
+import com.aziz.library.application.dto.response.ArticleSearchPageResponse;
+import com.aziz.library.application.dto.response.ArticleSearchResultResponse;
+import com.aziz.library.application.dto.response.TagFacetResponse;
+import com.aziz.library.application.dto.response.TaggedArticlePageResponse;
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportError;
+import com.aziz.library.domain.model.ArticleImportResult;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+import com.aziz.library.domain.model.ArticleSearchHit;
+import com.aziz.library.domain.model.ArticleSearchPage;
+import com.aziz.library.domain.model.TagFacet;
+import com.aziz.library.domain.model.TaggedArticlePage;
 import com.aziz.library.domain.port.out.UserRepositoryPort;
 
 @Mapper(componentModel = "spring")
@@ -20,21 +38,68 @@ public abstract class ArticleMapper {
     @Mapping(target = "isPublic", source = "public")
     public abstract ArticleResponse toResponse(Article article);
     
+    // For exports, which look each author up once rather than once per article
+    @Mapping(target = "authorUsername", source = "authorUsername")
+    @Mapping(target = "isPublic", source = "article.public")
+    public abstract ArticleResponse toResponse(Article article, String authorUsername);
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "authorId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "isPublic", source = "public")
     public abstract Article toDomain(ArticleRequest request);
     
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "authorId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "version", ignore = true)
     public abstract void updateDomainFromRequest(ArticleRequest request, @MappingTarget Article article);
     
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    public abstract ArticlePatch toPatch(ArticlePatchRequest request);
+    
+    @Mapping(target = "isPublic", source = "public")
+    public abstract ArticleSearchResultResponse toSearchResultResponse(ArticleSearchHit hit);
+    
+    public ArticleSearchPageResponse toSearchPageResponse(ArticleSearchPage page) {
+        return ArticleSearchPageResponse.builder()
+                .items(page.getItems().stream().map(this::toSearchResultResponse).toList())
+                .page(page.getPage())
+                .size(page.getSize())
+                .hasMore(page.hasMore())
+                .build();
+    }
+    
+    public abstract TagFacetResponse toTagFacetResponse(TagFacet facet);
+    
+    public TaggedArticlePageResponse toTaggedPageResponse(TaggedArticlePage page) {
+        return TaggedArticlePageResponse.builder()
+                .items(page.getItems().stream().map(this::toResponse).toList())
+                .page(page.getPage())
+                .size(page.getSize())
+                .total(page.getTotal())
+                .facets(page.getFacets().stream().map(this::toTagFacetResponse).toList())
+                .build();
+    }
+    
+    @Mapping(target = "line", source = "lineNumber")
+    public abstract ArticleImportErrorResponse toImportErrorResponse(ArticleImportError error);
+    
+    public abstract ArticleImportResponse toImportResponse(ArticleImportResult result);
+    
+    @Mapping(target = "isPublic", source = "public")
+    public abstract ArticleRevisionResponse toRevisionResponse(ArticleRevision revision);
+    
+    @Mapping(target = "isPublic", source = "public")
+    public abstract ArticleRevisionSummaryResponse toRevisionSummaryResponse(ArticleRevisionSummary summary);
+    
     protected String getAuthorUsername(Long authorId) {
-        return userRepository.findById(authorId)
-                .map(user -> user.getUsername())
+        return userRepository.findUsernameById(authorId)
                 .orElse("Unknown");
     }
 
@@ -1,13 +1,31 @@
 package com.aziz.library.application.mapper;
 
+import java.util.List;
+
 import org.mapstruct.Mapper;
 
+import com.aziz.library.application.dto.response.AuditLogPageResponse;
 import com.aziz.library.application.dto.response.AuditLogResponse;
+import com.aziz.library.application.dto.response.AuditLogStatResponse;
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogPage;
+import com.aziz.library.domain.model.AuditLogStat;
 
 @Mapper(componentModel = "spring")
 public interface AuditLogMapper {
 
     AuditLogResponse toResponse(AuditLog auditLog);
 
+    AuditLogStatResponse toStatResponse(AuditLogStat stat);
+
+    List<AuditLogStatResponse> toStatResponseList(List<AuditLogStat> stats);
+
+    default AuditLogPageResponse toPageResponse(AuditLogPage page) {
+        return AuditLogPageResponse.builder()
+                .items(page.getItems().stream().map(this::toResponse).toList())
+                .nextCursor(page.hasMore() ? page.getNextCursor().encode() : null)
+                .hasMore(page.hasMore())
+                .build();
+    }
+
 }
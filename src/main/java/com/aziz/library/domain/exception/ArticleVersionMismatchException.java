@@ -0,0 +1,7 @@
+package com.aziz.library.domain.exception;
+
+public class ArticleVersionMismatchException extends RuntimeException {
+    public ArticleVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.aziz.library.domain.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.aziz.library.domain.exception;
+
+public class InvalidStatsQueryException extends RuntimeException {
+    public InvalidStatsQueryException(String message) {
+        super(message);
+    }
+}
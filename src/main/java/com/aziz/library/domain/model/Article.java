@@ -2,6 +2,7 @@ package com.aziz.library.domain.model;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -15,7 +16,7 @@ import lombok.Setter;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Article implements Serializable{
 
     private static final long serialVersionUID = 1L;
@@ -27,4 +28,9 @@ public class Article implements Serializable{
     private boolean isPublic;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long views;
+    // Incremented by every update; on an update request, the version the client edited, if it said
+    private Long version;
+    // Normalized tag names in alphabetical order; null on an update request means "leave unchanged"
+    private List<String> tags;
 }
@@ -0,0 +1,11 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticleImportError {
+    private final long lineNumber;
+    private final String message;
+}
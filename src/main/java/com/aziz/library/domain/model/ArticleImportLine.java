@@ -0,0 +1,24 @@
+package com.aziz.library.domain.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One line of an article import: either the article it holds or why it could not be read.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ArticleImportLine {
+    private final long lineNumber;
+    private final Article article;
+    private final String error;
+
+    public static ArticleImportLine valid(long lineNumber, Article article) {
+        return new ArticleImportLine(lineNumber, article, null);
+    }
+
+    public static ArticleImportLine invalid(long lineNumber, String error) {
+        return new ArticleImportLine(lineNumber, null, error);
+    }
+}
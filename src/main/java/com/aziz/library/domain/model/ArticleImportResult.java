@@ -0,0 +1,19 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome of an article import. Only the first errors are kept, so a bad file cannot make
+ * the report as large as the file; {@code failed} counts them all.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleImportResult {
+    private final long imported;
+    private final long failed;
+    private final List<ArticleImportError> errors;
+    private final boolean errorsTruncated;
+}
@@ -0,0 +1,31 @@
+package com.aziz.library.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The changes of a partial update. A null field is left as it is; an empty tag list removes
+ * every tag.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArticlePatch {
+
+    private String title;
+    private String content;
+    private Boolean isPublic;
+    private List<String> tags;
+    // The version the client edited, if it said
+    private Long version;
+    // Stamped on the article only if the patch changes it
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.aziz.library.domain.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An article as it was at one version. Revisions never change once written.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArticleRevision implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long articleId;
+    private Long version;
+    private String title;
+    private String content;
+    private boolean isPublic;
+    private List<String> tags;
+    // When this version was saved
+    private LocalDateTime updatedAt;
+
+    public static ArticleRevision of(Article article) {
+        return new ArticleRevision(article.getId(), article.getVersion(), article.getTitle(), article.getContent(),
+                article.isPublic(), article.getTags(), article.getUpdatedAt());
+    }
+}
@@ -0,0 +1,23 @@
+package com.aziz.library.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A stored revision without its content, which would have to be rebuilt.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleRevisionSummary {
+
+    private Long version;
+    private String title;
+    private boolean isPublic;
+    private LocalDateTime updatedAt;
+}
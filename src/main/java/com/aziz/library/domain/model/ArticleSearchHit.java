@@ -0,0 +1,28 @@
+package com.aziz.library.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One full-text search result. {@code titleHighlight} and {@code snippet} are HTML-escaped with
+ * matched terms wrapped in {@code <mark>}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArticleSearchHit {
+    private Long id;
+    private String title;
+    private String titleHighlight;
+    private String snippet;
+    private Long authorId;
+    private boolean isPublic;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private double rank;
+}
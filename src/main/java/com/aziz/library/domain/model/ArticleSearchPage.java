@@ -0,0 +1,21 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArticleSearchPage {
+    private final List<ArticleSearchHit> items;
+    private final int page;
+    private final int size;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasMore;
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
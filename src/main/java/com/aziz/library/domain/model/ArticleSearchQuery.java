@@ -0,0 +1,22 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Full-text search over articles, restricted to what the caller may view: only {@code authorId}'s
+ * articles when set, only public articles when {@code publicOnly}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArticleSearchQuery {
+    private String text;
+    private Long authorId;
+    private boolean publicOnly;
+    private int offset;
+    private int limit;
+}
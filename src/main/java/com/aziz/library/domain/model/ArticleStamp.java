@@ -0,0 +1,16 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An article's version and view count without its content, enough to tell whether a copy held
+ * elsewhere is still current.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleStamp {
+    private final long articleId;
+    private final Long version;
+    private final long views;
+}
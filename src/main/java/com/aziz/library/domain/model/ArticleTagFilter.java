@@ -0,0 +1,27 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Articles carrying all or any of {@code tags} (every article when empty), newest first, restricted
+ * to what the caller may view like {@link ArticleSearchQuery}. Up to {@code facetLimit} tag counts
+ * over the whole match are returned alongside the page.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArticleTagFilter {
+    private List<String> tags;
+    private TagMatch match;
+    private Long authorId;
+    private boolean publicOnly;
+    private int offset;
+    private int limit;
+    private int facetLimit;
+}
@@ -0,0 +1,26 @@
+package com.aziz.library.domain.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An article's version with what is needed to decide who may see it, enough to answer a
+ * conditional request without loading the content.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleVersion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long articleId;
+    private Long version;
+    private Long authorId;
+    private boolean isPublic;
+}
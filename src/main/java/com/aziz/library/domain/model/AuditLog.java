@@ -22,7 +22,9 @@ public class AuditLog {
     private Long entityId;
     private String details;
     private String ipAddress;
+    private String userAgent;
     private String browser;
+    private String browserVersion;
     private String device;
     private String operatingSystem;
     private LocalDateTime timestamp;
@@ -0,0 +1,20 @@
+package com.aziz.library.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogFilter {
+    private Long userId;
+    private String action;
+    private String entity;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,17 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuditLogPage {
+    private final List<AuditLog> items;
+    private final AuditLogCursor nextCursor;
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.aziz.library.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of audit events in one time bucket. Dimensions that were not grouped by are {@code null}.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogStat {
+    private AuditLogGranularity granularity;
+    private LocalDateTime bucketStart;
+    private String action;
+    private String entity;
+    private Long userId;
+    private long count;
+}
@@ -0,0 +1,10 @@
+package com.aziz.library.domain.model;
+
+/**
+ * Columns an audit stats query can be broken down by, in addition to the time bucket.
+ */
+public enum AuditLogStatDimension {
+    ACTION,
+    ENTITY,
+    USER
+}
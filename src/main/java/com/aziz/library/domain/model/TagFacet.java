@@ -0,0 +1,14 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How many of the articles matching a tag filter carry {@code name}.
+ */
+@Getter
+@AllArgsConstructor
+public class TagFacet {
+    private final String name;
+    private final long count;
+}
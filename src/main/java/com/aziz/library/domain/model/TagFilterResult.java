@@ -0,0 +1,18 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The article ids on the requested page, how many articles match in total and the most common
+ * tags among them.
+ */
+@Getter
+@AllArgsConstructor
+public class TagFilterResult {
+    private final List<Long> articleIds;
+    private final long total;
+    private final List<TagFacet> facets;
+}
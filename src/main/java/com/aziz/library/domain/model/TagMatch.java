@@ -0,0 +1,9 @@
+package com.aziz.library.domain.model;
+
+/**
+ * How several tags in a filter combine: articles carrying all of them, or any one of them.
+ */
+public enum TagMatch {
+    ALL,
+    ANY
+}
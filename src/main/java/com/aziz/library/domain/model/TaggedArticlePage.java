@@ -0,0 +1,16 @@
+package com.aziz.library.domain.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TaggedArticlePage {
+    private final List<Article> items;
+    private final int page;
+    private final int size;
+    private final long total;
+    private final List<TagFacet> facets;
+}
@@ -0,0 +1,17 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An article among the most viewed recently, with what is needed to decide who may see it.
+ * {@code score} counts views with older ones weighing less; it only orders articles.
+ */
+@Getter
+@AllArgsConstructor
+public class TrendingArticle {
+    private final long articleId;
+    private final long authorId;
+    private final boolean isPublic;
+    private final double score;
+}
@@ -0,0 +1,18 @@
+package com.aziz.library.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class UserAgentInfo {
+
+    public static final UserAgentInfo UNKNOWN = new UserAgentInfo("Unknown", null, "Unknown", "Unknown");
+
+    private final String browser;
+    private final String browserVersion;
+    private final String device;
+    private final String operatingSystem;
+}
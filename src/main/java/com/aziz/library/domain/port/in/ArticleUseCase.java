@@ -1,14 +1,33 @@
 package com.aziz.library.domain.port.in;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportLine;
+import com.aziz.library.domain.model.ArticleImportResult;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+import com.aziz.library.domain.model.ArticleSearchPage;
+import com.aziz.library.domain.model.TagMatch;
+import com.aziz.library.domain.model.TaggedArticlePage;
 
 public interface ArticleUseCase {
     Article createArticle(Article article, Long currentUserId);
     Article updateArticle(Long id, Article article, Long currentUserId);
+    Article patchArticle(Long id, ArticlePatch patch, Long currentUserId);
+    ArticleImportResult importArticles(Iterator<ArticleImportLine> lines, Long currentUserId);
     void deleteArticle(Long id, Long currentUserId);
     Article getArticleById(Long id, Long currentUserId);
     List<Article> getAllArticles(Long currentUserId);
     List<Article> getMyArticles(Long currentUserId);
+    void exportArticles(Long currentUserId, Consumer<Article> consumer);
+    ArticleSearchPage searchArticles(String query, int page, int size, Long currentUserId);
+    TaggedArticlePage getArticlesByTags(List<String> tags, TagMatch match, int page, int size, Long currentUserId);
+    List<Article> getTrendingArticles(int limit, Long currentUserId);
+    long getArticleVersion(Long id, Long currentUserId);
+    List<ArticleRevisionSummary> getArticleRevisions(Long id, Long beforeVersion, int limit, Long currentUserId);
+    ArticleRevision getArticleRevision(Long id, long version, Long currentUserId);
 }
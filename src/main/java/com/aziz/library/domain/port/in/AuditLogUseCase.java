@@ -1,14 +1,22 @@
 package com.aziz.library.domain.port.in;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogPage;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
 
 public interface AuditLogUseCase {
     void logAction(Long userId, String action, String entity, Long entityId, 
                    String details, String ipAddress, String userAgent);
-    List<AuditLog> getAllLogs(Long currentUserId);
-    List<AuditLog> getLogsByUser(Long userId, Long currentUserId);
-    List<AuditLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end, Long currentUserId);
+    AuditLogPage searchLogs(AuditLogFilter filter, AuditLogCursor after, int limit, Long currentUserId);
+    void exportLogs(AuditLogFilter filter, Long currentUserId, Consumer<AuditLog> consumer);
+    List<AuditLogStat> getStats(AuditLogGranularity granularity, AuditLogFilter filter,
+                                Set<AuditLogStatDimension> groupBy, Long currentUserId);
 }
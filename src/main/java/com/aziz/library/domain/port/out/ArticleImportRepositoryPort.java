@@ -0,0 +1,14 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.List;
+
+import com.aziz.library.domain.model.Article;
+
+public interface ArticleImportRepositoryPort {
+
+    /**
+     * Inserts the articles, with their tags, in one transaction and returns them with their new
+     * ids. Tags are expected to be normalized.
+     */
+    List<Article> insertAll(List<Article> articles);
+}
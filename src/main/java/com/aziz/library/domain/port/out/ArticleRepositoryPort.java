@@ -2,14 +2,43 @@ package com.aziz.library.domain.port.out;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleStamp;
+import com.aziz.library.domain.model.ArticleVersion;
 
 public interface ArticleRepositoryPort {
     Article save(Article article);
+
+    /**
+     * Writes only the fields the patch changes; empty if the article does not exist.
+     */
+    Optional<Article> patch(Long id, ArticlePatch patch);
     Optional<Article> findById(Long id);
+    Optional<ArticleVersion> findVersionById(Long id);
     List<Article> findAll();
+    List<Article> findAllById(List<Long> ids);
     List<Article> findByAuthorId(Long authorId);
     List<Article> findAllPublic();
+
+    /**
+     * Passes every article, with its tags, to the consumer in id order, reading them only as fast
+     * as they are consumed. Restricted to one author's articles if {@code authorId} is set, and to
+     * public ones if {@code publicOnly}.
+     */
+    void streamAll(Long authorId, boolean publicOnly, Consumer<Article> consumer);
+
+    /**
+     * Passes the id, version and view count of every public article to the consumer in id order,
+     * without reading any content.
+     */
+    void streamPublicStamps(Consumer<ArticleStamp> consumer);
+
+    /**
+     * The articles with these ids, with their tags, in id order; ids that do not exist are skipped.
+     */
+    List<Article> findAllWithTagsById(List<Long> ids);
     void deleteById(Long id);
 }
@@ -0,0 +1,30 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+
+public interface ArticleRevisionRepositoryPort {
+
+    /**
+     * Stores {@code previous} as a revision of an article that has just been changed to
+     * {@code current}, in the same transaction as the change. Both are expected as stored, each
+     * with its own version.
+     */
+    void record(Article previous, Article current);
+
+    /**
+     * Summaries of the article's stored revisions, newest first, starting below
+     * {@code beforeVersion} if it is set.
+     */
+    List<ArticleRevisionSummary> findSummaries(Long articleId, Long beforeVersion, int limit);
+
+    /**
+     * The article as it was at the given version, rebuilt from the stored revisions; empty if that
+     * version is not stored, which includes the article's current version.
+     */
+    Optional<ArticleRevision> findByVersion(Long articleId, long version);
+}
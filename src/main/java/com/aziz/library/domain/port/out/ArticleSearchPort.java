@@ -0,0 +1,21 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.List;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleSearchHit;
+import com.aziz.library.domain.model.ArticleSearchQuery;
+
+public interface ArticleSearchPort {
+    List<ArticleSearchHit> search(ArticleSearchQuery query);
+
+    /**
+     * Called with every saved article; takes effect once the surrounding transaction commits.
+     */
+    void index(Article article);
+
+    /**
+     * Called with every deleted article id; takes effect once the surrounding transaction commits.
+     */
+    void remove(Long articleId);
+}
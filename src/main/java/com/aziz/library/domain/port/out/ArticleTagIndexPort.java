@@ -0,0 +1,19 @@
+package com.aziz.library.domain.port.out;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.TagFilterResult;
+
+public interface ArticleTagIndexPort {
+    TagFilterResult filter(ArticleTagFilter filter);
+
+    /**
+     * Called with every saved article; takes effect once the surrounding transaction commits.
+     */
+    void index(Article article);
+
+    /**
+     * Called with every deleted article id; takes effect once the surrounding transaction commits.
+     */
+    void remove(Long articleId);
+}
@@ -0,0 +1,14 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.List;
+
+import com.aziz.library.domain.model.TrendingArticle;
+
+public interface ArticleTrendingPort {
+
+    /**
+     * The most viewed articles of late, highest score first, as of the last refresh. Returns an
+     * immutable list without blocking.
+     */
+    List<TrendingArticle> trending();
+}
@@ -0,0 +1,11 @@
+package com.aziz.library.domain.port.out;
+
+public interface ArticleViewCounterPort {
+
+    /**
+     * Counts one view of the article and returns its view count as known to this instance: the
+     * larger of {@code storedViews} and the total read back by the last flush. Views are added to
+     * the stored count in batches, so the result lags behind by at most a flush interval.
+     */
+    long recordView(Long articleId, long storedViews);
+}
@@ -0,0 +1,12 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.Map;
+
+public interface ArticleViewRepositoryPort {
+
+    /**
+     * Adds the views to each article in one transaction and returns the resulting totals. Articles
+     * that no longer exist are left out of the result.
+     */
+    Map<Long, Long> addViews(Map<Long, Long> viewsByArticle);
+}
@@ -1,14 +1,15 @@
 package com.aziz.library.domain.port.out;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
 
 public interface AuditLogRepositoryPort {
     AuditLog save(AuditLog auditLog);
-    List<AuditLog> findAll();
-    List<AuditLog> findByUserId(Long userId);
-    List<AuditLog> findByAction(String action);
-    List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+    void saveAll(List<AuditLog> auditLogs);
+    List<AuditLog> findPage(AuditLogFilter filter, AuditLogCursor after, int limit);
+    void streamAll(AuditLogFilter filter, Consumer<AuditLog> consumer);
 }
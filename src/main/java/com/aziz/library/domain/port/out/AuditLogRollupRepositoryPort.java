@@ -0,0 +1,16 @@
+package com.aziz.library.domain.port.out;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
+
+public interface AuditLogRollupRepositoryPort {
+    void addCounts(List<AuditLogStat> increments);
+    List<AuditLogStat> findStats(AuditLogGranularity granularity, AuditLogFilter filter, Set<AuditLogStatDimension> groupBy);
+    int deleteOlderThan(AuditLogGranularity granularity, LocalDateTime cutoff);
+}
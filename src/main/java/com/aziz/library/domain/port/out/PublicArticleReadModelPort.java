@@ -0,0 +1,25 @@
+package com.aziz.library.domain.port.out;
+
+import java.util.List;
+
+import com.aziz.library.domain.model.Article;
+
+public interface PublicArticleReadModelPort {
+
+    /**
+     * Every public article in id order, as an immutable list that is never changed afterwards.
+     * View counts may lag behind the database by up to one reconciliation.
+     */
+    List<Article> findAllPublic();
+
+    /**
+     * Called with every saved article, public or not; takes effect once the surrounding
+     * transaction commits.
+     */
+    void index(Article article);
+
+    /**
+     * Called with every deleted article id; takes effect once the surrounding transaction commits.
+     */
+    void remove(Long articleId);
+}
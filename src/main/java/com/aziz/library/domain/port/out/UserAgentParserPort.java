@@ -0,0 +1,7 @@
+package com.aziz.library.domain.port.out;
+
+import com.aziz.library.domain.model.UserAgentInfo;
+
+public interface UserAgentParserPort {
+    UserAgentInfo parse(String userAgent);
+}
@@ -7,9 +7,25 @@ import com.aziz.library.domain.model.User;
 
 public interface UserRepositoryPort {
     User save(User user);
+
+    /**
+     * The user as the primary database has it now, for deciding what they may do and for
+     * changing them. Never served from a cache.
+     */
     Optional<User> findById(Long id);
+
+    /**
+     * Only to show who someone is, as it may come from a cache a few seconds old.
+     */
+    Optional<String> findUsernameById(Long id);
+
+    // Served from the cache like findUsernameById, so not for deciding access
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    /**
+     * Like {@link #findById}, by username or else by email.
+     */
     Optional<User> findByUsernameOrEmail(String identifier);
     List<User> findAll();
     void deleteById(Long id);
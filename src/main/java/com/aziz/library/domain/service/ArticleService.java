@@ -1,28 +1,60 @@
 package com.aziz.library.domain.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.aziz.library.domain.exception.ArticleNotFoundException;
+import com.aziz.library.domain.exception.ArticleVersionMismatchException;
+import com.aziz.library.domain.exception.InvalidSearchQueryException;
 import com.aziz.library.domain.exception.UnauthorizedException;
 import com.aziz.library.domain.exception.UserNotFoundException;
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportError;
+import com.aziz.library.domain.model.ArticleImportLine;
+import com.aziz.library.domain.model.ArticleImportResult;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+import com.aziz.library.domain.model.ArticleSearchHit;
+import com.aziz.library.domain.model.ArticleSearchPage;
+import com.aziz.library.domain.model.ArticleSearchQuery;
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.ArticleVersion;
 import com.aziz.library.domain.model.Role;
+import com.aziz.library.domain.model.TagFilterResult;
+import com.aziz.library.domain.model.TagMatch;
+import com.aziz.library.domain.model.TaggedArticlePage;
+import com.aziz.library.domain.model.TrendingArticle;
 import com.aziz.library.domain.model.User;
 import com.aziz.library.domain.port.in.ArticleUseCase;
+import com.aziz.library.domain.port.out.ArticleImportRepositoryPort;
 import com.aziz.library.domain.port.out.ArticleRepositoryPort;
+import com.aziz.library.domain.port.out.ArticleRevisionRepositoryPort;
+import com.aziz.library.domain.port.out.ArticleSearchPort;
+import com.aziz.library.domain.port.out.ArticleTagIndexPort;
+import com.aziz.library.domain.port.out.ArticleTrendingPort;
+import com.aziz.library.domain.port.out.ArticleViewCounterPort;
 import com.aziz.library.domain.port.out.CacheServicePort;
+import com.aziz.library.domain.port.out.PublicArticleReadModelPort;
 import com.aziz.library.domain.port.out.UserRepositoryPort;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -34,9 +66,29 @@ public class ArticleService implements ArticleUseCase {
     private final ArticleRepositoryPort articleRepository;
     private final UserRepositoryPort userRepository;
     private final CacheServicePort cacheService;
+    private final ArticleSearchPort articleSearch;
+    private final ArticleTagIndexPort tagIndex;
+    private final ArticleViewCounterPort viewCounter;
+    private final ArticleTrendingPort trending;
+    private final ArticleImportRepositoryPort importRepository;
+    private final ArticleRevisionRepositoryPort revisionRepository;
+    private final PublicArticleReadModelPort publicReadModel;
 
     private static final String ARTICLE_CACHE_PREFIX = "article";
+    private static final String ARTICLE_VERSION_CACHE_PREFIX = "article-version";
+    private static final String ARTICLE_REVISION_CACHE_PREFIX = "article-revision";
     private static final long CACHE_TTL = 3600;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Deep pages of a ranked search are rarely useful and cost as much as all the pages before them
+    private static final int MAX_SEARCH_RESULTS = 1000;
+    private static final int MAX_FILTER_TAGS = 10;
+    private static final int TAG_FACET_LIMIT = 20;
+    private static final int MAX_TRENDING = 50;
+    private static final int MAX_REVISION_PAGE_SIZE = 100;
+    // A multiple of the id allocation block, so a batch wastes no ids
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int MAX_IMPORT_ERRORS = 1000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
     
     @Override
     @Transactional
@@ -52,10 +104,14 @@ public class ArticleService implements ArticleUseCase {
         }
         
         article.setAuthorId(currentUserId);
+        article.setTags(normalizeTags(article.getTags()));
         article.setCreatedAt(LocalDateTime.now());
         article.setUpdatedAt(LocalDateTime.now());
         
         Article savedArticle = articleRepository.save(article);
+        articleSearch.index(savedArticle);
+        tagIndex.index(savedArticle);
+        publicReadModel.index(savedArticle);
         log.info("Article created with ID: {}", savedArticle.getId());
         
         return savedArticle;
@@ -73,37 +129,130 @@ public class ArticleService implements ArticleUseCase {
                 .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
         
         // Check permissions
-        boolean canUpdate = false;
-        
-        if (currentUser.getRole() == Role.SUPER_ADMIN) {
-            canUpdate = true;
-        } else if (currentUser.getRole() == Role.EDITOR && 
-                   existingArticle.getAuthorId().equals(currentUserId)) {
-            canUpdate = true;
-        } else if (currentUser.getRole() == Role.CONTRIBUTOR && 
-                   existingArticle.getAuthorId().equals(currentUserId)) {
-            canUpdate = true;
+        if (!canUpdate(currentUser, existingArticle.getAuthorId())) {
+            throw new UnauthorizedException("You don't have permission to update this article");
         }
         
-        if (!canUpdate) {
-            throw new UnauthorizedException("You don't have permission to update this article");
+        // The client sent the version it edited; a later change would be silently overwritten
+        if (article.getVersion() != null && !article.getVersion().equals(existingArticle.getVersion())) {
+            throw new ArticleVersionMismatchException("Article " + id + " has changed since version "
+                    + article.getVersion() + "; reload it and try again");
         }
         
+        Article previous = existingArticle.toBuilder().build();
         existingArticle.setTitle(article.getTitle());
         existingArticle.setContent(article.getContent());
         existingArticle.setPublic(article.isPublic());
+        if (article.getTags() != null) {
+            existingArticle.setTags(normalizeTags(article.getTags()));
+        }
         existingArticle.setUpdatedAt(LocalDateTime.now());
         
         Article updatedArticle = articleRepository.save(existingArticle);
+        if (!Objects.equals(updatedArticle.getVersion(), previous.getVersion())) {
+            revisionRepository.record(previous, updatedArticle);
+        }
+        articleSearch.index(updatedArticle);
+        tagIndex.index(updatedArticle);
+        publicReadModel.index(updatedArticle);
 
         String cacheKey = ARTICLE_CACHE_PREFIX + id;
         cacheService.set(cacheKey, updatedArticle, CACHE_TTL);
+        cacheService.set(ARTICLE_VERSION_CACHE_PREFIX + id, versionOf(updatedArticle), CACHE_TTL);
 
         log.info("Article updated: {}", id);
         
         return updatedArticle;
     }
     
+    @Override
+    @Transactional
+    public Article patchArticle(Long id, ArticlePatch patch, Long currentUserId) {
+        log.info("Patching article {} by user: {}", id, currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        // Loaded whole to be kept as a revision; patching then finds it in the same persistence context
+        Article existing = articleRepository.findById(id)
+                .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
+        
+        if (!canUpdate(currentUser, existing.getAuthorId())) {
+            throw new UnauthorizedException("You don't have permission to update this article");
+        }
+        
+        if (patch.getVersion() != null && !patch.getVersion().equals(existing.getVersion())) {
+            throw new ArticleVersionMismatchException("Article " + id + " has changed since version "
+                    + patch.getVersion() + "; reload it and try again");
+        }
+        
+        if (patch.getTags() != null) {
+            patch.setTags(normalizeTags(patch.getTags()));
+        }
+        patch.setUpdatedAt(LocalDateTime.now());
+        
+        Article patchedArticle = articleRepository.patch(id, patch)
+                .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
+        
+        // An unchanged version means the patch changed nothing, so neither did the indexes or the cache
+        if (patchedArticle.getVersion().equals(existing.getVersion())) {
+            return patchedArticle;
+        }
+        revisionRepository.record(existing, patchedArticle);
+        articleSearch.index(patchedArticle);
+        tagIndex.index(patchedArticle);
+        publicReadModel.index(patchedArticle);
+        
+        cacheService.set(ARTICLE_CACHE_PREFIX + id, patchedArticle, CACHE_TTL);
+        cacheService.set(ARTICLE_VERSION_CACHE_PREFIX + id, versionOf(patchedArticle), CACHE_TTL);
+        
+        log.info("Article patched: {}", id);
+        
+        return patchedArticle;
+    }
+    
+    // Not one transaction: each batch commits on its own, so a failure late in a large import keeps
+    // what came before and the database never holds millions of uncommitted rows
+    @Override
+    public ArticleImportResult importArticles(Iterator<ArticleImportLine> lines, Long currentUserId) {
+        log.info("Importing articles by user: {}", currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        if (currentUser.getRole() == Role.VIEWER) {
+            throw new UnauthorizedException("Viewers cannot create articles");
+        }
+        
+        List<ArticleImportLine> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<ArticleImportError> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+        while (lines.hasNext()) {
+            ArticleImportLine line = lines.next();
+            if (line.getError() != null) {
+                failed++;
+                addImportError(errors, line.getLineNumber(), line.getError());
+                continue;
+            }
+            batch.add(line);
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                int stored = importBatch(batch, currentUserId, errors);
+                imported += stored;
+                failed += batch.size() - stored;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            int stored = importBatch(batch, currentUserId, errors);
+            imported += stored;
+            failed += batch.size() - stored;
+        }
+        
+        log.info("Imported {} articles by user {}, {} lines failed", imported, currentUserId, failed);
+        return new ArticleImportResult(imported, failed, errors, failed > errors.size());
+    }
+    
     @Override
     @Transactional
     public void deleteArticle(Long id, Long currentUserId) {
@@ -130,9 +279,13 @@ public class ArticleService implements ArticleUseCase {
         }
         
         articleRepository.deleteById(id);
+        articleSearch.remove(id);
+        tagIndex.remove(id);
+        publicReadModel.remove(id);
 
         String cacheKey = ARTICLE_CACHE_PREFIX + id;
         cacheService.delete(cacheKey);
+        cacheService.delete(ARTICLE_VERSION_CACHE_PREFIX + id);
 
         log.info("Article deleted: {}", id);
     }
@@ -147,17 +300,11 @@ public class ArticleService implements ArticleUseCase {
         if (cached.isPresent()) {
             log.debug("Article {} found in cache", id);
 
-            Article cachedArticle;
-            if (cached.get() instanceof LinkedHashMap) {
-                ObjectMapper mapper = new ObjectMapper();
-                mapper.registerModule(new JavaTimeModule());
-                cachedArticle = mapper.convertValue(cached.get(), Article.class);
-            } else {
-                cachedArticle = (Article) cached.get();
-            }
+            Article cachedArticle = fromCache(cached.get(), Article.class);
             
-            // Still check permissions
-            if (canViewArticle(cachedArticle, currentUserId)) {
+            // Still check permissions; entries cached before articles had versions are reloaded
+            if (cachedArticle.getVersion() != null && canViewArticle(cachedArticle, currentUserId)) {
+                cachedArticle.setViews(viewCounter.recordView(id, cachedArticle.getViews()));
                 return cachedArticle;
             }
         }
@@ -173,11 +320,34 @@ public class ArticleService implements ArticleUseCase {
         
         // Cache the article
         cacheService.set(cacheKey, article, CACHE_TTL);
+        cacheService.set(ARTICLE_VERSION_CACHE_PREFIX + id, versionOf(article), CACHE_TTL);
         
+        article.setViews(viewCounter.recordView(id, article.getViews()));
         return article;
     }
     
     @Override
+    public long getArticleVersion(Long id, Long currentUserId) {
+        String cacheKey = ARTICLE_VERSION_CACHE_PREFIX + id;
+        ArticleVersion version = cacheService.get(cacheKey)
+                .map(cached -> fromCache(cached, ArticleVersion.class))
+                .orElse(null);
+        if (version == null) {
+            version = articleRepository.findVersionById(id)
+                    .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
+            cacheService.set(cacheKey, version, CACHE_TTL);
+        }
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        if (!canView(currentUser, version.getAuthorId(), version.isPublic())) {
+            throw new UnauthorizedException("You don't have permission to view this article");
+        }
+        return version.getVersion();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public List<Article> getAllArticles(Long currentUserId) {
         log.debug("Getting all articles for user: {}", currentUserId);
         
@@ -189,12 +359,13 @@ public class ArticleService implements ArticleUseCase {
             return articleRepository.findAll();
         }
         
+        // Public articles come from memory; the returned list is read-only and shared
         if (currentUser.getRole() == Role.VIEWER) {
-            return articleRepository.findAllPublic();
+            return publicReadModel.findAllPublic();
         }
         
-        // Contributors can see all public articles + their own
-        List<Article> publicArticles = articleRepository.findAllPublic();
+        // Contributors can see all public articles + their own; the list is shared, so it is copied before adding to it
+        List<Article> publicArticles = new ArrayList<>(publicReadModel.findAllPublic());
         List<Article> myArticles = articleRepository.findByAuthorId(currentUserId);
         
         // Merge lists (avoiding duplicates)
@@ -210,26 +381,267 @@ public class ArticleService implements ArticleUseCase {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Article> getMyArticles(Long currentUserId) {
         log.debug("Getting my articles for user: {}", currentUserId);
         return articleRepository.findByAuthorId(currentUserId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportArticles(Long currentUserId, Consumer<Article> consumer) {
+        log.info("Exporting articles for user: {}", currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        // Same visibility rules as canViewArticle, applied in the query
+        Long authorId = currentUser.getRole() == Role.CONTRIBUTOR ? currentUserId : null;
+        boolean publicOnly = currentUser.getRole() == Role.VIEWER;
+        articleRepository.streamAll(authorId, publicOnly, consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleSearchPage searchArticles(String query, int page, int size, Long currentUserId) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search query must not be blank");
+        }
+        int pageSize = Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        long offset = (long) pageNumber * pageSize;
+        if (offset + pageSize > MAX_SEARCH_RESULTS) {
+            throw new InvalidSearchQueryException("Only the first " + MAX_SEARCH_RESULTS
+                    + " search results can be paged through; refine the query");
+        }
+        log.debug("Searching articles for user {}: page {} of size {}", currentUserId, pageNumber, pageSize);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        // Same visibility rules as canViewArticle, applied in the query
+        ArticleSearchQuery.ArticleSearchQueryBuilder search = ArticleSearchQuery.builder()
+                .text(query.trim())
+                .offset((int) offset)
+                .limit(pageSize + 1);
+        switch (currentUser.getRole()) {
+            case SUPER_ADMIN, EDITOR -> { }
+            case CONTRIBUTOR -> search.authorId(currentUserId);
+            case VIEWER -> search.publicOnly(true);
+        }
+        
+        // One extra row tells whether another page exists
+        List<ArticleSearchHit> hits = articleSearch.search(search.build());
+        boolean hasMore = hits.size() > pageSize;
+        return new ArticleSearchPage(hasMore ? hits.subList(0, pageSize) : hits, pageNumber, pageSize, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaggedArticlePage getArticlesByTags(List<String> tags, TagMatch match, int page, int size, Long currentUserId) {
+        List<String> normalizedTags = normalizeTags(tags);
+        if (normalizedTags.size() > MAX_FILTER_TAGS) {
+            throw new InvalidSearchQueryException("Filter by at most " + MAX_FILTER_TAGS + " tags");
+        }
+        int pageSize = Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        long offset = Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        log.debug("Filtering articles by tags {} for user {}", normalizedTags, currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        // Same visibility rules as canViewArticle, applied by the index
+        TagFilterResult result = tagIndex.filter(ArticleTagFilter.builder()
+                .tags(normalizedTags)
+                .match(match == null ? TagMatch.ALL : match)
+                .authorId(currentUser.getRole() == Role.CONTRIBUTOR ? currentUserId : null)
+                .publicOnly(currentUser.getRole() == Role.VIEWER)
+                .offset((int) offset)
+                .limit(pageSize)
+                .facetLimit(TAG_FACET_LIMIT)
+                .build());
+        
+        Map<Long, Article> articles = articleRepository.findAllById(result.getArticleIds()).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        List<Article> items = result.getArticleIds().stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new TaggedArticlePage(items, pageNumber, pageSize, result.getTotal(), result.getFacets());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleRevisionSummary> getArticleRevisions(Long id, Long beforeVersion, int limit, Long currentUserId) {
+        log.debug("Getting revisions of article {} for user: {}", id, currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        ArticleVersion current = articleRepository.findVersionById(id)
+                .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
+        if (!canView(currentUser, current.getAuthorId(), current.isPublic())) {
+            throw new UnauthorizedException("You don't have permission to view this article");
+        }
+        
+        // A version that was private is shown only to those who could have seen it then
+        return revisionRepository.findSummaries(id, beforeVersion, Math.clamp(limit, 1, MAX_REVISION_PAGE_SIZE)).stream()
+                .filter(revision -> canView(currentUser, current.getAuthorId(), revision.isPublic()))
+                .toList();
+    }
+    
+    @Override
+    public ArticleRevision getArticleRevision(Long id, long version, Long currentUserId) {
+        log.debug("Getting revision {} of article {} for user: {}", version, id, currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        ArticleVersion current = articleRepository.findVersionById(id)
+                .orElseThrow(() -> new ArticleNotFoundException("Article not found"));
+        if (!canView(currentUser, current.getAuthorId(), current.isPublic())) {
+            throw new UnauthorizedException("You don't have permission to view this article");
+        }
+        
+        ArticleRevision revision;
+        if (version == current.getVersion()) {
+            revision = ArticleRevision.of(articleRepository.findById(id)
+                    .orElseThrow(() -> new ArticleNotFoundException("Article not found")));
+        } else {
+            // Revisions never change, so a rebuilt one stays valid as long as it is cached
+            String cacheKey = ARTICLE_REVISION_CACHE_PREFIX + id + ":" + version;
+            revision = cacheService.get(cacheKey)
+                    .map(cached -> fromCache(cached, ArticleRevision.class))
+                    .orElse(null);
+            if (revision == null) {
+                revision = revisionRepository.findByVersion(id, version)
+                        .orElseThrow(() -> new ArticleNotFoundException("Article " + id + " has no version " + version));
+                cacheService.set(cacheKey, revision, CACHE_TTL);
+            }
+        }
+        
+        if (!canView(currentUser, current.getAuthorId(), revision.isPublic())) {
+            throw new UnauthorizedException("You don't have permission to view this revision");
+        }
+        return revision;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Article> getTrendingArticles(int limit, Long currentUserId) {
+        int count = Math.clamp(limit, 1, MAX_TRENDING);
+        log.debug("Getting {} trending articles for user: {}", count, currentUserId);
+        
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        
+        List<Long> ids = trending.trending().stream()
+                .filter(article -> canView(currentUser, article.getAuthorId(), article.isPublic()))
+                .limit(count)
+                .map(TrendingArticle::getArticleId)
+                .toList();
+        
+        // Checked again in case the article was changed since the ranking was published
+        Map<Long, Article> articles = articleRepository.findAllById(ids).stream()
+                .filter(article -> canView(currentUser, article.getAuthorId(), article.isPublic()))
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return ids.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // Lower-case, whitespace runs as '-', no duplicates, alphabetical
+    static List<String> normalizeTags(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream()
+                .filter(Objects::nonNull)
+                .map(tag -> WHITESPACE.matcher(tag.trim().toLowerCase(Locale.ROOT)).replaceAll("-"))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    // Returns how many articles were stored: all of them, or none if the batch failed
+    private int importBatch(List<ArticleImportLine> batch, Long authorId, List<ArticleImportError> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Article> articles = new ArrayList<>(batch.size());
+        for (ArticleImportLine line : batch) {
+            Article article = line.getArticle();
+            article.setAuthorId(authorId);
+            article.setTags(normalizeTags(article.getTags()));
+            article.setCreatedAt(now);
+            article.setUpdatedAt(now);
+            articles.add(article);
+        }
+        
+        List<Article> saved;
+        try {
+            saved = importRepository.insertAll(articles);
+        } catch (RuntimeException e) {
+            log.error("Failed to import articles of lines {} to {}", batch.get(0).getLineNumber(),
+                    batch.get(batch.size() - 1).getLineNumber(), e);
+            batch.forEach(line -> addImportError(errors, line.getLineNumber(),
+                    "Not imported: storing the batch of lines around it failed"));
+            return 0;
+        }
+        for (Article article : saved) {
+            articleSearch.index(article);
+            tagIndex.index(article);
+            publicReadModel.index(article);
+        }
+        return saved.size();
+    }
+
+    private static void addImportError(List<ArticleImportError> errors, long lineNumber, String message) {
+        if (errors.size() < MAX_IMPORT_ERRORS) {
+            errors.add(new ArticleImportError(lineNumber, message));
+        }
+    }
+
+    private static ArticleVersion versionOf(Article article) {
+        return new ArticleVersion(article.getId(), article.getVersion(), article.getAuthorId(), article.isPublic());
+    }
+
+    private static <T> T fromCache(Object cached, Class<T> type) {
+        if (cached instanceof LinkedHashMap) {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            return mapper.convertValue(cached, type);
+        }
+        return type.cast(cached);
+    }
+
     private boolean canViewArticle(Article article, Long currentUserId) {
         User currentUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
         
+        return canView(currentUser, article.getAuthorId(), article.isPublic());
+    }
+
+    private static boolean canUpdate(User currentUser, Long authorId) {
+        if (currentUser.getRole() == Role.SUPER_ADMIN) {
+            return true;
+        }
+        
+        return (currentUser.getRole() == Role.EDITOR || currentUser.getRole() == Role.CONTRIBUTOR)
+                && currentUser.getId().equals(authorId);
+    }
+
+    private static boolean canView(User currentUser, Long authorId, boolean isPublic) {
         if (currentUser.getRole() == Role.SUPER_ADMIN || 
             currentUser.getRole() == Role.EDITOR) {
             return true;
         }
         
         if (currentUser.getRole() == Role.CONTRIBUTOR && 
-            article.getAuthorId().equals(currentUserId)) {
+            currentUser.getId().equals(authorId)) {
             return true;
         }
         
-        if (currentUser.getRole() == Role.VIEWER && article.isPublic()) {
+        if (currentUser.getRole() == Role.VIEWER && isPublic) {
             return true;
         }
         
@@ -1,16 +1,31 @@
 package com.aziz.library.domain.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.aziz.library.domain.exception.InvalidStatsQueryException;
 import com.aziz.library.domain.exception.UnauthorizedException;
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogPage;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
 import com.aziz.library.domain.model.Role;
 import com.aziz.library.domain.model.User;
+import com.aziz.library.domain.model.UserAgentInfo;
 import com.aziz.library.domain.port.in.AuditLogUseCase;
+import com.aziz.library.domain.port.out.AuditLogQueuePort;
 import com.aziz.library.domain.port.out.AuditLogRepositoryPort;
+import com.aziz.library.domain.port.out.AuditLogRollupRepositoryPort;
+import com.aziz.library.domain.port.out.UserAgentParserPort;
 import com.aziz.library.domain.port.out.UserRepositoryPort;
 
 import lombok.RequiredArgsConstructor;
@@ -21,57 +36,82 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuditLogService implements AuditLogUseCase{
 
+    private static final int MAX_PAGE_SIZE = 500;
+    // A week of minutes, a year of hours or decades of days
+    private static final long MAX_STAT_BUCKETS = 10_080;
+
     private final AuditLogRepositoryPort auditLogRepository;
     private final UserRepositoryPort userRepository;
+    private final AuditLogQueuePort auditLogQueue;
+    private final UserAgentParserPort userAgentParser;
+    private final AuditLogRollupRepositoryPort auditLogRollupRepository;
     
     @Override
     public void logAction(Long userId, String action, String entity, Long entityId, 
                          String details, String ipAddress, String userAgent) {
         
-        String username = null;
-        if (userId != null) {
-            username = userRepository.findById(userId)
-                    .map(User::getUsername)
-                    .orElse(null);
-        }
-        
+        // The username is resolved by the batch writer, once per user per batch
+        UserAgentInfo agent = userAgentParser.parse(userAgent);
         AuditLog auditLog = AuditLog.builder()
                 .userId(userId)
-                .username(username)
                 .action(action)
                 .entity(entity)
                 .entityId(entityId)
                 .details(details)
                 .ipAddress(ipAddress)
-                .browser(extractBrowser(userAgent))
-                .device(extractDevice(userAgent))
-                .operatingSystem(extractOS(userAgent))
+                .userAgent(userAgent)
+                .browser(agent.getBrowser())
+                .browserVersion(agent.getBrowserVersion())
+                .device(agent.getDevice())
+                .operatingSystem(agent.getOperatingSystem())
                 .timestamp(LocalDateTime.now())
                 .build();
         
-        auditLogRepository.save(auditLog);
-        log.info("Audit log created: {} by user {}", action, userId);
+        auditLogQueue.enqueue(auditLog);
+        log.debug("Audit log queued: {} by user {}", action, userId);
     }
     
     @Override
-    public List<AuditLog> getAllLogs(Long currentUserId) {
+    @Transactional(readOnly = true)
+    public AuditLogPage searchLogs(AuditLogFilter filter, AuditLogCursor after, int limit, Long currentUserId) {
         checkSuperAdminAccess(currentUserId);
-        log.debug("Retrieving all audit logs");
-        return auditLogRepository.findAll();
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        log.debug("Retrieving audit log page of {} after {}", pageSize, after != null ? after.getId() : null);
+        
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<AuditLog> rows = auditLogRepository.findPage(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new AuditLogPage(rows, null);
+        }
+        List<AuditLog> items = rows.subList(0, pageSize);
+        return new AuditLogPage(items, AuditLogCursor.after(items.get(pageSize - 1)));
     }
     
     @Override
-    public List<AuditLog> getLogsByUser(Long userId, Long currentUserId) {
+    @Transactional(readOnly = true)
+    public void exportLogs(AuditLogFilter filter, Long currentUserId, Consumer<AuditLog> consumer) {
         checkSuperAdminAccess(currentUserId);
-        log.debug("Retrieving audit logs for user: {}", userId);
-        return auditLogRepository.findByUserId(userId);
+        log.info("Exporting audit logs for admin {}", currentUserId);
+        auditLogRepository.streamAll(filter, consumer);
     }
     
     @Override
-    public List<AuditLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end, Long currentUserId) {
+    @Transactional(readOnly = true)
+    public List<AuditLogStat> getStats(AuditLogGranularity granularity, AuditLogFilter filter,
+                                       Set<AuditLogStatDimension> groupBy, Long currentUserId) {
         checkSuperAdminAccess(currentUserId);
-        log.debug("Retrieving audit logs from {} to {}", start, end);
-        return auditLogRepository.findByTimestampBetween(start, end);
+        if (filter.getStart() == null || filter.getEnd() == null || !filter.getStart().isBefore(filter.getEnd())) {
+            throw new InvalidStatsQueryException("Stats require a start before end");
+        }
+        long buckets = Duration.between(filter.getStart(), filter.getEnd()).dividedBy(granularity.bucketSize());
+        if (buckets > MAX_STAT_BUCKETS) {
+            throw new InvalidStatsQueryException("Range spans " + buckets + " " + granularity
+                    + " buckets; use a coarser granularity or a range of at most " + MAX_STAT_BUCKETS);
+        }
+        log.debug("Retrieving {} audit stats from {} to {} grouped by {}", granularity,
+                filter.getStart(), filter.getEnd(), groupBy);
+        
+        return auditLogRollupRepository.findStats(granularity, filter, groupBy);
     }
     
     private void checkSuperAdminAccess(Long userId) {
@@ -82,31 +122,5 @@ public class AuditLogService implements AuditLogUseCase{
             throw new UnauthorizedException("Only SUPER_ADMIN can access audit logs");
         }
     }
-    
-    private String extractBrowser(String userAgent) {
-        if (userAgent == null) return "Unknown";
-        if (userAgent.contains("Chrome")) return "Chrome";
-        if (userAgent.contains("Firefox")) return "Firefox";
-        if (userAgent.contains("Safari")) return "Safari";
-        if (userAgent.contains("Edge")) return "Edge";
-        return "Other";
-    }
-    
-    private String extractDevice(String userAgent) {
-        if (userAgent == null) return "Unknown";
-        if (userAgent.contains("Mobile")) return "Mobile";
-        if (userAgent.contains("Tablet")) return "Tablet";
-        return "Desktop";
-    }
-    
-    private String extractOS(String userAgent) {
-        if (userAgent == null) return "Unknown";
-        if (userAgent.contains("Windows")) return "Windows";
-        if (userAgent.contains("Mac")) return "macOS";
-        if (userAgent.contains("Linux")) return "Linux";
-        if (userAgent.contains("Android")) return "Android";
-        if (userAgent.contains("iOS")) return "iOS";
-        return "Other";
-    }
 
 }
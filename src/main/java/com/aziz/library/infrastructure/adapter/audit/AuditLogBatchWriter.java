@@ -0,0 +1,412 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.port.out.AuditLogQueuePort;
+import com.aziz.library.domain.port.out.AuditLogRepositoryPort;
+import com.aziz.library.domain.port.out.UserRepositoryPort;
+import com.aziz.library.infrastructure.config.AsyncConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes audit events off the request path: callers only publish into a bounded lock-free ring
+ * buffer, and batches are written on the audit executor once {@code batch-size} events are
+ * pending or the flush interval elapses. Usernames are resolved once per distinct user per batch,
+ * and every written batch is also counted into the analytics rollups.
+ * <p>
+ * A batch whose insert fails is kept and written again, before anything newer, after
+ * {@code retry-backoff}, doubling up to {@code max-retry-backoff} while the database stays down.
+ * After {@code max-retry-attempts} it is split in halves down to single events, so one event the
+ * database rejects (a constraint or column length) is discarded and counted in
+ * {@code audit.pipeline.rejected} instead of holding back everything behind it. Meanwhile new events fill the buffer and, once it is full, the overflow policy decides what
+ * happens to them. On shutdown the buffer is drained and any later events are written
+ * synchronously. Events are held only in memory, so those still buffered or awaiting retry when
+ * the process dies are lost.
+ */
+@Slf4j
+@Component
+public class AuditLogBatchWriter implements AuditLogQueuePort, SmartLifecycle {
+
+    public enum OverflowPolicy {
+        /** Drop the event and count it in {@code audit.pipeline.dropped}. */
+        DROP,
+        /** Wait up to {@code block-timeout} for space, then drop. */
+        BLOCK,
+        /** Insert the event synchronously on the calling thread. */
+        WRITE_THROUGH
+    }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final AuditLogRepositoryPort auditLogRepository;
+    private final UserRepositoryPort userRepository;
+    private final AuditLogRollupAggregator rollupAggregator;
+    private final Executor executor;
+    private final MpscRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long retryBackoffNanos;
+    private final long maxRetryBackoffNanos;
+    private final int maxRetryAttempts;
+    private final LongSupplier clock;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile boolean running;
+
+    // A batch whose insert failed, written before anything newer; changed only under drainLock
+    private volatile List<AuditLog> retryBatch;
+    private long retryAt;
+    private long backoffNanos;
+    private int retryAttempts;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter rejectedCounter;
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+
+    @Autowired
+    public AuditLogBatchWriter(
+            AuditLogRepositoryPort auditLogRepository,
+            UserRepositoryPort userRepository,
+            AuditLogRollupAggregator rollupAggregator,
+            @Qualifier(AsyncConfig.AUDIT_EXECUTOR) Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.pipeline.capacity:8192}") int capacity,
+            @Value("${app.audit.pipeline.batch-size:500}") int batchSize,
+            @Value("${app.audit.pipeline.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${app.audit.pipeline.block-timeout:100ms}") Duration blockTimeout,
+            @Value("${app.audit.pipeline.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${app.audit.pipeline.max-retry-backoff:1m}") Duration maxRetryBackoff,
+            @Value("${app.audit.pipeline.max-retry-attempts:3}") int maxRetryAttempts) {
+        this(auditLogRepository, userRepository, rollupAggregator, executor, meterRegistry, capacity, batchSize,
+                overflowPolicy, blockTimeout, retryBackoff, maxRetryBackoff, maxRetryAttempts, System::nanoTime);
+    }
+
+    AuditLogBatchWriter(AuditLogRepositoryPort auditLogRepository, UserRepositoryPort userRepository,
+                        AuditLogRollupAggregator rollupAggregator, Executor executor, MeterRegistry meterRegistry,
+                        int capacity, int batchSize, OverflowPolicy overflowPolicy, Duration blockTimeout,
+                        Duration retryBackoff, Duration maxRetryBackoff, int maxRetryAttempts, LongSupplier clock) {
+        this.auditLogRepository = auditLogRepository;
+        this.userRepository = userRepository;
+        this.rollupAggregator = rollupAggregator;
+        this.executor = executor;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.maxRetryBackoffNanos = Math.max(maxRetryBackoff.toNanos(), retryBackoffNanos);
+        this.maxRetryAttempts = Math.max(maxRetryAttempts, 1);
+        this.clock = clock;
+
+        Gauge.builder("audit.pipeline.queue.depth", buffer, MpscRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.pipeline.written").register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.pipeline.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.pipeline.failed")
+                .description("Audit events lost: written directly when the insert failed, or left unwritten at shutdown")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("audit.pipeline.retried")
+                .description("Failed batch inserts kept to be written again")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("audit.pipeline.rejected")
+                .description("Audit events discarded because the database rejected them on their own")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.pipeline.flush.duration").register(meterRegistry);
+        this.lagTimer = Timer.builder("audit.pipeline.lag")
+                .description("Age of the oldest event in a batch when it was written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void enqueue(AuditLog auditLog) {
+        if (!running) {
+            writeOrCountFailed(List.of(auditLog));
+            return;
+        }
+
+        if (!buffer.offer(auditLog) && !handleOverflow(auditLog)) {
+            return;
+        }
+
+        if (!running) {
+            // Raced with stop(): make sure the event does not stay behind in the buffer
+            flush();
+        } else if (buffer.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.pipeline.flush-interval:1000}")
+    public void flushPending() {
+        if (running && (!buffer.isEmpty() || retryBatch != null)) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Drains the buffer on the calling thread and returns the number of events written. Stops at
+     * the first failed batch, and does nothing while a failed batch is waiting out its backoff.
+     * A batch that has failed {@code max-retry-attempts} times is written in parts.
+     */
+    public int flush() {
+        return flush(false);
+    }
+
+    private int flush(boolean ignoreBackoff) {
+        drainLock.lock();
+        try {
+            int total = 0;
+            List<AuditLog> retry = retryBatch;
+            if (retry != null) {
+                if (!ignoreBackoff && clock.getAsLong() - retryAt < 0) {
+                    return 0;
+                }
+                if (retryAttempts < maxRetryAttempts) {
+                    if (!writeBatch(retry)) {
+                        retryLater(retry);
+                        return 0;
+                    }
+                    total += retry.size();
+                } else {
+                    List<AuditLog> unwritten = new ArrayList<>();
+                    total += writeSplit(retry, unwritten);
+                    if (!unwritten.isEmpty()) {
+                        // Not an event the database rejects but the database itself, so the count starts over
+                        retryAttempts = 0;
+                        retryLater(unwritten);
+                        return total;
+                    }
+                }
+                log.info("Wrote {} audit log entries on retry", total);
+                retryBatch = null;
+                backoffNanos = 0;
+                retryAttempts = 0;
+            }
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                if (!writeBatch(batch)) {
+                    retryLater(batch);
+                    return total;
+                }
+                total += batch.size();
+                batch.clear();
+            }
+            return total;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public double getDroppedCount() {
+        return droppedCounter.count();
+    }
+
+    private boolean handleOverflow(AuditLog auditLog) {
+        switch (overflowPolicy) {
+            case WRITE_THROUGH -> {
+                writeOrCountFailed(List.of(auditLog));
+                return false;
+            }
+            case BLOCK -> {
+                scheduleFlush();
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(auditLog)) {
+                        return true;
+                    }
+                }
+            }
+            case DROP -> { }
+        }
+        droppedCounter.increment();
+        log.warn("Audit buffer full, dropped {} event for user {}", auditLog.getAction(), auditLog.getUserId());
+        return false;
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::runScheduledFlush);
+        } catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+            log.debug("Audit flush rejected by executor, will retry on next trigger");
+        }
+    }
+
+    private void runScheduledFlush() {
+        try {
+            flush();
+        } finally {
+            flushScheduled.set(false);
+        }
+        // A batch waiting to be retried is picked up by the next scheduled tick
+        if (running && retryBatch == null && buffer.size() >= batchSize) {
+            scheduleFlush();
+        }
+    }
+
+    private boolean writeBatch(List<AuditLog> batch) {
+        try {
+            insertBatch(batch);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} audit log entries", batch.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes a batch that keeps failing in halves, down to single events, and returns the number
+     * written. A single event failing on a data integrity violation is discarded; any other failure
+     * means the database is the problem, so that event and everything after it go into
+     * {@code unwritten} to be retried whole.
+     */
+    private int writeSplit(List<AuditLog> batch, List<AuditLog> unwritten) {
+        if (!unwritten.isEmpty()) {
+            unwritten.addAll(batch);
+            return 0;
+        }
+        try {
+            insertBatch(batch);
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                int half = batch.size() / 2;
+                return writeSplit(batch.subList(0, half), unwritten)
+                        + writeSplit(batch.subList(half, batch.size()), unwritten);
+            }
+            if (!(e instanceof DataIntegrityViolationException)) {
+                log.warn("Failed to write audit log entry while splitting a failed batch", e);
+                unwritten.addAll(batch);
+                return 0;
+            }
+            AuditLog rejected = batch.get(0);
+            rejectedCounter.increment();
+            log.error("Discarding audit log entry rejected by the database: action={}, userId={}, entity={}, entityId={}, timestamp={}",
+                    rejected.getAction(), rejected.getUserId(), rejected.getEntity(), rejected.getEntityId(),
+                    rejected.getTimestamp(), e);
+            return 0;
+        }
+    }
+
+    private void insertBatch(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        resolveUsernames(batch);
+        auditLogRepository.saveAll(batch);
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        writtenCounter.increment(batch.size());
+        recordLag(batch);
+        log.debug("Wrote {} audit log entries", batch.size());
+        // Only persisted events are counted, so rollups agree with audit_logs
+        rollupAggregator.record(batch);
+    }
+
+    // Events written on the caller's thread have no batch to go back into
+    private void writeOrCountFailed(List<AuditLog> batch) {
+        if (!writeBatch(batch)) {
+            failedCounter.increment(batch.size());
+        }
+    }
+
+    private void retryLater(List<AuditLog> batch) {
+        retriedCounter.increment();
+        retryAttempts++;
+        backoffNanos = backoffNanos == 0 ? retryBackoffNanos : Math.min(backoffNanos * 2, maxRetryBackoffNanos);
+        retryAt = clock.getAsLong() + backoffNanos;
+        retryBatch = batch;
+        log.warn("Retrying {} audit log entries in {} ms", batch.size(), TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+    }
+
+    private void resolveUsernames(List<AuditLog> batch) {
+        Map<Long, String> usernames = new HashMap<>();
+        for (AuditLog auditLog : batch) {
+            Long userId = auditLog.getUserId();
+            if (userId == null || auditLog.getUsername() != null) {
+                continue;
+            }
+            if (!usernames.containsKey(userId)) {
+                usernames.put(userId, userRepository.findUsernameById(userId).orElse(null));
+            }
+            auditLog.setUsername(usernames.get(userId));
+        }
+    }
+
+    private void recordLag(List<AuditLog> batch) {
+        LocalDateTime oldest = null;
+        for (AuditLog auditLog : batch) {
+            if (auditLog.getTimestamp() != null && (oldest == null || auditLog.getTimestamp().isBefore(oldest))) {
+                oldest = auditLog.getTimestamp();
+            }
+        }
+        if (oldest != null) {
+            lagTimer.record(Duration.between(oldest, LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // Runs before the web server's graceful shutdown phase; events arriving afterwards are written synchronously
+        running = false;
+        int drained = flush(true);
+        List<AuditLog> retry = retryBatch;
+        int unwritten = buffer.size() + (retry != null ? retry.size() : 0);
+        if (unwritten > 0) {
+            failedCounter.increment(unwritten);
+            log.error("Audit pipeline stopped with {} events unwritten", unwritten);
+        }
+        log.info("Audit pipeline stopped, drained {} pending events", drained);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+}
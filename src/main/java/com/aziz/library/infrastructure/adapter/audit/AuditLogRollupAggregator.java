@@ -0,0 +1,197 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.port.out.AuditLogRollupRepositoryPort;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts written audit events per minute, hour and day bucket by action, entity and user, and
+ * periodically adds the counts to {@code audit_log_rollups}. Counting happens in memory on the
+ * batch writer's thread; a flush swaps in an empty map so recording never waits on the database.
+ * Counts from a failed flush are merged back and retried on the next one.
+ */
+@Slf4j
+@Component
+public class AuditLogRollupAggregator implements SmartLifecycle {
+
+    private record RollupKey(AuditLogGranularity granularity, LocalDateTime bucketStart,
+                             String action, String entity, Long userId) {
+    }
+
+    private final AuditLogRollupRepositoryPort rollupRepository;
+    private final Map<AuditLogGranularity, Duration> retention;
+
+    // Recorders share the read lock; a flush takes the write lock only to swap the map
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile ConcurrentHashMap<RollupKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private final Counter failedCounter;
+
+    public AuditLogRollupAggregator(
+            AuditLogRollupRepositoryPort rollupRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.rollups.retention.minute:7d}") Duration minuteRetention,
+            @Value("${app.audit.rollups.retention.hour:90d}") Duration hourRetention,
+            @Value("${app.audit.rollups.retention.day:0d}") Duration dayRetention) {
+        this.rollupRepository = rollupRepository;
+        this.retention = Map.of(
+                AuditLogGranularity.MINUTE, minuteRetention,
+                AuditLogGranularity.HOUR, hourRetention,
+                AuditLogGranularity.DAY, dayRetention);
+
+        Gauge.builder("audit.rollups.pending", this, AuditLogRollupAggregator::getPendingCount)
+                .description("Rollup counters waiting to be flushed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.rollups.flush.failed").register(meterRegistry);
+    }
+
+    /**
+     * Adds a batch of persisted audit events to the in-memory counters.
+     */
+    public void record(List<AuditLog> batch) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<RollupKey, LongAdder> counters = pending;
+            for (AuditLog auditLog : batch) {
+                LocalDateTime timestamp = auditLog.getTimestamp() != null ? auditLog.getTimestamp() : LocalDateTime.now();
+                for (AuditLogGranularity granularity : AuditLogGranularity.values()) {
+                    RollupKey key = new RollupKey(granularity, granularity.bucketStart(timestamp),
+                            auditLog.getAction(), auditLog.getEntity(), auditLog.getUserId());
+                    counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (!running) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.rollups.flush-interval:10000}")
+    public void flushPending() {
+        if (!pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the accumulated counters and returns the number of rollup rows touched.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            ConcurrentHashMap<RollupKey, LongAdder> flushing;
+            swapLock.writeLock().lock();
+            try {
+                flushing = pending;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            if (flushing.isEmpty()) {
+                return 0;
+            }
+
+            List<AuditLogStat> increments = new ArrayList<>(flushing.size());
+            flushing.forEach((key, count) -> increments.add(AuditLogStat.builder()
+                    .granularity(key.granularity())
+                    .bucketStart(key.bucketStart())
+                    .action(key.action())
+                    .entity(key.entity())
+                    .userId(key.userId())
+                    .count(count.sum())
+                    .build()));
+            try {
+                rollupRepository.addCounts(increments);
+                log.debug("Flushed {} audit rollup counters", increments.size());
+                return increments.size();
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Failed to flush {} audit rollup counters, will retry", increments.size(), e);
+                restore(flushing);
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${app.audit.rollups.prune-cron:0 45 3 * * *}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        retention.forEach((granularity, keep) -> {
+            if (keep.isZero() || keep.isNegative()) {
+                return;
+            }
+            try {
+                int deleted = rollupRepository.deleteOlderThan(granularity, now.minus(keep));
+                log.info("Pruned {} {} audit rollups older than {}", deleted, granularity, keep);
+            } catch (DataAccessException e) {
+                log.error("Failed to prune {} audit rollups", granularity, e);
+            }
+        });
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void restore(Map<RollupKey, LongAdder> counters) {
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<RollupKey, LongAdder> current = pending;
+            counters.forEach((key, count) -> current.computeIfAbsent(key, k -> new LongAdder()).add(count.sum()));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        int flushed = flush();
+        log.info("Audit rollups stopped, flushed {} counters", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after AuditLogBatchWriter, whose final drain still records into these counters
+        return DEFAULT_PHASE - 1;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import com.aziz.library.infrastructure.config.AuditPolicyProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether an audit event is worth recording before it reaches the audit service.
+ * Always-on actions pass unconditionally; other actions may be sampled and deduplicated per
+ * (action, user, entity) within a time window.
+ * <p>
+ * Deduplication uses a fixed table of longs, each packing a 24-bit key tag with a 40-bit
+ * millisecond timestamp, updated with CAS. Two keys sharing a slot evict each other, which only
+ * means an extra event is recorded; a false suppression needs a slot and tag collision
+ * (about one in sixteen million per collision).
+ */
+@Slf4j
+public class AuditPolicy {
+
+    private static final int TAG_SHIFT = 40;
+    private static final long TIME_MASK = (1L << TAG_SHIFT) - 1;
+    // Keeps anonymous principals (keyed by address) apart from user ids
+    private static final long ANONYMOUS_SALT = 0x5DEECE66DL << 32;
+
+    private record CompiledRule(double sampleRate, long dedupWindowMillis, Counter sampled, Counter duplicate) {
+    }
+
+    private final Set<String> alwaysOn;
+    private final Map<String, CompiledRule> rules = new HashMap<>();
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    public AuditPolicy(AuditPolicyProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    AuditPolicy(AuditPolicyProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.alwaysOn = Set.copyOf(properties.getAlwaysOn());
+        properties.getActions().forEach((action, rule) -> {
+            if (alwaysOn.contains(action)) {
+                log.warn("Audit action {} is always on; its sampling and dedup rule is ignored", action);
+                return;
+            }
+            rules.put(action, new CompiledRule(
+                    Math.clamp(rule.getSampleRate(), 0.0, 1.0),
+                    rule.getDedupWindow() != null ? rule.getDedupWindow().toMillis() : 0,
+                    suppressedCounter(meterRegistry, action, "sampled"),
+                    suppressedCounter(meterRegistry, action, "duplicate")));
+        });
+
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getDedupSlots()) - 1) << 1;
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.clock = clock;
+        // Timestamps are stored relative to startup; 40 bits of milliseconds last about 34 years
+        this.epoch = clock.getAsLong() - 1;
+    }
+
+    /**
+     * Returns whether the event should be recorded. Anonymous events are deduplicated per client address.
+     */
+    public boolean shouldRecord(String action, Long userId, Long entityId, String ipAddress) {
+        if (alwaysOn.contains(action)) {
+            return true;
+        }
+        CompiledRule rule = rules.get(action);
+        if (rule == null) {
+            return true;
+        }
+
+        if (rule.sampleRate() < 1.0 && ThreadLocalRandom.current().nextDouble() >= rule.sampleRate()) {
+            rule.sampled().increment();
+            return false;
+        }
+        if (rule.dedupWindowMillis() > 0 && isDuplicate(action, userId, entityId, ipAddress, rule.dedupWindowMillis())) {
+            rule.duplicate().increment();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isDuplicate(String action, Long userId, Long entityId, String ipAddress, long windowMillis) {
+        long hash = hash(action, userId, entityId, ipAddress);
+        int index = (int) hash & mask;
+        long tag = hash >>> TAG_SHIFT;
+        long now = (clock.getAsLong() - epoch) & TIME_MASK;
+        long claimed = (tag << TAG_SHIFT) | now;
+
+        while (true) {
+            long current = slots.get(index);
+            if (current != 0 && (current >>> TAG_SHIFT) == tag && now - (current & TIME_MASK) < windowMillis) {
+                return true;
+            }
+            if (slots.compareAndSet(index, current, claimed)) {
+                return false;
+            }
+        }
+    }
+
+    private static long hash(String action, Long userId, Long entityId, String ipAddress) {
+        long principal = userId != null ? userId : Objects.hashCode(ipAddress) ^ ANONYMOUS_SALT;
+        long h = action.hashCode() * 0x9E3779B97F4A7C15L;
+        h = mix(h ^ principal);
+        h = mix(h ^ (entityId != null ? entityId : -1L));
+        return h;
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Counter suppressedCounter(MeterRegistry meterRegistry, String action, String reason) {
+        return Counter.builder("audit.policy.suppressed")
+                .description("Audit events not recorded because of the audit policy")
+                .tag("action", action)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+}
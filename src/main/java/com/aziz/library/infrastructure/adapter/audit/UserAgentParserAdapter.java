@@ -0,0 +1,110 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.UserAgentInfo;
+import com.aziz.library.domain.port.out.UserAgentParserPort;
+
+import eu.bitwalker.useragentutils.Browser;
+import eu.bitwalker.useragentutils.DeviceType;
+import eu.bitwalker.useragentutils.OperatingSystem;
+import eu.bitwalker.useragentutils.UserAgent;
+import eu.bitwalker.useragentutils.Version;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Classifies user-agent strings with UserAgentUtils and caches the result per raw header.
+ * Traffic carries a few hundred distinct agents, so once the cache is full new agents are
+ * parsed but not retained rather than evicting the hot ones.
+ */
+@Component
+public class UserAgentParserAdapter implements UserAgentParserPort {
+
+    // Chromium-based Edge still advertises Chrome/x and predates the library's Edge detection
+    private static final Pattern CHROMIUM_EDGE = Pattern.compile("\\bEdg(?:A|iOS)?/([\\d.]+)");
+    private static final int MAX_KEY_LENGTH = 512;
+    private static final int MAX_VERSION_LENGTH = 50;
+
+    private final ConcurrentMap<String, UserAgentInfo> cache = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserAgentParserAdapter(
+            @Value("${app.audit.user-agent-cache.max-entries:2000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("audit.user_agent.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("audit.user_agent.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("audit.user_agent.cache.size", cache, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    @Override
+    public UserAgentInfo parse(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return UserAgentInfo.UNKNOWN;
+        }
+
+        UserAgentInfo info = cache.get(userAgent);
+        if (info != null) {
+            hits.increment();
+            return info;
+        }
+
+        misses.increment();
+        info = classify(userAgent);
+        if (userAgent.length() <= MAX_KEY_LENGTH && cache.size() < maxEntries) {
+            cache.putIfAbsent(userAgent, info);
+        }
+        return info;
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+
+    private UserAgentInfo classify(String userAgent) {
+        UserAgent parsed = UserAgent.parseUserAgentString(userAgent);
+        Browser browser = parsed.getBrowser();
+        OperatingSystem os = parsed.getOperatingSystem();
+
+        String browserName = browser.getGroup().getName();
+        Version version = parsed.getBrowserVersion();
+        String browserVersion = version != null ? version.getVersion() : null;
+
+        Matcher edge = CHROMIUM_EDGE.matcher(userAgent);
+        if (edge.find()) {
+            browserName = "Edge";
+            browserVersion = edge.group(1);
+        }
+
+        return UserAgentInfo.builder()
+                .browser(browserName)
+                .browserVersion(truncate(browserVersion))
+                .device(deviceName(os.getDeviceType()))
+                .operatingSystem(os.getGroup() == OperatingSystem.MAC_OS_X ? "macOS" : os.getGroup().getName())
+                .build();
+    }
+
+    private String truncate(String value) {
+        return value != null && value.length() > MAX_VERSION_LENGTH ? value.substring(0, MAX_VERSION_LENGTH) : value;
+    }
+
+    private String deviceName(DeviceType deviceType) {
+        return switch (deviceType) {
+            case COMPUTER -> "Desktop";
+            case MOBILE -> "Mobile";
+            case TABLET -> "Tablet";
+            default -> deviceType.getName();
+        };
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.aziz.library.infrastructure.adapter.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email template parsed once into static segments and named slots.
+ * Global values (such as the application name) are folded into the static segments at compile time.
+ */
+public final class EmailTemplate {
+
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+
+    private final String name;
+    private final String[] segments;
+    private final String[] slots;
+    private final boolean escapeHtml;
+    private final int staticLength;
+
+    private EmailTemplate(String name, String[] segments, String[] slots, boolean escapeHtml) {
+        this.name = name;
+        this.segments = segments;
+        this.slots = slots;
+        this.escapeHtml = escapeHtml;
+
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    public static EmailTemplate compile(String name, String source, Map<String, String> globals, boolean escapeHtml) {
+        List<String> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(SLOT_OPEN, position);
+            if (open < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+
+            int close = source.indexOf(SLOT_CLOSE, open + SLOT_OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot in email template " + name + " at offset " + open);
+            }
+
+            literal.append(source, position, open);
+            String slot = source.substring(open + SLOT_OPEN.length(), close).trim();
+
+            String global = globals.get(slot);
+            if (global != null) {
+                appendValue(literal, global, escapeHtml);
+            } else {
+                segments.add(literal.toString());
+                slots.add(slot);
+                literal.setLength(0);
+            }
+            position = close + SLOT_CLOSE.length();
+        }
+        segments.add(literal.toString());
+
+        return new EmailTemplate(name, segments.toArray(String[]::new), slots.toArray(String[]::new), escapeHtml);
+    }
+
+    public void renderTo(StringBuilder out, Map<String, ?> model) {
+        out.ensureCapacity(out.length() + staticLength + slots.length * 16);
+
+        for (int i = 0; i < slots.length; i++) {
+            out.append(segments[i]);
+            Object value = model.get(slots[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for slot '" + slots[i] + "' in email template " + name);
+            }
+            appendValue(out, String.valueOf(value), escapeHtml);
+        }
+        out.append(segments[slots.length]);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    private static void appendValue(StringBuilder out, String value, boolean escapeHtml) {
+        if (!escapeHtml) {
+            out.append(value);
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+}
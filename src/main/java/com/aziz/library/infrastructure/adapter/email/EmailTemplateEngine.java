@@ -0,0 +1,151 @@
+package com.aziz.library.infrastructure.adapter.email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads email templates from the classpath or filesystem, compiles each one once and renders
+ * into pooled buffers. With hot reload enabled, templates are recompiled when the
+ * underlying resource changes.
+ */
+@Slf4j
+@Component
+public class EmailTemplateEngine {
+
+    private static final String HTML_SUFFIX = ".html";
+    private static final String TEXT_SUFFIX = ".txt";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final int BUFFER_POOL_SIZE = 16;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final boolean hotReload;
+    private final long reloadCheckIntervalMillis;
+    private final Map<String, String> globals;
+
+    private final ConcurrentMap<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+    // A shared pool rather than a ThreadLocal: on virtual threads every send runs on a fresh thread
+    private final BlockingQueue<StringBuilder> buffers = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
+    public EmailTemplateEngine(
+            ResourceLoader resourceLoader,
+            @Value("${app.mail.templates.location:classpath:templates/email/}") String location,
+            @Value("${app.mail.templates.hot-reload:false}") boolean hotReload,
+            @Value("${app.mail.templates.reload-check-interval:2000}") long reloadCheckIntervalMillis,
+            @Value("${app.name}") String appName) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.hotReload = hotReload;
+        this.reloadCheckIntervalMillis = reloadCheckIntervalMillis;
+        this.globals = Map.of("appName", appName);
+    }
+
+    public String render(String name, Map<String, ?> model) {
+        return renderTemplate(name + HTML_SUFFIX, true, model)
+                .orElseThrow(() -> new IllegalStateException("Email template not found: " + name + HTML_SUFFIX));
+    }
+
+    public Optional<String> renderText(String name, Map<String, ?> model) {
+        return renderTemplate(name + TEXT_SUFFIX, false, model);
+    }
+
+    private Optional<String> renderTemplate(String fileName, boolean html, Map<String, ?> model) {
+        CachedTemplate cached = resolve(fileName, html);
+        if (cached.template() == null) {
+            return Optional.empty();
+        }
+
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new StringBuilder(4096);
+        }
+        try {
+            cached.template().renderTo(buffer, model);
+            return Optional.of(buffer.toString());
+        } finally {
+            if (buffer.capacity() <= MAX_RETAINED_BUFFER) {
+                buffer.setLength(0);
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    private CachedTemplate resolve(String fileName, boolean html) {
+        CachedTemplate cached = templates.get(fileName);
+        if (cached == null) {
+            // Load outside computeIfAbsent: its bin lock would pin a virtual thread for the duration of the read
+            cached = load(fileName, html);
+            CachedTemplate existing = templates.putIfAbsent(fileName, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+
+        if (hotReload && cached.isStale(reloadCheckIntervalMillis)) {
+            long lastModified = lastModified(resourceLoader.getResource(location + fileName));
+            if (lastModified != cached.lastModified()) {
+                log.info("Reloading email template: {}", fileName);
+                cached = load(fileName, html);
+            } else {
+                cached = cached.checked();
+            }
+            templates.put(fileName, cached);
+        }
+
+        return cached;
+    }
+
+    private CachedTemplate load(String fileName, boolean html) {
+        Resource resource = resourceLoader.getResource(location + fileName);
+        long now = System.currentTimeMillis();
+
+        if (!resource.exists()) {
+            log.debug("Email template not found: {}{}", location, fileName);
+            return new CachedTemplate(null, -1L, now);
+        }
+
+        try (InputStream in = resource.getInputStream()) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            EmailTemplate template = EmailTemplate.compile(fileName, source, globals, html);
+            log.debug("Compiled email template {} with {} slots", fileName, template.getSlotCount());
+            return new CachedTemplate(template, lastModified(resource), now);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email template: " + fileName, e);
+        }
+    }
+
+    private long lastModified(Resource resource) {
+        try {
+            return resource.exists() ? resource.lastModified() : -1L;
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private record CachedTemplate(EmailTemplate template, long lastModified, long checkedAt) {
+
+        boolean isStale(long intervalMillis) {
+            return System.currentTimeMillis() - checkedAt >= intervalMillis;
+        }
+
+        CachedTemplate checked() {
+            return new CachedTemplate(template, lastModified, System.currentTimeMillis());
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.port.out.ArticleImportRepositoryPort;
+import com.aziz.library.infrastructure.adapter.persistence.entity.ArticleEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inserts imported articles with plain JDBC batches, which the driver's reWriteBatchedInserts
+ * turns into multi-row INSERTs. Ids come from articles_id_seq in blocks, the same way Hibernate
+ * allocates them, so a batch of 500 articles takes ten nextval calls in one query.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleImportRepositoryAdapter implements ArticleImportRepositoryPort {
+
+    private static final String NEXTVAL_SQL = "SELECT nextval('articles_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_ARTICLE_SQL = "INSERT INTO articles "
+            + "(id, title, content, author_id, is_public, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TAGS_SQL =
+            "INSERT INTO tags (name) SELECT unnest(?) ON CONFLICT (name) DO NOTHING";
+
+    private static final String SELECT_TAGS_SQL = "SELECT id, name FROM tags WHERE name = ANY (?)";
+
+    private static final String INSERT_ARTICLE_TAG_SQL = "INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<Article> insertAll(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return articles;
+        }
+        long[] ids = allocateIds(articles.size());
+        for (int i = 0; i < ids.length; i++) {
+            articles.get(i).setId(ids[i]);
+            articles.get(i).setVersion(0L);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ARTICLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Article article = articles.get(i);
+                ps.setLong(1, article.getId());
+                ps.setString(2, article.getTitle());
+                ps.setString(3, article.getContent());
+                ps.setLong(4, article.getAuthorId());
+                ps.setBoolean(5, article.isPublic());
+                ps.setTimestamp(6, Timestamp.valueOf(article.getCreatedAt()));
+                ps.setTimestamp(7, Timestamp.valueOf(article.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return articles.size();
+            }
+        });
+        insertTags(articles);
+        return articles;
+    }
+
+    // A nextval returning n reserves n - ID_ALLOCATION_SIZE + 1 .. n; the very first one, 1, reserves just 1
+    private long[] allocateIds(int count) {
+        int blockSize = ArticleEntity.ID_ALLOCATION_SIZE;
+        long[] ids = new long[count];
+        int allocated = 0;
+        while (allocated < count) {
+            int blocks = (count - allocated + blockSize - 1) / blockSize;
+            for (long high : jdbcTemplate.queryForList(NEXTVAL_SQL, Long.class, blocks)) {
+                for (long id = Math.max(1, high - blockSize + 1); id <= high && allocated < count; id++) {
+                    ids[allocated++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void insertTags(List<Article> articles) {
+        // Sorted, so concurrent imports take the locks on new tag names in the same order
+        TreeSet<String> names = new TreeSet<>();
+        for (Article article : articles) {
+            if (article.getTags() != null) {
+                names.addAll(article.getTags());
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        String[] nameArray = names.toArray(String[]::new);
+        jdbcTemplate.update(INSERT_TAGS_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", nameArray)));
+        Map<String, Long> tagIds = new HashMap<>(nameArray.length * 2);
+        jdbcTemplate.query(SELECT_TAGS_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", nameArray)),
+                (RowCallbackHandler) rs -> tagIds.put(rs.getString("name"), rs.getLong("id")));
+
+        List<long[]> links = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.getTags() != null) {
+                for (String tag : article.getTags()) {
+                    links.add(new long[] {article.getId(), tagIds.get(tag)});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARTICLE_TAG_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, links.get(i)[0]);
+                ps.setLong(2, links.get(i)[1]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return links.size();
+            }
+        });
+    }
+
+}
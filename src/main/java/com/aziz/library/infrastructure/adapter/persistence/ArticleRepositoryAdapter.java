@@ -1,15 +1,33 @@
 package com.aziz.library.infrastructure.adapter.persistence;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleStamp;
+import com.aziz.library.domain.model.ArticleVersion;
 import com.aziz.library.domain.port.out.ArticleRepositoryPort;
 import com.aziz.library.infrastructure.adapter.persistence.entity.ArticleEntity;
+import com.aziz.library.infrastructure.adapter.persistence.entity.TagEntity;
 import com.aziz.library.infrastructure.adapter.persistence.repository.ArticleRepository;
+import com.aziz.library.infrastructure.adapter.persistence.repository.TagRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,20 +35,77 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ArticleRepositoryAdapter implements ArticleRepositoryPort{
 
+    private static final String STREAM_SQL = """
+            SELECT a.id, a.title, a.content, a.author_id, a.is_public, a.created_at, a.updated_at, a.views, a.version,
+                   ARRAY(SELECT t.name FROM article_tags link JOIN tags t ON t.id = link.tag_id
+                         WHERE link.article_id = a.id ORDER BY t.name) AS tags
+            FROM articles a
+            """;
+
+    private static final String STAMP_SQL = "SELECT id, version, views FROM articles WHERE is_public ORDER BY id";
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final ArticleRepository articleRepository;
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
     
     @Override
     public Article save(Article article) {
         ArticleEntity entity = toEntity(article);
-        ArticleEntity saved = articleRepository.save(entity);
+        entity.setTags(resolveTags(article.getTags()));
+        // Flushed so the returned version is the one just written
+        ArticleEntity saved = articleRepository.saveAndFlush(entity);
         return toDomain(saved);
     }
     
+    @Override
+    @Transactional
+    public Optional<Article> patch(Long id, ArticlePatch patch) {
+        Optional<ArticleEntity> found = articleRepository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ArticleEntity entity = found.get();
+        if (patch.getVersion() != null && !patch.getVersion().equals(entity.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(ArticleEntity.class, id);
+        }
+        
+        // Fields are set on the managed entity only if they differ, so the flush updates just those
+        // columns, and nothing at all for a patch that changes nothing
+        boolean changed = false;
+        if (patch.getTitle() != null && !patch.getTitle().equals(entity.getTitle())) {
+            entity.setTitle(patch.getTitle());
+            changed = true;
+        }
+        if (patch.getContent() != null && !patch.getContent().equals(entity.getContent())) {
+            entity.setContent(patch.getContent());
+            changed = true;
+        }
+        if (patch.getIsPublic() != null && patch.getIsPublic() != entity.isPublic()) {
+            entity.setPublic(patch.getIsPublic());
+            changed = true;
+        }
+        if (patch.getTags() != null) {
+            changed |= replaceTags(entity, patch.getTags());
+        }
+        if (changed) {
+            entity.setUpdatedAt(patch.getUpdatedAt());
+            articleRepository.flush();
+        }
+        return Optional.of(toDomain(entity));
+    }
+    
     @Override
     public Optional<Article> findById(Long id) {
         return articleRepository.findById(id).map(this::toDomain);
     }
     
+    @Override
+    public Optional<ArticleVersion> findVersionById(Long id) {
+        return articleRepository.findVersionById(id);
+    }
+    
     @Override
     public List<Article> findAll() {
         return articleRepository.findAll().stream()
@@ -38,6 +113,13 @@ public class ArticleRepositoryAdapter implements ArticleRepositoryPort{
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public List<Article> findAllById(List<Long> ids) {
+        return articleRepository.findAllById(ids).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public List<Article> findByAuthorId(Long authorId) {
         return articleRepository.findByAuthorId(authorId).stream()
@@ -52,6 +134,56 @@ public class ArticleRepositoryAdapter implements ArticleRepositoryPort{
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Long authorId, boolean publicOnly, Consumer<Article> consumer) {
+        StringBuilder sql = new StringBuilder(STREAM_SQL);
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (authorId != null) {
+            conditions.add("a.author_id = ?");
+            params.add(authorId);
+        }
+        if (publicOnly) {
+            conditions.add("a.is_public");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY a.id");
+        
+        // Inside a transaction the PostgreSQL driver honours the fetch size with a server-side cursor,
+        // and rows are read with plain JDBC, so neither the driver nor a persistence context piles them up
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+    
+    @Override
+    public void streamPublicStamps(Consumer<ArticleStamp> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STAMP_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(
+                new ArticleStamp(rs.getLong("id"), rs.getLong("version"), rs.getLong("views"))));
+    }
+    
+    @Override
+    public List<Article> findAllWithTagsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(STREAM_SQL + " WHERE a.id = ANY (?) ORDER BY a.id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> mapRow(rs));
+    }
+    
     @Override
     public void deleteById(Long id) {
         articleRepository.deleteById(id);
@@ -66,9 +198,55 @@ public class ArticleRepositoryAdapter implements ArticleRepositoryPort{
                 .isPublic(entity.isPublic())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .views(entity.getViews())
+                .version(entity.getVersion())
+                .tags(entity.getTags().stream().map(TagEntity::getName).sorted().toList())
                 .build();
     }
     
+    private Article mapRow(ResultSet rs) throws SQLException {
+        return Article.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .content(rs.getString("content"))
+                .authorId(rs.getLong("author_id"))
+                .isPublic(rs.getBoolean("is_public"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .views(rs.getLong("views"))
+                .version(rs.getLong("version"))
+                .tags(Arrays.asList((String[]) rs.getArray("tags").getArray()))
+                .build();
+    }
+    
+    // Tags are created on first use; names are expected to be normalized and distinct
+    private Set<TagEntity> resolveTags(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<TagEntity> tags = tagRepository.findByNameIn(names);
+        if (tags.size() < names.size()) {
+            Set<String> existing = tags.stream().map(TagEntity::getName).collect(Collectors.toSet());
+            names.stream()
+                    .filter(name -> !existing.contains(name))
+                    .forEach(tagRepository::insertIfAbsent);
+            tags = tagRepository.findByNameIn(names);
+        }
+        return new HashSet<>(tags);
+    }
+    
+    // Changes the tag set in place, so only the added and removed article_tags rows are written
+    private boolean replaceTags(ArticleEntity entity, List<String> names) {
+        Set<String> current = entity.getTags().stream().map(TagEntity::getName).collect(Collectors.toSet());
+        if (current.equals(new HashSet<>(names))) {
+            return false;
+        }
+        Set<TagEntity> tags = resolveTags(names);
+        entity.getTags().retainAll(tags);
+        entity.getTags().addAll(tags);
+        return true;
+    }
+    
     private ArticleEntity toEntity(Article domain) {
         return ArticleEntity.builder()
                 .id(domain.getId())
@@ -78,6 +256,8 @@ public class ArticleRepositoryAdapter implements ArticleRepositoryPort{
                 .isPublic(domain.isPublic())
                 .createdAt(domain.getCreatedAt())
                 .updatedAt(domain.getUpdatedAt())
+                .views(domain.getViews())
+                .version(domain.getVersion())
                 .build();
     }
 
@@ -0,0 +1,156 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+import com.aziz.library.domain.port.out.ArticleRevisionRepositoryPort;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores each replaced version of an article as a {@link ContentDelta} against the version that
+ * replaced it, so the newest revisions, the ones most often viewed, are rebuilt from the article
+ * itself in a step or two. Every {@link #SNAPSHOT_INTERVAL}th revision, and any whose delta would
+ * not be much smaller, keeps its content whole instead, which bounds the rows read to rebuild any
+ * revision. Titles, visibility and tags are small and kept whole in every revision.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleRevisionRepositoryAdapter implements ArticleRevisionRepositoryPort {
+
+    static final int SNAPSHOT_INTERVAL = 16;
+
+    private static final String INSERT_SQL = "INSERT INTO article_revisions "
+            + "(article_id, version, title, is_public, tags, content, content_delta, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Deltas newer than the newest whole revision, each one more step to rebuild the oldest of them
+    private static final String COUNT_DELTAS_SQL = """
+            SELECT count(*) FROM article_revisions r
+            WHERE r.article_id = ? AND r.version > COALESCE(
+                (SELECT max(s.version) FROM article_revisions s WHERE s.article_id = r.article_id AND s.content IS NOT NULL), -1)
+            """;
+
+    private static final String SELECT_CHAIN_SQL = "SELECT version, title, is_public, tags, content, content_delta, updated_at "
+            + "FROM article_revisions WHERE article_id = ? AND version >= ? ORDER BY version LIMIT ?";
+
+    private static final String SELECT_CURRENT_CONTENT_SQL = "SELECT content FROM articles WHERE id = ?";
+
+    private static final String SELECT_SUMMARIES_SQL = "SELECT version, title, is_public, updated_at FROM article_revisions "
+            + "WHERE article_id = ? AND version < ? ORDER BY version DESC LIMIT ?";
+
+    record StoredRevision(long version, String title, boolean isPublic, List<String> tags, String content,
+                          byte[] contentDelta, LocalDateTime updatedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void record(Article previous, Article current) {
+        String content = previous.getContent();
+        byte[] delta = null;
+        Integer deltas = jdbcTemplate.queryForObject(COUNT_DELTAS_SQL, Integer.class, previous.getId());
+        if (deltas != null && deltas < SNAPSHOT_INTERVAL - 1) {
+            byte[] bytes = content.getBytes(UTF_8);
+            byte[] candidate = ContentDelta.encode(current.getContent().getBytes(UTF_8), bytes);
+            if (candidate.length * 2 < bytes.length) {
+                delta = candidate;
+                content = null;
+            }
+        }
+
+        String[] tags = previous.getTags() == null ? new String[0] : previous.getTags().toArray(String[]::new);
+        String storedContent = content;
+        byte[] storedDelta = delta;
+        jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setLong(1, previous.getId());
+            ps.setLong(2, previous.getVersion());
+            ps.setString(3, previous.getTitle());
+            ps.setBoolean(4, previous.isPublic());
+            ps.setArray(5, ps.getConnection().createArrayOf("varchar", tags));
+            ps.setString(6, storedContent);
+            ps.setBytes(7, storedDelta);
+            ps.setTimestamp(8, Timestamp.valueOf(previous.getUpdatedAt()));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleRevisionSummary> findSummaries(Long articleId, Long beforeVersion, int limit) {
+        long before = beforeVersion != null ? beforeVersion : Long.MAX_VALUE;
+        return jdbcTemplate.query(SELECT_SUMMARIES_SQL, (rs, row) -> new ArticleRevisionSummary(
+                rs.getLong("version"),
+                rs.getString("title"),
+                rs.getBoolean("is_public"),
+                rs.getObject("updated_at", LocalDateTime.class)), articleId, before, limit);
+    }
+
+    // Repeatable read, so the article's content matches the newest revision's delta even if it is
+    // updated between the two queries
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<ArticleRevision> findByVersion(Long articleId, long version) {
+        List<StoredRevision> chain = jdbcTemplate.query(SELECT_CHAIN_SQL, (rs, row) -> mapStored(rs),
+                articleId, version, SNAPSHOT_INTERVAL);
+        if (chain.isEmpty() || chain.get(0).version() != version) {
+            return Optional.empty();
+        }
+
+        int whole = 0;
+        while (whole < chain.size() && chain.get(whole).content() == null) {
+            whole++;
+        }
+        byte[] content;
+        if (whole < chain.size()) {
+            content = chain.get(whole).content().getBytes(UTF_8);
+        } else if (chain.size() < SNAPSHOT_INTERVAL) {
+            // The chain reaches the newest revision, a delta against the article itself
+            String current = jdbcTemplate.queryForObject(SELECT_CURRENT_CONTENT_SQL, String.class, articleId);
+            content = current.getBytes(UTF_8);
+        } else {
+            throw new IllegalStateException("Revision " + version + " of article " + articleId
+                    + " is more than " + SNAPSHOT_INTERVAL + " deltas from its content");
+        }
+        for (int i = whole - 1; i >= 0; i--) {
+            content = ContentDelta.apply(content, chain.get(i).contentDelta());
+        }
+
+        StoredRevision revision = chain.get(0);
+        return Optional.of(ArticleRevision.builder()
+                .articleId(articleId)
+                .version(revision.version())
+                .title(revision.title())
+                .content(new String(content, UTF_8))
+                .isPublic(revision.isPublic())
+                .tags(revision.tags())
+                .updatedAt(revision.updatedAt())
+                .build());
+    }
+
+    private static StoredRevision mapStored(ResultSet rs) throws SQLException {
+        return new StoredRevision(
+                rs.getLong("version"),
+                rs.getString("title"),
+                rs.getBoolean("is_public"),
+                new ArrayList<>(Arrays.asList((String[]) rs.getArray("tags").getArray())),
+                rs.getString("content"),
+                rs.getBytes("content_delta"),
+                rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
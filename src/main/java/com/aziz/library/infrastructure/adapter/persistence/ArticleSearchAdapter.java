@@ -0,0 +1,127 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleSearchHit;
+import com.aziz.library.domain.model.ArticleSearchQuery;
+import com.aziz.library.domain.port.out.ArticleSearchPort;
+
+/**
+ * Searches the generated {@code articles.search_vector} column (V10) through its GIN index.
+ * <p>
+ * Ranking needs every match's vector, so for very common terms the query first narrows matches
+ * to the newest {@code max-candidates} by id and ranks only those. Snippets are generated only
+ * for the rows on the requested page, since {@code ts_headline} re-parses the whole document.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class ArticleSearchAdapter implements ArticleSearchPort {
+
+    static final String TEXT_SEARCH_CONFIG = "english";
+
+    // Control characters mark matches so that the text can be HTML-escaped before <mark> is added
+    private static final char START_SEL = '\u0002';
+    private static final char STOP_SEL = '\u0003';
+    private static final String TITLE_OPTIONS = "HighlightAll=true, StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+    private static final String SNIPPET_OPTIONS = "MaxFragments=2, MaxWords=30, MinWords=10, FragmentDelimiter=\" … \", "
+            + "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL;
+
+    private static final String SEARCH_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('%1$s', ?) AS query)
+            SELECT a.id, a.title, a.author_id, a.is_public, a.created_at, a.updated_at, ranked.rank,
+                   ts_headline('%1$s', a.title, q.query, ?) AS title_highlight,
+                   ts_headline('%1$s', a.content, q.query, ?) AS snippet
+            FROM (
+                SELECT c.id, ts_rank_cd(c.search_vector, q.query) AS rank
+                FROM (
+                    SELECT id, search_vector
+                    FROM articles, q
+                    WHERE search_vector @@ q.query%2$s
+                    ORDER BY id DESC
+                    LIMIT ?
+                ) c, q
+                ORDER BY rank DESC, c.id DESC
+                LIMIT ? OFFSET ?
+            ) ranked
+            JOIN articles a ON a.id = ranked.id
+            CROSS JOIN q
+            ORDER BY ranked.rank DESC, ranked.id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxCandidates;
+
+    public ArticleSearchAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.search.max-candidates:10000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public List<ArticleSearchHit> search(ArticleSearchQuery query) {
+        List<Object> params = new ArrayList<>();
+        params.add(query.getText());
+        params.add(TITLE_OPTIONS);
+        params.add(SNIPPET_OPTIONS);
+
+        StringBuilder visibility = new StringBuilder();
+        if (query.getAuthorId() != null) {
+            visibility.append(" AND author_id = ?");
+            params.add(query.getAuthorId());
+        }
+        if (query.isPublicOnly()) {
+            visibility.append(" AND is_public");
+        }
+        params.add(maxCandidates);
+        params.add(query.getLimit());
+        params.add(query.getOffset());
+
+        String sql = SEARCH_SQL.formatted(TEXT_SEARCH_CONFIG, visibility);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs), params.toArray());
+    }
+
+    // search_vector is a generated column, so PostgreSQL keeps it current on every write
+    @Override
+    public void index(Article article) {
+    }
+
+    @Override
+    public void remove(Long articleId) {
+    }
+
+    private ArticleSearchHit mapRow(ResultSet rs) throws SQLException {
+        return ArticleSearchHit.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .titleHighlight(toHtml(rs.getString("title_highlight")))
+                .snippet(toHtml(rs.getString("snippet")))
+                .authorId(rs.getLong("author_id"))
+                .isPublic(rs.getBoolean("is_public"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .rank(rs.getDouble("rank"))
+                .build();
+    }
+
+    static String toHtml(String highlighted) {
+        if (highlighted == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(highlighted)
+                .replace(String.valueOf(START_SEL), "<mark>")
+                .replace(String.valueOf(STOP_SEL), "</mark>");
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aziz.library.domain.port.out.ArticleViewRepositoryPort;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ArticleViewRepositoryAdapter implements ArticleViewRepositoryPort {
+
+    private static final String UPDATE_SQL = "UPDATE articles SET views = views + ? WHERE id = ?";
+
+    private static final String SELECT_SQL = "SELECT id, views FROM articles WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Map<Long, Long> addViews(Map<Long, Long> viewsByArticle) {
+        if (viewsByArticle.isEmpty()) {
+            return Map.of();
+        }
+        // Every instance updates in id order, so concurrent flushes cannot deadlock on row locks
+        Long[] ids = viewsByArticle.keySet().stream().sorted().toArray(Long[]::new);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, viewsByArticle.get(ids[i]));
+                ps.setLong(2, ids[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+
+        Map<Long, Long> totals = new HashMap<>(ids.length * 2);
+        jdbcTemplate.query(SELECT_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                (RowCallbackHandler) rs -> totals.put(rs.getLong("id"), rs.getLong("views")));
+        return totals;
+    }
+
+}
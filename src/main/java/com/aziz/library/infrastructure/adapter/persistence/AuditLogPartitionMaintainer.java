@@ -0,0 +1,55 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly audit_logs partitions ahead of the clock, converts old partitions to BRIN
+ * timestamp indexes and drops partitions past retention. The work itself lives in the
+ * {@code maintain_audit_log_partitions} database function (V8) so it can also be run by hand.
+ */
+@Slf4j
+@Component
+public class AuditLogPartitionMaintainer {
+
+    private static final String MAINTAIN_SQL = "SELECT maintain_audit_log_partitions(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int brinAfterMonths;
+    private final int retentionMonths;
+
+    public AuditLogPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.audit.partitions.brin-after-months:2}") int brinAfterMonths,
+            @Value("${app.audit.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.brinAfterMonths = brinAfterMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            List<String> actions = jdbcTemplate.queryForList(MAINTAIN_SQL, String.class,
+                    monthsAhead, brinAfterMonths, retentionMonths);
+            actions.forEach(action -> log.info("Audit log partition maintenance: {}", action));
+            log.debug("Audit log partition maintenance finished with {} changes", actions.size());
+        } catch (DataAccessException e) {
+            log.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+}
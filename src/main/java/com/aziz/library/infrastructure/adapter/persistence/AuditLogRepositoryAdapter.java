@@ -1,14 +1,27 @@
 package com.aziz.library.infrastructure.adapter.persistence;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
 import com.aziz.library.domain.port.out.AuditLogRepositoryPort;
 import com.aziz.library.infrastructure.adapter.persistence.entity.AuditLogEntity;
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserAgentEntity;
 import com.aziz.library.infrastructure.adapter.persistence.repository.AuditLogRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -17,7 +30,23 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AuditLogRepositoryAdapter implements AuditLogRepositoryPort{
 
+    // With reWriteBatchedInserts=true the driver folds each JDBC batch into multi-row INSERTs
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs (user_id, username, action, entity, entity_id, details,
+                                    ip_address, user_agent_id, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT id, user_id, username, action, entity, entity_id, details, ip_address, user_agent_id, timestamp
+            FROM audit_logs
+            """;
+    private static final String ORDER_BY_NEWEST = " ORDER BY timestamp DESC, id DESC";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
     private final AuditLogRepository auditLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserAgentInterner userAgentInterner;
     
     @Override
     public AuditLog save(AuditLog auditLog) {
@@ -27,34 +56,126 @@ public class AuditLogRepositoryAdapter implements AuditLogRepositoryPort{
     }
     
     @Override
-    public List<AuditLog> findAll() {
-        return auditLogRepository.findAll().stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    public void saveAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        Integer[] userAgentIds = new Integer[auditLogs.size()];
+        for (int i = 0; i < userAgentIds.length; i++) {
+            userAgentIds[i] = userAgentInterner.intern(auditLogs.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditLog auditLog = auditLogs.get(i);
+                ps.setObject(1, auditLog.getUserId(), Types.BIGINT);
+                ps.setString(2, auditLog.getUsername());
+                ps.setString(3, auditLog.getAction());
+                ps.setString(4, auditLog.getEntity());
+                ps.setObject(5, auditLog.getEntityId(), Types.BIGINT);
+                ps.setString(6, auditLog.getDetails());
+                ps.setString(7, auditLog.getIpAddress());
+                ps.setObject(8, userAgentIds[i], Types.INTEGER);
+                ps.setTimestamp(9, Timestamp.valueOf(auditLog.getTimestamp() != null
+                        ? auditLog.getTimestamp() : LocalDateTime.now()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return auditLogs.size();
+            }
+        });
     }
     
     @Override
-    public List<AuditLog> findByUserId(Long userId) {
-        return auditLogRepository.findByUserId(userId).stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    public List<AuditLog> findPage(AuditLogFilter filter, AuditLogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        appendConditions(sql, params, filter, after);
+        sql.append(ORDER_BY_NEWEST).append(" LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapRow(rs), params.toArray());
     }
     
     @Override
-    public List<AuditLog> findByAction(String action) {
-        return auditLogRepository.findByAction(action).stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAll(AuditLogFilter filter, Consumer<AuditLog> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        appendConditions(sql, params, filter, null);
+        sql.append(ORDER_BY_NEWEST);
+        
+        // Inside a transaction the PostgreSQL driver honours the fetch size with a server-side cursor,
+        // so only EXPORT_FETCH_SIZE rows are held in memory at a time
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
     }
     
-    @Override
-    public List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByTimestampBetween(start, end).stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    private void appendConditions(StringBuilder sql, List<Object> params, AuditLogFilter filter, AuditLogCursor after) {
+        List<String> conditions = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getUserId() != null) {
+                conditions.add("user_id = ?");
+                params.add(filter.getUserId());
+            }
+            if (filter.getAction() != null) {
+                conditions.add("action = ?");
+                params.add(filter.getAction());
+            }
+            if (filter.getEntity() != null) {
+                conditions.add("entity = ?");
+                params.add(filter.getEntity());
+            }
+            if (filter.getStart() != null) {
+                conditions.add("timestamp >= ?");
+                params.add(filter.getStart());
+            }
+            if (filter.getEnd() != null) {
+                conditions.add("timestamp <= ?");
+                params.add(filter.getEnd());
+            }
+        }
+        if (after != null) {
+            // Equivalent to (timestamp, id) < (?, ?), but the plain upper bound on timestamp
+            // keeps partition pruning and an index range scan
+            conditions.add("timestamp <= ? AND (timestamp < ? OR id < ?)");
+            params.add(after.getTimestamp());
+            params.add(after.getTimestamp());
+            params.add(after.getId());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+    
+    private AuditLog mapRow(ResultSet rs) throws SQLException {
+        UserAgentEntity agent = userAgentInterner.lookup(rs.getObject("user_agent_id", Integer.class));
+        return AuditLog.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getObject("user_id", Long.class))
+                .username(rs.getString("username"))
+                .action(rs.getString("action"))
+                .entity(rs.getString("entity"))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .details(rs.getString("details"))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(agent != null ? agent.getUserAgent() : null)
+                .browser(agent != null ? agent.getBrowser() : null)
+                .browserVersion(agent != null ? agent.getBrowserVersion() : null)
+                .device(agent != null ? agent.getDevice() : null)
+                .operatingSystem(agent != null ? agent.getOperatingSystem() : null)
+                .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                .build();
     }
     
     private AuditLog toDomain(AuditLogEntity entity) {
+        UserAgentEntity agent = userAgentInterner.lookup(entity.getUserAgentId());
         return AuditLog.builder()
                 .id(entity.getId())
                 .userId(entity.getUserId())
@@ -64,9 +185,11 @@ public class AuditLogRepositoryAdapter implements AuditLogRepositoryPort{
                 .entityId(entity.getEntityId())
                 .details(entity.getDetails())
                 .ipAddress(entity.getIpAddress())
-                .browser(entity.getBrowser())
-                .device(entity.getDevice())
-                .operatingSystem(entity.getOperatingSystem())
+                .userAgent(agent != null ? agent.getUserAgent() : null)
+                .browser(agent != null ? agent.getBrowser() : null)
+                .browserVersion(agent != null ? agent.getBrowserVersion() : null)
+                .device(agent != null ? agent.getDevice() : null)
+                .operatingSystem(agent != null ? agent.getOperatingSystem() : null)
                 .timestamp(entity.getTimestamp())
                 .build();
     }
@@ -81,9 +204,7 @@ public class AuditLogRepositoryAdapter implements AuditLogRepositoryPort{
                 .entityId(domain.getEntityId())
                 .details(domain.getDetails())
                 .ipAddress(domain.getIpAddress())
-                .browser(domain.getBrowser())
-                .device(domain.getDevice())
-                .operatingSystem(domain.getOperatingSystem())
+                .userAgentId(userAgentInterner.intern(domain))
                 .timestamp(domain.getTimestamp())
                 .build();
     }
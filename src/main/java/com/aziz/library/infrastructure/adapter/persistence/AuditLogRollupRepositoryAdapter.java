@@ -0,0 +1,136 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
+import com.aziz.library.domain.port.out.AuditLogRollupRepositoryPort;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class AuditLogRollupRepositoryAdapter implements AuditLogRollupRepositoryPort {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO audit_log_rollups (granularity, bucket_start, action, entity, user_id, count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT ON CONSTRAINT uk_audit_log_rollups
+            DO UPDATE SET count = audit_log_rollups.count + EXCLUDED.count
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM audit_log_rollups WHERE granularity = ? AND bucket_start < ?";
+
+    // Every instance upserts in the same key order, so concurrent flushes cannot deadlock on row locks
+    private static final Comparator<AuditLogStat> KEY_ORDER = Comparator
+            .comparing(AuditLogStat::getGranularity)
+            .thenComparing(AuditLogStat::getBucketStart)
+            .thenComparing(AuditLogStat::getAction)
+            .thenComparing(AuditLogStat::getEntity, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AuditLogStat::getUserId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addCounts(List<AuditLogStat> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        List<AuditLogStat> ordered = new ArrayList<>(increments);
+        ordered.sort(KEY_ORDER);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditLogStat stat = ordered.get(i);
+                ps.setString(1, stat.getGranularity().name());
+                ps.setTimestamp(2, Timestamp.valueOf(stat.getBucketStart()));
+                ps.setString(3, stat.getAction());
+                ps.setString(4, stat.getEntity());
+                ps.setObject(5, stat.getUserId(), Types.BIGINT);
+                ps.setLong(6, stat.getCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ordered.size();
+            }
+        });
+    }
+
+    @Override
+    public List<AuditLogStat> findStats(AuditLogGranularity granularity, AuditLogFilter filter,
+                                        Set<AuditLogStatDimension> groupBy) {
+        boolean byAction = groupBy.contains(AuditLogStatDimension.ACTION);
+        boolean byEntity = groupBy.contains(AuditLogStatDimension.ENTITY);
+        boolean byUser = groupBy.contains(AuditLogStatDimension.USER);
+
+        List<String> columns = new ArrayList<>();
+        columns.add("bucket_start");
+        if (byAction) {
+            columns.add("action");
+        }
+        if (byEntity) {
+            columns.add("entity");
+        }
+        if (byUser) {
+            columns.add("user_id");
+        }
+        String groupColumns = String.join(", ", columns);
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(groupColumns)
+                .append(", sum(count) AS total FROM audit_log_rollups WHERE granularity = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(granularity.name());
+        if (filter.getStart() != null) {
+            // Include the bucket the range starts in
+            sql.append(" AND bucket_start >= ?");
+            params.add(granularity.bucketStart(filter.getStart()));
+        }
+        if (filter.getEnd() != null) {
+            sql.append(" AND bucket_start <= ?");
+            params.add(filter.getEnd());
+        }
+        if (filter.getAction() != null) {
+            sql.append(" AND action = ?");
+            params.add(filter.getAction());
+        }
+        if (filter.getEntity() != null) {
+            sql.append(" AND entity = ?");
+            params.add(filter.getEntity());
+        }
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        sql.append(" GROUP BY ").append(groupColumns).append(" ORDER BY ").append(groupColumns);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> AuditLogStat.builder()
+                .granularity(granularity)
+                .bucketStart(rs.getObject("bucket_start", LocalDateTime.class))
+                .action(byAction ? rs.getString("action") : null)
+                .entity(byEntity ? rs.getString("entity") : null)
+                .userId(byUser ? rs.getObject("user_id", Long.class) : null)
+                .count(rs.getLong("total"))
+                .build(), params.toArray());
+    }
+
+    @Override
+    public int deleteOlderThan(AuditLogGranularity granularity, LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_SQL, granularity.name(), Timestamp.valueOf(cutoff));
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A binary delta that rebuilds one byte array from another, in the copy/insert style of git's
+ * pack deltas: every {@link #BLOCK}-byte block of the base is indexed by hash, the target is
+ * scanned for blocks found there, and each match is grown in both directions into a copy, with the
+ * bytes between copies inserted as they are. An edit to an article thus costs about the size of
+ * what changed, wherever in the text it is.
+ * <p>
+ * Encoded as the target length, then operations, all numbers as unsigned LEB128 varints. An
+ * operation header with the low bit set copies {@code header >>> 1} bytes from the base offset
+ * that follows; otherwise the {@code header >>> 1} bytes that follow are inserted.
+ */
+final class ContentDelta {
+
+    static final int BLOCK = 16;
+
+    private ContentDelta() {
+    }
+
+    static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        writeVarint(out, target.length);
+
+        int blocks = base.length / BLOCK;
+        int[] offsets = new int[Integer.highestOneBit(Math.max(blocks, 8) * 2 - 1) * 2];
+        int mask = offsets.length - 1;
+        // Offset + 1 per hash, as 0 means empty; filled from the end, so the first of equal blocks wins
+        for (int offset = (blocks - 1) * BLOCK; offset >= 0; offset -= BLOCK) {
+            offsets[hash(base, offset) & mask] = offset + 1;
+        }
+
+        int position = 0;
+        int literalStart = 0;
+        while (blocks > 0 && position + BLOCK <= target.length) {
+            int candidate = offsets[hash(target, position) & mask] - 1;
+            if (candidate < 0 || !Arrays.equals(base, candidate, candidate + BLOCK, target, position, position + BLOCK)) {
+                position++;
+                continue;
+            }
+            int start = position;
+            int from = candidate;
+            while (start > literalStart && from > 0 && base[from - 1] == target[start - 1]) {
+                start--;
+                from--;
+            }
+            int end = position + BLOCK;
+            int baseEnd = candidate + BLOCK;
+            while (end < target.length && baseEnd < base.length && base[baseEnd] == target[end]) {
+                end++;
+                baseEnd++;
+            }
+            writeInsert(out, target, literalStart, start);
+            writeVarint(out, (end - start) << 1 | 1);
+            writeVarint(out, from);
+            position = end;
+            literalStart = end;
+        }
+        writeInsert(out, target, literalStart, target.length);
+        return out.toByteArray();
+    }
+
+    static byte[] apply(byte[] base, byte[] delta) {
+        ByteBuffer in = ByteBuffer.wrap(delta);
+        try {
+            byte[] target = new byte[readVarint(in)];
+            int position = 0;
+            while (in.hasRemaining()) {
+                int header = readVarint(in);
+                int length = header >>> 1;
+                if (length > target.length - position) {
+                    throw new IllegalArgumentException("Delta writes past its target length");
+                }
+                if ((header & 1) == 1) {
+                    int offset = readVarint(in);
+                    if (offset > base.length - length) {
+                        throw new IllegalArgumentException("Delta copies past the end of its base");
+                    }
+                    System.arraycopy(base, offset, target, position, length);
+                } else {
+                    in.get(target, position, length);
+                }
+                position += length;
+            }
+            if (position != target.length) {
+                throw new IllegalArgumentException("Delta ends before its target length");
+            }
+            return target;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Delta is truncated", e);
+        }
+    }
+
+    private static void writeInsert(ByteArrayOutputStream out, byte[] target, int from, int to) {
+        if (to > from) {
+            writeVarint(out, (to - from) << 1);
+            out.write(target, from, to - from);
+        }
+    }
+
+    private static int hash(byte[] bytes, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            hash = hash * 31 + bytes[i];
+        }
+        return hash * 0x9E3779B1 >>> 7;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Delta holds a malformed number");
+    }
+}
@@ -0,0 +1,128 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserAgentEntity;
+import com.aziz.library.infrastructure.adapter.persistence.repository.UserAgentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps audit user-agent attributes to rows of the {@code user_agents} dimension table and back,
+ * keeping both directions in memory. The first sighting of an agent costs one upsert; after that
+ * writes and reads are served from the maps.
+ */
+@Slf4j
+@Component
+public class UserAgentInterner {
+
+    // Same separator and column order as the V7 backfill, so both produce identical fingerprints
+    private static final char SEPARATOR = '\u001f';
+    private static final int MAX_USER_AGENT_LENGTH = 1024;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_agents (fingerprint, user_agent, browser, browser_version, device, operating_system)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (fingerprint) DO UPDATE SET fingerprint = EXCLUDED.fingerprint
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserAgentRepository userAgentRepository;
+    private final int maxEntries;
+
+    private final ConcurrentMap<UUID, Integer> idsByFingerprint = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, UserAgentEntity> agentsById = new ConcurrentHashMap<>();
+
+    public UserAgentInterner(
+            JdbcTemplate jdbcTemplate,
+            UserAgentRepository userAgentRepository,
+            @Value("${app.audit.user-agent-cache.max-entries:2000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userAgentRepository = userAgentRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the dimension key for the audit log's user agent, creating the row on first use,
+     * or {@code null} when the log carries no user-agent information at all.
+     */
+    public Integer intern(AuditLog auditLog) {
+        String userAgent = truncate(auditLog.getUserAgent());
+        if (userAgent == null && auditLog.getBrowser() == null && auditLog.getBrowserVersion() == null
+                && auditLog.getDevice() == null && auditLog.getOperatingSystem() == null) {
+            return null;
+        }
+
+        UUID fingerprint = fingerprint(userAgent, auditLog.getBrowser(), auditLog.getBrowserVersion(),
+                auditLog.getDevice(), auditLog.getOperatingSystem());
+        Integer id = idsByFingerprint.get(fingerprint);
+        if (id != null) {
+            return id;
+        }
+
+        id = jdbcTemplate.queryForObject(UPSERT_SQL, Integer.class, fingerprint, userAgent,
+                auditLog.getBrowser(), auditLog.getBrowserVersion(), auditLog.getDevice(), auditLog.getOperatingSystem());
+        if (idsByFingerprint.size() < maxEntries) {
+            idsByFingerprint.putIfAbsent(fingerprint, id);
+            agentsById.putIfAbsent(id, UserAgentEntity.builder()
+                    .id(id)
+                    .fingerprint(fingerprint)
+                    .userAgent(userAgent)
+                    .browser(auditLog.getBrowser())
+                    .browserVersion(auditLog.getBrowserVersion())
+                    .device(auditLog.getDevice())
+                    .operatingSystem(auditLog.getOperatingSystem())
+                    .build());
+        }
+        log.debug("Interned user agent {} as {}", fingerprint, id);
+        return id;
+    }
+
+    public UserAgentEntity lookup(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        UserAgentEntity agent = agentsById.get(id);
+        if (agent == null) {
+            agent = userAgentRepository.findById(id).orElse(null);
+            if (agent != null && agentsById.size() < maxEntries) {
+                agentsById.putIfAbsent(id, agent);
+            }
+        }
+        return agent;
+    }
+
+    static UUID fingerprint(String userAgent, String browser, String browserVersion, String device, String os) {
+        String key = nullToEmpty(userAgent) + SEPARATOR + nullToEmpty(browser) + SEPARATOR + nullToEmpty(browserVersion)
+                + SEPARATOR + nullToEmpty(device) + SEPARATOR + nullToEmpty(os);
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private static String truncate(String userAgent) {
+        return userAgent != null && userAgent.length() > MAX_USER_AGENT_LENGTH
+                ? userAgent.substring(0, MAX_USER_AGENT_LENGTH)
+                : userAgent;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+}
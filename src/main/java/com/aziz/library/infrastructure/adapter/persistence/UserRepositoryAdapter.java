@@ -28,12 +28,17 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     
     @Override
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id).map(this::toDomain);
+        return userRepository.findCurrentById(id).map(this::toDomain);
+    }
+    
+    @Override
+    public Optional<String> findUsernameById(Long id) {
+        return userRepository.findById(id).map(UserEntity::getUsername);
     }
     
     @Override
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username).map(this::toDomain);
+        return userRepository.loadByUsername(username).map(this::toDomain);
     }
     
     @Override
@@ -43,7 +48,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
     
     @Override
     public Optional<User> findByUsernameOrEmail(String identifier) {
-        return userRepository.findByUsernameOrEmail(identifier, identifier).map(this::toDomain);
+        return userRepository.findCurrentByUsernameOrEmail(identifier).map(this::toDomain);
     }
     
     @Override
@@ -1,23 +1,37 @@
 package com.aziz.library.infrastructure.adapter.persistence.entity;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+// Updates list only the changed columns, so e.g. publishing an article does not rewrite its content
 @Entity
+@DynamicUpdate
 @Table(name = "articles")
 @Setter
 @Getter
@@ -25,8 +39,14 @@ import lombok.Setter;
 @AllArgsConstructor
 @Builder
 public class ArticleEntity {
+
+    // Must match the increment of articles_id_seq (V14)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // One nextval reserves the ids up to the value it returns, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_id_seq")
+    @SequenceGenerator(name = "articles_id_seq", sequenceName = "articles_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 200)
@@ -49,4 +69,21 @@ public class ArticleEntity {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    // Only the view counter's flush changes views, so saving an article cannot overwrite its increments
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long views;
+    
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Loaded with one extra query for all articles of a result instead of one per article
+    @Builder.Default
+    @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @JoinTable(name = "article_tags",
+            joinColumns = @JoinColumn(name = "article_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    private Set<TagEntity> tags = new HashSet<>();
 }
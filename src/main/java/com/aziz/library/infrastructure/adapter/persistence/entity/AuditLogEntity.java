@@ -16,10 +16,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// Range-partitioned by month on timestamp (V8); partitions are managed by AuditLogPartitionMaintainer
 @Table(name = "audit_logs", indexes = {
-    @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_action", columnList = "action"),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    @Index(name = "idx_audit_logs_user_id", columnList = "user_id, timestamp DESC"),
+    @Index(name = "idx_audit_logs_action", columnList = "action, timestamp DESC")
 })
 @Setter
 @Getter
@@ -52,14 +52,8 @@ public class AuditLogEntity {
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
     
-    @Column(length = 200)
-    private String browser;
-    
-    @Column(length = 100)
-    private String device;
-    
-    @Column(name = "operating_system", length = 100)
-    private String operatingSystem;
+    @Column(name = "user_agent_id")
+    private Integer userAgentId;
     
     @Column(nullable = false)
     private LocalDateTime timestamp;
@@ -1,14 +1,22 @@
 package com.aziz.library.infrastructure.adapter.persistence.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.aziz.library.domain.model.ArticleVersion;
 import com.aziz.library.infrastructure.adapter.persistence.entity.ArticleEntity;
 
 @Repository
 public interface ArticleRepository extends JpaRepository <ArticleEntity, Long>{
     List<ArticleEntity> findByAuthorId(Long authorId);
     List<ArticleEntity> findByIsPublicTrue();
+
+    @Query("SELECT new com.aziz.library.domain.model.ArticleVersion(a.id, a.version, a.authorId, a.isPublic) "
+            + "FROM ArticleEntity a WHERE a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,22 @@
+package com.aziz.library.infrastructure.adapter.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.TagEntity;
+
+@Repository
+public interface TagRepository extends JpaRepository<TagEntity, Long> {
+    List<TagEntity> findByNameIn(Collection<String> names);
+
+    // Two articles introducing the same new tag at once must not fail on the unique name
+    @Modifying
+    @Query(value = "INSERT INTO tags (name) VALUES (:name) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+}
@@ -0,0 +1,10 @@
+package com.aziz.library.infrastructure.adapter.persistence.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserAgentEntity;
+
+@Repository
+public interface UserAgentRepository extends JpaRepository<UserAgentEntity, Integer> {
+}
@@ -0,0 +1,11 @@
+package com.aziz.library.infrastructure.adapter.persistence.repository;
+
+import java.util.Optional;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
+
+public interface UserCurrentRepository {
+    // Read from the primary in a transaction of their own, past the second-level cache
+    Optional<UserEntity> findCurrentById(Long id);
+    Optional<UserEntity> findCurrentByUsernameOrEmail(String identifier);
+}
@@ -0,0 +1,53 @@
+package com.aziz.library.infrastructure.adapter.persistence.repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lookups whose answer decides access, so they must see a role change, a disabled account or a
+ * lock committed on any instance at once. Each runs in a new transaction, which is not a use
+ * case's and so is never routed to a replica, and reads the row itself; what it reads refreshes
+ * the cached copy on this instance.
+ */
+@RequiredArgsConstructor
+class UserCurrentRepositoryImpl implements UserCurrentRepository {
+
+    private static final Map<String, Object> BYPASS_CACHE = Map.of(
+            SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS,
+            SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.REFRESH);
+
+    // Usernames first, as signed-in requests identify users by them
+    private static final String BY_USERNAME_OR_EMAIL = """
+            SELECT u FROM UserEntity u WHERE u.username = :identifier OR u.email = :identifier
+            ORDER BY CASE WHEN u.username = :identifier THEN 0 ELSE 1 END""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<UserEntity> findCurrentById(Long id) {
+        return Optional.ofNullable(entityManager.find(UserEntity.class, id, BYPASS_CACHE));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<UserEntity> findCurrentByUsernameOrEmail(String identifier) {
+        TypedQuery<UserEntity> query = entityManager.createQuery(BY_USERNAME_OR_EMAIL, UserEntity.class)
+                .setParameter("identifier", identifier)
+                .setMaxResults(1);
+        BYPASS_CACHE.forEach(query::setHint);
+        return query.getResultStream().findFirst();
+    }
+}
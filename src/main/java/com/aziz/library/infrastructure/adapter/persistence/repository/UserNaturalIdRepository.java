@@ -0,0 +1,10 @@
+package com.aziz.library.infrastructure.adapter.persistence.repository;
+
+import java.util.Optional;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
+
+public interface UserNaturalIdRepository {
+    // Resolved through the natural-id cache, so a cached user is found without a query
+    Optional<UserEntity> loadByUsername(String username);
+}
@@ -2,16 +2,20 @@ package com.aziz.library.infrastructure.adapter.persistence.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    Optional<UserEntity> findByUsername(String username);
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository, UserCurrentRepository {
+    // Email is not the natural id, so its lookups go through the query cache, emptied on any change to users
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserEntity> findByEmail(String email);
-    Optional<UserEntity> findByUsernameOrEmail(String username, String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,209 @@
+package com.aziz.library.infrastructure.adapter.readmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.port.out.ArticleRepositoryPort;
+import com.aziz.library.domain.port.out.PublicArticleReadModelPort;
+import com.aziz.library.infrastructure.adapter.search.TransactionCallbacks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps every public article in memory as a {@link PublicArticleSnapshot}, so the article list
+ * that viewers ask for most is served with neither a query nor a lock: readers take whichever
+ * snapshot is current, and each committed write builds the next one from a copy.
+ * <p>
+ * The snapshot is loaded on start and reconciled with the database every
+ * {@code app.articles.read-model.refresh-interval}, which picks up writes from other instances
+ * and refreshes view counts. Reconciliation reads only each public article's id, version and view
+ * count, keeps the articles held at the same version, and loads in full just the ones missing or
+ * at another version. Writes committed while reconciliation reads the table are replayed
+ * onto the reloaded snapshot before it replaces the current one; articles it corrects are
+ * counted in {@code articles.read-model.corrections}.
+ * <p>
+ * Holds the content of every public article, since the article list returns it, much as the tag
+ * index holds every article's tags.
+ */
+@Slf4j
+@Component
+public class PublicArticleReadModelAdapter implements PublicArticleReadModelPort, SmartLifecycle {
+
+    // Articles loaded in full per query when reconciliation finds them missing or changed
+    private static final int RELOAD_CHUNK_SIZE = 500;
+
+    private final ArticleRepositoryPort articleRepository;
+
+    // Serializes writers only; readers never take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile PublicArticleSnapshot snapshot = PublicArticleSnapshot.EMPTY;
+    private List<UnaryOperator<PublicArticleSnapshot>> replay;
+    private volatile boolean running;
+
+    private final Counter correctionCounter;
+
+    public PublicArticleReadModelAdapter(ArticleRepositoryPort articleRepository, MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        Gauge.builder("articles.read-model.size", this, adapter -> adapter.snapshot.size())
+                .description("Public articles held in memory")
+                .register(meterRegistry);
+        this.correctionCounter = Counter.builder("articles.read-model.corrections")
+                .description("Public articles found missing, stale or extra by reconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<Article> findAllPublic() {
+        return snapshot.articles();
+    }
+
+    @Override
+    public void index(Article article) {
+        // A copy, as the caller goes on to use and may change its own
+        Article copy = article.toBuilder()
+                .tags(article.getTags() == null ? List.of() : List.copyOf(article.getTags()))
+                .build();
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.with(copy)));
+    }
+
+    @Override
+    public void remove(Long articleId) {
+        TransactionCallbacks.afterCommit(() -> apply(current -> current.without(articleId)));
+    }
+
+    @Override
+    public void start() {
+        reload();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server, so the list is complete when requests arrive
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Scheduled(fixedDelayString = "${app.articles.read-model.refresh-interval:60000}",
+            initialDelayString = "${app.articles.read-model.refresh-interval:60000}")
+    public void reconcile() {
+        if (!running) {
+            return;
+        }
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile public articles, keeping the current ones", e);
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the public articles in the database and returns how many
+     * articles that corrected.
+     */
+    int reload() {
+        reloadLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            setReplay(new ArrayList<>());
+            PublicArticleSnapshot loaded;
+            try {
+                PublicArticleSnapshot current = snapshot;
+                loaded = current.size() == 0 ? loadAll() : loadChanged(current);
+            } catch (RuntimeException e) {
+                setReplay(null);
+                throw e;
+            }
+            int corrections;
+            writeLock.lock();
+            try {
+                for (UnaryOperator<PublicArticleSnapshot> change : replay) {
+                    loaded = change.apply(loaded);
+                }
+                replay = null;
+                corrections = snapshot.differences(loaded);
+                snapshot = loaded;
+            } finally {
+                writeLock.unlock();
+            }
+            if (running && corrections > 0) {
+                correctionCounter.increment(corrections);
+                log.info("Reconciliation corrected {} public articles", corrections);
+            }
+            log.debug("Public articles loaded: {} in {} ms", loaded.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return corrections;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private PublicArticleSnapshot loadAll() {
+        List<Article> articles = new ArrayList<>();
+        articleRepository.streamAll(null, true, articles::add);
+        return PublicArticleSnapshot.of(articles);
+    }
+
+    // Reuses the articles held at the version the database has, with the view count it has
+    private PublicArticleSnapshot loadChanged(PublicArticleSnapshot current) {
+        List<Article> articles = new ArrayList<>(current.size());
+        List<Long> changed = new ArrayList<>();
+        articleRepository.streamPublicStamps(stamp -> {
+            Article held = current.find(stamp.getArticleId());
+            if (held == null || !Objects.equals(held.getVersion(), stamp.getVersion())) {
+                changed.add(stamp.getArticleId());
+            } else if (held.getViews() != stamp.getViews()) {
+                articles.add(held.toBuilder().views(stamp.getViews()).build());
+            } else {
+                articles.add(held);
+            }
+        });
+        for (int from = 0; from < changed.size(); from += RELOAD_CHUNK_SIZE) {
+            articles.addAll(articleRepository.findAllWithTagsById(
+                    changed.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, changed.size()))));
+        }
+        return PublicArticleSnapshot.of(articles);
+    }
+
+    private void apply(UnaryOperator<PublicArticleSnapshot> change) {
+        writeLock.lock();
+        try {
+            snapshot = change.apply(snapshot);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void setReplay(List<UnaryOperator<PublicArticleSnapshot>> changes) {
+        writeLock.lock();
+        try {
+            replay = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aziz.library.infrastructure.adapter.readmodel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import com.aziz.library.domain.model.Article;
+
+/**
+ * An immutable set of public articles sorted by id, with the ids in a parallel array for binary
+ * search. Changing it makes a new snapshot and leaves this one as it was, so it can be read
+ * without locks while it is being replaced.
+ */
+final class PublicArticleSnapshot {
+
+    static final PublicArticleSnapshot EMPTY = new PublicArticleSnapshot(new long[0], new Article[0]);
+
+    private final long[] ids;
+    private final Article[] articles;
+    private final List<Article> view;
+
+    private PublicArticleSnapshot(long[] ids, Article[] articles) {
+        this.ids = ids;
+        this.articles = articles;
+        this.view = List.of(articles);
+    }
+
+    // Non-public articles are left out; ids are expected to be distinct
+    static PublicArticleSnapshot of(List<Article> loaded) {
+        Article[] articles = loaded.stream()
+                .filter(Article::isPublic)
+                .sorted(Comparator.comparing(Article::getId))
+                .toArray(Article[]::new);
+        long[] ids = new long[articles.length];
+        for (int i = 0; i < articles.length; i++) {
+            ids[i] = articles[i].getId();
+        }
+        return new PublicArticleSnapshot(ids, articles);
+    }
+
+    List<Article> articles() {
+        return view;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    Article find(long articleId) {
+        int position = Arrays.binarySearch(ids, articleId);
+        return position >= 0 ? articles[position] : null;
+    }
+
+    /**
+     * This snapshot with the article added or replaced if it is public, removed if not.
+     */
+    PublicArticleSnapshot with(Article article) {
+        if (!article.isPublic()) {
+            return without(article.getId());
+        }
+        int position = Arrays.binarySearch(ids, article.getId());
+        if (position >= 0) {
+            Article[] replaced = articles.clone();
+            replaced[position] = article;
+            return new PublicArticleSnapshot(ids, replaced);
+        }
+        int insertAt = -position - 1;
+        long[] newIds = new long[ids.length + 1];
+        Article[] newArticles = new Article[articles.length + 1];
+        System.arraycopy(ids, 0, newIds, 0, insertAt);
+        System.arraycopy(articles, 0, newArticles, 0, insertAt);
+        newIds[insertAt] = article.getId();
+        newArticles[insertAt] = article;
+        System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+        System.arraycopy(articles, insertAt, newArticles, insertAt + 1, articles.length - insertAt);
+        return new PublicArticleSnapshot(newIds, newArticles);
+    }
+
+    PublicArticleSnapshot without(long articleId) {
+        int position = Arrays.binarySearch(ids, articleId);
+        if (position < 0) {
+            return this;
+        }
+        long[] newIds = new long[ids.length - 1];
+        Article[] newArticles = new Article[articles.length - 1];
+        System.arraycopy(ids, 0, newIds, 0, position);
+        System.arraycopy(articles, 0, newArticles, 0, position);
+        System.arraycopy(ids, position + 1, newIds, position, ids.length - position - 1);
+        System.arraycopy(articles, position + 1, newArticles, position, articles.length - position - 1);
+        return new PublicArticleSnapshot(newIds, newArticles);
+    }
+
+    /**
+     * How many articles are in only one of the snapshots or at different versions in each. View
+     * counts, which change without a new version, are not compared.
+     */
+    int differences(PublicArticleSnapshot other) {
+        int differences = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ids.length && j < other.ids.length) {
+            if (ids[i] < other.ids[j]) {
+                differences++;
+                i++;
+            } else if (ids[i] > other.ids[j]) {
+                differences++;
+                j++;
+            } else {
+                if (!Objects.equals(articles[i].getVersion(), other.articles[j].getVersion())) {
+                    differences++;
+                }
+                i++;
+                j++;
+            }
+        }
+        return differences + (ids.length - i) + (other.ids.length - j);
+    }
+}
@@ -0,0 +1,172 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.TagFilterResult;
+import com.aziz.library.domain.port.out.ArticleTagIndexPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves tag filters and facet counts from a {@link TagBitmapIndex} in memory, so tag listings run
+ * no joins against {@code article_tags}.
+ * <p>
+ * The index is loaded from the database on start and reloaded every
+ * {@code app.search.tag-index.refresh-interval} to pick up writes from other instances. This
+ * instance's writes apply once they commit; those committed while a reload is reading the tables
+ * are replayed onto the reloaded index before it replaces the current one.
+ */
+@Slf4j
+@Component
+public class ArticleTagIndexAdapter implements ArticleTagIndexPort, SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Filters share the read lock; changes and the swap after a reload take the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private TagBitmapIndex index = new TagBitmapIndex();
+    private List<Consumer<TagBitmapIndex>> replay;
+    private volatile boolean running;
+
+    public ArticleTagIndexAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public TagFilterResult filter(ArticleTagFilter filter) {
+        lock.readLock().lock();
+        try {
+            return index.filter(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Article article) {
+        long articleId = article.getId();
+        long authorId = article.getAuthorId();
+        boolean isPublic = article.isPublic();
+        List<String> tags = article.getTags() == null ? List.of() : List.copyOf(article.getTags());
+        TransactionCallbacks.afterCommit(() -> apply(target -> target.put(articleId, authorId, isPublic, tags)));
+    }
+
+    @Override
+    public void remove(Long articleId) {
+        TransactionCallbacks.afterCommit(() -> apply(target -> target.remove(articleId)));
+    }
+
+    @Override
+    public void start() {
+        reload();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server, so the index is complete when requests arrive
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.tag-index.refresh-interval:300000}",
+            initialDelayString = "${app.search.tag-index.refresh-interval:300000}")
+    public void refresh() {
+        if (!running) {
+            return;
+        }
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Could not reload the tag index, keeping the current one", e);
+        }
+    }
+
+    void reload() {
+        reloadLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            setReplay(new ArrayList<>());
+            TagBitmapIndex loaded;
+            try {
+                loaded = load();
+            } catch (RuntimeException e) {
+                setReplay(null);
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                replay.forEach(change -> change.accept(loaded));
+                replay = null;
+                index = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Tag index loaded with {} articles and {} tags in {} ms",
+                    loaded.size(), loaded.tagCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private TagBitmapIndex load() {
+        Map<Long, List<String>> tagsByArticle = new HashMap<>();
+        jdbcTemplate.query("SELECT at.article_id, t.name FROM article_tags at JOIN tags t ON t.id = at.tag_id",
+                (RowCallbackHandler) rs -> tagsByArticle
+                        .computeIfAbsent(rs.getLong("article_id"), id -> new ArrayList<>())
+                        .add(rs.getString("name")));
+        TagBitmapIndex loaded = new TagBitmapIndex();
+        jdbcTemplate.query("SELECT id, author_id, is_public FROM articles", (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            loaded.put(id, rs.getLong("author_id"), rs.getBoolean("is_public"), tagsByArticle.getOrDefault(id, List.of()));
+        });
+        loaded.optimize();
+        return loaded;
+    }
+
+    private void apply(Consumer<TagBitmapIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setReplay(List<Consumer<TagBitmapIndex>> changes) {
+        lock.writeLock().lock();
+        try {
+            replay = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
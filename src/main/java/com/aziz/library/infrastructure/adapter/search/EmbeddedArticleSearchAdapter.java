@@ -0,0 +1,289 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleSearchHit;
+import com.aziz.library.domain.model.ArticleSearchQuery;
+import com.aziz.library.domain.port.out.ArticleSearchPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Article search from an {@link InvertedIndex} held in this JVM, for deployments that should not
+ * rely on PostgreSQL full-text search. Enabled with {@code app.search.engine=embedded}.
+ * <p>
+ * Saves and deletes are applied to the index after their transaction commits. On start the index
+ * is loaded from the last snapshot and brought up to date by comparing each article's
+ * {@code updated_at} with the indexed version, so only articles changed since the snapshot are
+ * read and analysed again. The same comparison runs periodically, which also picks up writes
+ * made by other instances, followed by a new snapshot when anything changed.
+ * <p>
+ * The index only returns article ids; titles and contents for the page are read from the
+ * database to build the highlights.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "embedded")
+public class EmbeddedArticleSearchAdapter implements ArticleSearchPort, SmartLifecycle {
+
+    private static final int RECONCILE_PAGE_SIZE = 5000;
+    // Deleted entries are compacted away once they make up this share of the index
+    private static final double COMPACT_RATIO = 0.2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path snapshotPath;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean running;
+
+    public EmbeddedArticleSearchAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.search.embedded.snapshot-path:./data/search-index.bin}") Path snapshotPath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @Override
+    public List<ArticleSearchHit> search(ArticleSearchQuery query) {
+        InvertedIndex.Query parsed = InvertedIndex.Query.parse(query.getText(), query.getAuthorId(), query.isPublicOnly());
+        List<InvertedIndex.Result> results = index.search(parsed, query.getOffset(), query.getLimit());
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = results.stream().map(InvertedIndex.Result::articleId).toList();
+        Map<Long, ArticleSearchHit.ArticleSearchHitBuilder> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT id, title, content, author_id, is_public, created_at, updated_at FROM articles WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", (RowCallbackHandler) rs -> {
+                    String title = rs.getString("title");
+                    rows.put(rs.getLong("id"), ArticleSearchHit.builder()
+                            .id(rs.getLong("id"))
+                            .title(title)
+                            .titleHighlight(SearchHighlighter.highlight(title, parsed.required()))
+                            .snippet(SearchHighlighter.snippet(rs.getString("content"), parsed.required()))
+                            .authorId(rs.getLong("author_id"))
+                            .isPublic(rs.getBoolean("is_public"))
+                            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                            .updatedAt(rs.getObject("updated_at", LocalDateTime.class)));
+                }, ids.toArray());
+
+        // Articles deleted since they were ranked are skipped
+        List<ArticleSearchHit> hits = new ArrayList<>(results.size());
+        for (InvertedIndex.Result result : results) {
+            ArticleSearchHit.ArticleSearchHitBuilder row = rows.get(result.articleId());
+            if (row != null) {
+                hits.add(row.rank(result.score()).build());
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public void index(Article article) {
+        InvertedIndex.Document document = new InvertedIndex.Document(article.getId(), article.getAuthorId(),
+                article.isPublic(), versionOf(article.getUpdatedAt()), article.getTitle(), article.getContent());
+        TransactionCallbacks.afterCommit(() -> {
+            if (index.add(document)) {
+                dirty.set(true);
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long articleId) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (index.remove(articleId)) {
+                dirty.set(true);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        long startedAt = System.nanoTime();
+        InvertedIndex loaded = loadSnapshot();
+        if (loaded != null) {
+            index = loaded;
+        }
+        int changed = reconcile();
+        if (changed > 0 || loaded == null) {
+            saveSnapshot();
+        }
+        running = true;
+        log.info("Search index ready with {} articles ({} re-indexed) in {} ms",
+                index.size(), changed, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (dirty.get()) {
+            saveSnapshot();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server, so the index is complete when requests arrive and is saved after the last one
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.embedded.refresh-interval:300000}",
+            initialDelayString = "${app.search.embedded.refresh-interval:300000}")
+    public void refresh() {
+        if (!running) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.warn("Could not compare the search index with the articles table", e);
+        }
+        if (index.deletedCount() > index.size() * COMPACT_RATIO) {
+            index.compact();
+            dirty.set(true);
+        }
+        if (dirty.get()) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Re-indexes every article whose {@code updated_at} differs from the indexed version and
+     * removes indexed articles that no longer exist. Returns how many articles changed.
+     */
+    int reconcile() {
+        refreshLock.lock();
+        try {
+            Map<Long, Long> unseen = index.versions();
+            int changed = 0;
+            long lastId = 0;
+            while (true) {
+                List<long[]> page = jdbcTemplate.query(
+                        "SELECT id, updated_at FROM articles WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new long[] {rs.getLong("id"), versionOf(rs.getObject("updated_at", LocalDateTime.class))},
+                        lastId, RECONCILE_PAGE_SIZE);
+                List<Long> stale = new ArrayList<>();
+                for (long[] row : page) {
+                    Long indexed = unseen.remove(row[0]);
+                    if (indexed == null || indexed != row[1]) {
+                        stale.add(row[0]);
+                    }
+                }
+                changed += reindex(stale);
+                if (page.size() < RECONCILE_PAGE_SIZE) {
+                    break;
+                }
+                lastId = page.get(page.size() - 1)[0];
+            }
+            for (Long articleId : unseen.keySet()) {
+                if (index.remove(articleId)) {
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                dirty.set(true);
+            }
+            return changed;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private int reindex(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return 0;
+        }
+        List<InvertedIndex.Document> documents = jdbcTemplate.query(
+                "SELECT id, title, content, author_id, is_public, updated_at FROM articles WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(articleIds.size(), "?")) + ")",
+                (rs, rowNum) -> new InvertedIndex.Document(rs.getLong("id"), rs.getLong("author_id"),
+                        rs.getBoolean("is_public"), versionOf(rs.getObject("updated_at", LocalDateTime.class)),
+                        rs.getString("title"), rs.getString("content")),
+                articleIds.toArray());
+        int changed = 0;
+        for (InvertedIndex.Document document : documents) {
+            if (index.add(document)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private InvertedIndex loadSnapshot() {
+        if (!Files.isReadable(snapshotPath)) {
+            log.info("No search index snapshot at {}, indexing all articles", snapshotPath);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            return InvertedIndex.readFrom(in);
+        } catch (IOException e) {
+            log.warn("Could not read search index snapshot {}, indexing all articles", snapshotPath, e);
+            return null;
+        }
+    }
+
+    private void saveSnapshot() {
+        refreshLock.lock();
+        try {
+            // Cleared first: a change made while writing marks the index dirty again for the next snapshot
+            dirty.set(false);
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeTo(out);
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write search index snapshot {}", snapshotPath, e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // updated_at to the microsecond, the precision PostgreSQL stores
+    static long versionOf(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0;
+        }
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,422 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * BM25-ranked inverted index over article titles and contents.
+ * <p>
+ * Articles are numbered internally in the order they are added, so every postings list stays
+ * sorted and a new article is only ever appended. Updating an article marks its old number deleted
+ * and appends it again; deleted numbers are skipped when searching and dropped by
+ * {@link #compact()}. Visibility filters are bitsets over the internal numbers, one for public
+ * articles and one per author.
+ * <p>
+ * Searches share a read lock and changes take the write lock.
+ */
+final class InvertedIndex {
+
+    // Title words count this many times towards term frequency and document length
+    static final int TITLE_WEIGHT = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MAGIC = 0x41534958;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * An article to index. {@code version} orders updates: an article is only re-indexed from a
+     * newer version than the one already indexed.
+     */
+    record Document(long articleId, long authorId, boolean isPublic, long version, String title, String content) {
+    }
+
+    /**
+     * Articles must contain every {@code required} term and none of the {@code excluded} ones.
+     */
+    record Query(List<String> required, List<String> excluded, Long authorId, boolean publicOnly) {
+
+        /**
+         * Words prefixed with {@code -} are excluded, all others are required. Quotes are ignored:
+         * the index has no word positions, so a phrase matches its words anywhere in the article.
+         */
+        static Query parse(String text, Long authorId, boolean publicOnly) {
+            Set<String> required = new LinkedHashSet<>();
+            Set<String> excluded = new LinkedHashSet<>();
+            for (String word : text.trim().split("\\s+")) {
+                String unquoted = word.replace("\"", "");
+                if (unquoted.startsWith("-") && unquoted.length() > 1) {
+                    excluded.addAll(TextAnalyzer.terms(unquoted.substring(1)));
+                } else {
+                    required.addAll(TextAnalyzer.terms(unquoted));
+                }
+            }
+            required.removeAll(excluded);
+            return new Query(List.copyOf(required), List.copyOf(excluded), authorId, publicOnly);
+        }
+    }
+
+    record Result(long articleId, double score) {
+    }
+
+    // Worst result first, so the head of a bounded queue is the one to evict
+    private static final Comparator<Result> WORST_FIRST = Comparator.comparingDouble(Result::score)
+            .thenComparingLong(Result::articleId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final Map<Long, Integer> docsByArticle = new HashMap<>();
+    private final Map<Long, BitSet> docsByAuthor = new HashMap<>();
+    private final BitSet liveDocs = new BitSet();
+    private final BitSet publicDocs = new BitSet();
+
+    private long[] articleIds = new long[1024];
+    private long[] authorIds = new long[1024];
+    private long[] versions = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private long liveLength;
+
+    /**
+     * Returns {@code false} without changing anything when the same or a newer version of the
+     * article is already indexed.
+     */
+    boolean add(Document document) {
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String term : TextAnalyzer.terms(document.title())) {
+            freqs.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TextAnalyzer.terms(document.content())) {
+            freqs.merge(term, 1, Integer::sum);
+        }
+        int docLength = freqs.values().stream().mapToInt(Integer::intValue).sum();
+        lock.writeLock().lock();
+        try {
+            Integer existing = docsByArticle.get(document.articleId());
+            if (existing != null) {
+                if (versions[existing] >= document.version()) {
+                    return false;
+                }
+                delete(existing);
+            }
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            articleIds[doc] = document.articleId();
+            authorIds[doc] = document.authorId();
+            versions[doc] = document.version();
+            docLengths[doc] = docLength;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingsList()).add(doc, entry.getValue());
+            }
+            markLive(doc, document.isPublic());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByArticle.get(articleId);
+            if (doc == null) {
+                return false;
+            }
+            delete(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Matching articles from {@code offset}, best first; equal scores put the newer article first.
+     */
+    List<Result> search(Query query, int offset, int limit) {
+        if (query.required().isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet authorDocs = null;
+            if (query.authorId() != null) {
+                authorDocs = docsByAuthor.get(query.authorId());
+                if (authorDocs == null) {
+                    return List.of();
+                }
+            }
+            List<PostingsList> lists = new ArrayList<>();
+            for (String term : query.required()) {
+                PostingsList list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Driving the intersection from the rarest term decodes the fewest postings
+            lists.sort(Comparator.comparingInt(PostingsList::docFreq));
+
+            int liveCount = docsByArticle.size();
+            double avgLength = liveCount == 0 ? 1 : Math.max(1.0, (double) liveLength / liveCount);
+            int terms = lists.size();
+            PostingsList.Cursor[] cursors = new PostingsList.Cursor[terms];
+            double[] idf = new double[terms];
+            for (int i = 0; i < terms; i++) {
+                cursors[i] = lists.get(i).cursor();
+                // Postings still count deleted articles until the next compaction
+                int df = Math.min(lists.get(i).docFreq(), liveCount);
+                idf[i] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            }
+            List<PostingsList.Cursor> exclusions = new ArrayList<>();
+            for (String term : query.excluded()) {
+                PostingsList list = postings.get(term);
+                if (list != null) {
+                    exclusions.add(list.cursor());
+                }
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<Result> top = new PriorityQueue<>(WORST_FIRST);
+            PostingsList.Cursor lead = cursors[0];
+            int doc = lead.next();
+            while (doc != PostingsList.NO_MORE_DOCS) {
+                int candidate = doc;
+                for (int i = 1; i < terms && candidate == doc; i++) {
+                    candidate = cursors[i].advance(doc);
+                }
+                if (candidate == PostingsList.NO_MORE_DOCS) {
+                    break;
+                }
+                if (candidate != doc) {
+                    doc = lead.advance(candidate);
+                    continue;
+                }
+                if (isVisible(doc, authorDocs, query.publicOnly()) && !isExcluded(doc, exclusions)) {
+                    double lengthNorm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    double score = 0;
+                    for (int i = 0; i < terms; i++) {
+                        int freq = cursors[i].freq();
+                        score += idf[i] * freq * (K1 + 1) / (freq + lengthNorm);
+                    }
+                    Result result = new Result(articleIds[doc], score);
+                    if (top.size() < wanted) {
+                        top.add(result);
+                    } else if (WORST_FIRST.compare(result, top.peek()) > 0) {
+                        top.poll();
+                        top.add(result);
+                    }
+                }
+                doc = lead.next();
+            }
+
+            List<Result> results = new ArrayList<>(top);
+            results.sort(WORST_FIRST.reversed());
+            return offset >= results.size() ? List.of() : results.subList(offset, results.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed version of every live article, keyed by article id.
+     */
+    Map<Long, Long> versions() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> result = new HashMap<>(docsByArticle.size() * 2);
+            docsByArticle.forEach((articleId, doc) -> result.put(articleId, versions[doc]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docsByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return docCount - docsByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Renumbers the live articles from zero and rewrites every postings list without the deleted
+     * ones. Relative order is kept, so results do not change.
+     */
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            int[] renumbered = new int[docCount];
+            int live = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (liveDocs.get(doc)) {
+                    renumbered[live] = doc;
+                    articleIds[live] = articleIds[doc];
+                    authorIds[live] = authorIds[doc];
+                    versions[live] = versions[doc];
+                    docLengths[live] = docLengths[doc];
+                    live++;
+                }
+            }
+            int[] newNumbers = new int[docCount];
+            Arrays.fill(newNumbers, -1);
+            for (int doc = 0; doc < live; doc++) {
+                newNumbers[renumbered[doc]] = doc;
+            }
+            for (Map.Entry<String, PostingsList> entry : new ArrayList<>(postings.entrySet())) {
+                PostingsList compacted = new PostingsList();
+                PostingsList.Cursor cursor = entry.getValue().cursor();
+                for (int doc = cursor.next(); doc != PostingsList.NO_MORE_DOCS; doc = cursor.next()) {
+                    if (newNumbers[doc] >= 0) {
+                        compacted.add(newNumbers[doc], cursor.freq());
+                    }
+                }
+                if (compacted.docFreq() == 0) {
+                    postings.remove(entry.getKey());
+                } else {
+                    postings.put(entry.getKey(), compacted);
+                }
+            }
+            BitSet wasPublic = (BitSet) publicDocs.clone();
+            BitSet allLive = new BitSet(live);
+            allLive.set(0, live);
+            docCount = live;
+            rebuildLookups(allLive, doc -> wasPublic.get(renumbered[doc]));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(docCount);
+            for (int doc = 0; doc < docCount; doc++) {
+                out.writeLong(articleIds[doc]);
+                out.writeLong(authorIds[doc]);
+                out.writeLong(versions[doc]);
+                out.writeInt(docLengths[doc]);
+                out.writeBoolean(liveDocs.get(doc));
+                out.writeBoolean(publicDocs.get(doc));
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingsList> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static InvertedIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a search index snapshot of format " + FORMAT_VERSION);
+        }
+        InvertedIndex index = new InvertedIndex();
+        int docCount = in.readInt();
+        index.ensureCapacity(docCount);
+        BitSet live = new BitSet(docCount);
+        BitSet isPublic = new BitSet(docCount);
+        for (int doc = 0; doc < docCount; doc++) {
+            index.articleIds[doc] = in.readLong();
+            index.authorIds[doc] = in.readLong();
+            index.versions[doc] = in.readLong();
+            index.docLengths[doc] = in.readInt();
+            live.set(doc, in.readBoolean());
+            isPublic.set(doc, in.readBoolean());
+        }
+        int termCount = in.readInt();
+        for (int i = 0; i < termCount; i++) {
+            index.postings.put(in.readUTF(), PostingsList.readFrom(in));
+        }
+        index.docCount = docCount;
+        index.rebuildLookups(live, isPublic::get);
+        return index;
+    }
+
+    private void rebuildLookups(BitSet live, IntPredicate isPublic) {
+        docsByArticle.clear();
+        docsByAuthor.clear();
+        liveDocs.clear();
+        publicDocs.clear();
+        liveLength = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0 && doc < docCount; doc = live.nextSetBit(doc + 1)) {
+            markLive(doc, isPublic.test(doc));
+        }
+    }
+
+    private void markLive(int doc, boolean isPublic) {
+        docsByArticle.put(articleIds[doc], doc);
+        docsByAuthor.computeIfAbsent(authorIds[doc], a -> new BitSet()).set(doc);
+        liveDocs.set(doc);
+        if (isPublic) {
+            publicDocs.set(doc);
+        }
+        liveLength += docLengths[doc];
+    }
+
+    private void delete(int doc) {
+        docsByArticle.remove(articleIds[doc]);
+        BitSet authorDocs = docsByAuthor.get(authorIds[doc]);
+        authorDocs.clear(doc);
+        if (authorDocs.isEmpty()) {
+            docsByAuthor.remove(authorIds[doc]);
+        }
+        liveDocs.clear(doc);
+        publicDocs.clear(doc);
+        liveLength -= docLengths[doc];
+    }
+
+    private boolean isVisible(int doc, BitSet authorDocs, boolean publicOnly) {
+        return liveDocs.get(doc)
+                && (authorDocs == null || authorDocs.get(doc))
+                && (!publicOnly || publicDocs.get(doc));
+    }
+
+    private static boolean isExcluded(int doc, List<PostingsList.Cursor> exclusions) {
+        for (PostingsList.Cursor cursor : exclusions) {
+            if (cursor.advance(doc) == doc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > articleIds.length) {
+            int newLength = Math.max(capacity, articleIds.length * 2);
+            articleIds = Arrays.copyOf(articleIds, newLength);
+            authorIds = Arrays.copyOf(authorIds, newLength);
+            versions = Arrays.copyOf(versions, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The documents containing one term, in increasing document order, stored as variable-byte
+ * encoded pairs of (gap from the previous document, term frequency). Most gaps and frequencies fit
+ * in one byte, so a posting takes about two bytes instead of eight. Documents can only be appended
+ * with ids above every id already in the list.
+ */
+final class PostingsList {
+
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    private byte[] data;
+    private int length;
+    private int docFreq;
+    private int lastDoc = -1;
+
+    PostingsList() {
+        this.data = new byte[8];
+    }
+
+    private PostingsList(byte[] data, int docFreq, int lastDoc) {
+        this.data = data;
+        this.length = data.length;
+        this.docFreq = docFreq;
+        this.lastDoc = lastDoc;
+    }
+
+    void add(int doc, int freq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Document " + doc + " is not after " + lastDoc);
+        }
+        writeVInt(doc - lastDoc);
+        writeVInt(freq);
+        lastDoc = doc;
+        docFreq++;
+    }
+
+    int docFreq() {
+        return docFreq;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(docFreq);
+        out.writeInt(lastDoc);
+        out.writeInt(length);
+        out.write(data, 0, length);
+    }
+
+    static PostingsList readFrom(DataInput in) throws IOException {
+        int docFreq = in.readInt();
+        int lastDoc = in.readInt();
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return new PostingsList(data, docFreq, lastDoc);
+    }
+
+    private void writeVInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Decodes the list front to back. Not safe to use while documents are being added.
+     */
+    final class Cursor {
+
+        private int position;
+        private int doc = -1;
+        private int freq;
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        int next() {
+            if (position >= length) {
+                return doc = NO_MORE_DOCS;
+            }
+            doc += readVInt();
+            freq = readVInt();
+            return doc;
+        }
+
+        int advance(int target) {
+            while (doc < target) {
+                next();
+            }
+            return doc;
+        }
+
+        private int readVInt() {
+            byte b = data[position++];
+            int value = b & 0x7F;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+            }
+            return value;
+        }
+    }
+}
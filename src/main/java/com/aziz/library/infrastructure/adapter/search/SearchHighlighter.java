@@ -0,0 +1,83 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Builds HTML-escaped titles and snippets with the words matching a query wrapped in
+ * {@code <mark>}, in the same form the PostgreSQL engine returns.
+ */
+final class SearchHighlighter {
+
+    static final int SNIPPET_WORDS = 30;
+
+    private static final String ELLIPSIS = "…";
+
+    private SearchHighlighter() {
+    }
+
+    static String highlight(String text, Collection<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        List<TextAnalyzer.Token> tokens = TextAnalyzer.tokenize(text);
+        return render(text, tokens, 0, tokens.size(), terms, 0, text.length());
+    }
+
+    /**
+     * The {@link #SNIPPET_WORDS}-word stretch of {@code text} with the most matching words, or its
+     * beginning when nothing matches.
+     */
+    static String snippet(String text, Collection<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        List<TextAnalyzer.Token> tokens = TextAnalyzer.tokenize(text);
+        if (tokens.size() <= SNIPPET_WORDS) {
+            return render(text, tokens, 0, tokens.size(), terms, 0, text.length());
+        }
+        int best = 0;
+        int bestMatches = -1;
+        int matches = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (isMatch(tokens.get(i), terms)) {
+                matches++;
+            }
+            if (i >= SNIPPET_WORDS && isMatch(tokens.get(i - SNIPPET_WORDS), terms)) {
+                matches--;
+            }
+            if (i >= SNIPPET_WORDS - 1 && matches > bestMatches) {
+                bestMatches = matches;
+                best = i - SNIPPET_WORDS + 1;
+            }
+        }
+        int end = best + SNIPPET_WORDS;
+        String body = render(text, tokens, best, end, terms,
+                tokens.get(best).start(), tokens.get(end - 1).end());
+        return (best > 0 ? ELLIPSIS + " " : "") + body + (end < tokens.size() ? " " + ELLIPSIS : "");
+    }
+
+    // Escapes text[from, to) and marks the matching tokens among tokens[first, last)
+    private static String render(String text, List<TextAnalyzer.Token> tokens, int first, int last,
+                                 Collection<String> terms, int from, int to) {
+        StringBuilder html = new StringBuilder(to - from + 16);
+        int position = from;
+        for (int i = first; i < last; i++) {
+            TextAnalyzer.Token token = tokens.get(i);
+            if (isMatch(token, terms)) {
+                html.append(HtmlUtils.htmlEscape(text.substring(position, token.start())))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(text.substring(token.start(), token.end())))
+                        .append("</mark>");
+                position = token.end();
+            }
+        }
+        return html.append(HtmlUtils.htmlEscape(text.substring(position, to))).toString();
+    }
+
+    private static boolean isMatch(TextAnalyzer.Token token, Collection<String> terms) {
+        return token.term() != null && terms.contains(token.term());
+    }
+}
@@ -0,0 +1,181 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.TagFacet;
+import com.aziz.library.domain.model.TagFilterResult;
+import com.aziz.library.domain.model.TagMatch;
+
+/**
+ * For every tag, a compressed bitmap of the articles carrying it, plus bitmaps of all, public and
+ * per-author articles for visibility. A filter is a handful of bitmap ANDs and ORs, and a page of
+ * the newest matches is read straight off the result by rank. Article ids are stored as ints.
+ * <p>
+ * Not thread-safe; {@link ArticleTagIndexAdapter} guards it.
+ */
+final class TagBitmapIndex {
+
+    private static final Comparator<TagFacet> MOST_COMMON_FIRST = Comparator.comparingLong(TagFacet::getCount).reversed()
+            .thenComparing(TagFacet::getName);
+
+    // Tags are numbered on first use so facet counting can use an array instead of a map
+    private final Map<String, Integer> tagNumbers = new HashMap<>();
+    private final List<String> tagNames = new ArrayList<>();
+    private final List<RoaringBitmap> articlesByTag = new ArrayList<>();
+    private final Map<Long, RoaringBitmap> articlesByAuthor = new HashMap<>();
+    // Indexed by article id, so facet counting walks the matches without map lookups
+    private long[] authorIds = new long[0];
+    private int[][] tagsByArticle = new int[0][];
+    private final RoaringBitmap allArticles = new RoaringBitmap();
+    private final RoaringBitmap publicArticles = new RoaringBitmap();
+
+    void put(long articleId, long authorId, boolean isPublic, Collection<String> tags) {
+        int id = Math.toIntExact(articleId);
+        remove(articleId);
+        int[] numbers = tags.stream().mapToInt(this::tagNumber).toArray();
+        if (id >= tagsByArticle.length) {
+            int capacity = Math.max(id + 1, tagsByArticle.length + (tagsByArticle.length >> 1));
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            tagsByArticle = Arrays.copyOf(tagsByArticle, capacity);
+        }
+        authorIds[id] = authorId;
+        tagsByArticle[id] = numbers;
+        allArticles.add(id);
+        if (isPublic) {
+            publicArticles.add(id);
+        }
+        articlesByAuthor.computeIfAbsent(authorId, a -> new RoaringBitmap()).add(id);
+        for (int tag : numbers) {
+            articlesByTag.get(tag).add(id);
+        }
+    }
+
+    void remove(long articleId) {
+        int id = Math.toIntExact(articleId);
+        if (id >= tagsByArticle.length || tagsByArticle[id] == null) {
+            return;
+        }
+        int[] numbers = tagsByArticle[id];
+        tagsByArticle[id] = null;
+        allArticles.remove(id);
+        publicArticles.remove(id);
+        RoaringBitmap authorArticles = articlesByAuthor.get(authorIds[id]);
+        authorArticles.remove(id);
+        if (authorArticles.isEmpty()) {
+            articlesByAuthor.remove(authorIds[id]);
+        }
+        for (int tag : numbers) {
+            articlesByTag.get(tag).remove(id);
+        }
+    }
+
+    int size() {
+        return allArticles.getCardinality();
+    }
+
+    int tagCount() {
+        return (int) articlesByTag.stream().filter(articles -> !articles.isEmpty()).count();
+    }
+
+    // Converts long runs of consecutive ids to run containers after a bulk load
+    void optimize() {
+        allArticles.runOptimize();
+        publicArticles.runOptimize();
+        articlesByAuthor.values().forEach(RoaringBitmap::runOptimize);
+        articlesByTag.forEach(RoaringBitmap::runOptimize);
+    }
+
+    TagFilterResult filter(ArticleTagFilter filter) {
+        RoaringBitmap visible = filter.getAuthorId() != null
+                ? articlesByAuthor.getOrDefault(filter.getAuthorId(), new RoaringBitmap())
+                : filter.isPublicOnly() ? publicArticles : allArticles;
+        RoaringBitmap matched = match(filter.getTags(), filter.getMatch(), visible);
+
+        long total = matched.getLongCardinality();
+        List<Long> page = new ArrayList<>();
+        // Newest first: the i-th newest is the (total - 1 - i)-th smallest id
+        for (long i = filter.getOffset(); i < total && page.size() < filter.getLimit(); i++) {
+            page.add((long) matched.select((int) (total - 1 - i)));
+        }
+        return new TagFilterResult(page, total, facets(matched, total, filter.getFacetLimit()));
+    }
+
+    private RoaringBitmap match(List<String> tags, TagMatch match, RoaringBitmap visible) {
+        if (tags == null || tags.isEmpty()) {
+            return visible;
+        }
+        if (match == TagMatch.ANY) {
+            RoaringBitmap any = new RoaringBitmap();
+            for (String tag : tags) {
+                RoaringBitmap articles = articles(tag);
+                if (articles != null) {
+                    any.or(articles);
+                }
+            }
+            any.and(visible);
+            return any;
+        }
+        RoaringBitmap all = visible;
+        for (String tag : tags) {
+            RoaringBitmap articles = articles(tag);
+            if (articles == null) {
+                return new RoaringBitmap();
+            }
+            all = RoaringBitmap.and(all, articles);
+        }
+        return all;
+    }
+
+    private List<TagFacet> facets(RoaringBitmap matched, long total, int limit) {
+        if (limit <= 0 || total == 0) {
+            return List.of();
+        }
+        long[] counts = new long[tagNames.size()];
+        // Counting article by article costs about four times as much per tag assignment as
+        // intersecting bitmaps, but only visits the matches
+        if (total <= allArticles.getLongCardinality() / 4) {
+            matched.forEach((int id) -> {
+                for (int tag : tagsByArticle[id]) {
+                    counts[tag]++;
+                }
+            });
+        } else {
+            for (int tag = 0; tag < counts.length; tag++) {
+                RoaringBitmap articles = articlesByTag.get(tag);
+                if (!articles.isEmpty()) {
+                    counts[tag] = RoaringBitmap.andCardinality(articles, matched);
+                }
+            }
+        }
+        List<TagFacet> facets = new ArrayList<>();
+        for (int tag = 0; tag < counts.length; tag++) {
+            if (counts[tag] > 0) {
+                facets.add(new TagFacet(tagNames.get(tag), counts[tag]));
+            }
+        }
+        facets.sort(MOST_COMMON_FIRST);
+        return facets.size() > limit ? List.copyOf(facets.subList(0, limit)) : facets;
+    }
+
+    private RoaringBitmap articles(String tag) {
+        Integer number = tagNumbers.get(tag);
+        return number == null ? null : articlesByTag.get(number);
+    }
+
+    private int tagNumber(String tag) {
+        return tagNumbers.computeIfAbsent(tag, t -> {
+            tagNames.add(t);
+            articlesByTag.add(new RoaringBitmap());
+            return tagNames.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into words of letters and digits, lower-cases them, drops English stop words and
+ * Porter-stems the rest, close to what PostgreSQL's {@code english} configuration does, so both
+ * search engines match the same words.
+ */
+final class TextAnalyzer {
+
+    // Longer runs are usually encoded data or URLs rather than words anyone searches for
+    static final int MAX_WORD_LENGTH = 40;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "above", "after", "again", "against", "all", "am", "an", "and", "any", "are",
+            "as", "at", "be", "because", "been", "before", "being", "below", "between", "both", "but",
+            "by", "can", "did", "do", "does", "doing", "don", "down", "during", "each", "few", "for",
+            "from", "further", "had", "has", "have", "having", "he", "her", "here", "hers", "herself",
+            "him", "himself", "his", "how", "i", "if", "in", "into", "is", "it", "its", "itself", "just",
+            "me", "more", "most", "my", "myself", "no", "nor", "not", "now", "of", "off", "on", "once",
+            "only", "or", "other", "our", "ours", "ourselves", "out", "over", "own", "s", "same", "she",
+            "should", "so", "some", "such", "t", "than", "that", "the", "their", "theirs", "them",
+            "themselves", "then", "there", "these", "they", "this", "those", "through", "to", "too",
+            "under", "until", "up", "very", "was", "we", "were", "what", "when", "where", "which",
+            "while", "who", "whom", "why", "will", "with", "you", "your", "yours", "yourself",
+            "yourselves");
+
+    /**
+     * A word as it appears in the text. {@code term} is its index form, or {@code null} for stop
+     * words and over-long words.
+     */
+    record Token(String term, int start, int end) {
+    }
+
+    private TextAnalyzer() {
+    }
+
+    static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            tokens.add(new Token(normalize(matcher.group()), matcher.start(), matcher.end()));
+        }
+        return tokens;
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (Token token : tokenize(text)) {
+            if (token.term() != null) {
+                terms.add(token.term());
+            }
+        }
+        return terms;
+    }
+
+    static String normalize(String word) {
+        if (word.length() > MAX_WORD_LENGTH) {
+            return null;
+        }
+        String lower = word.toLowerCase(Locale.ROOT);
+        return STOP_WORDS.contains(lower) ? null : PorterStemmer.stem(lower);
+    }
+}
@@ -0,0 +1,147 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.model.TrendingArticle;
+import com.aziz.library.domain.port.out.ArticleTrendingPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the most viewed articles of late in a {@link SpaceSavingTopK} fed with the views each
+ * {@link ArticleViewCounterAdapter} flush writes, and periodically publishes the leaders as an
+ * immutable list, so serving trending articles takes neither a lock nor a query.
+ * <p>
+ * Views lose half their weight every {@code app.articles.trending.half-life}. Rather than aging
+ * every counter, each new view weighs 2^(time since a landmark / half-life), which orders articles
+ * the same way; counters are scaled down and the landmark moved before the weights grow too large.
+ * <p>
+ * Publishing reads the author and visibility of each leader, so the list can be filtered for the
+ * current user, and drops articles that have since been deleted.
+ */
+@Slf4j
+@Component
+public class ArticleTrendingAdapter implements ArticleTrendingPort {
+
+    // Counters tracked; a tenfold margin over what is published keeps the leaders' counts accurate
+    static final int CAPACITY = 2000;
+    static final int PUBLISHED = 200;
+    private static final double RESCALE_EXPONENT = 32;
+
+    private static final String SELECT_SQL = "SELECT id, author_id, is_public FROM articles WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double halfLifeMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SpaceSavingTopK topK = new SpaceSavingTopK(CAPACITY);
+    private long landmark;
+    private volatile List<TrendingArticle> published = List.of();
+
+    @Autowired
+    public ArticleTrendingAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.articles.trending.half-life:6h}") Duration halfLife) {
+        this(jdbcTemplate, halfLife, System::currentTimeMillis);
+    }
+
+    ArticleTrendingAdapter(JdbcTemplate jdbcTemplate, Duration halfLife, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    @Override
+    public List<TrendingArticle> trending() {
+        return published;
+    }
+
+    /**
+     * Adds flushed view counts, keyed by article id.
+     */
+    void record(LongCountTable views) {
+        lock.lock();
+        try {
+            double weight = weight(clock.getAsLong());
+            views.forEach((articleId, count) -> topK.offer(articleId, count * weight));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.articles.trending.refresh-interval:30000}")
+    public void publish() {
+        List<SpaceSavingTopK.Entry> leaders;
+        double weight;
+        lock.lock();
+        try {
+            leaders = topK.top(PUBLISHED);
+            weight = weight(clock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+        if (leaders.isEmpty()) {
+            return;
+        }
+
+        Long[] ids = leaders.stream().map(SpaceSavingTopK.Entry::id).toArray(Long[]::new);
+        Map<Long, long[]> visibility = new HashMap<>(ids.length * 2);
+        try {
+            jdbcTemplate.query(SELECT_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                    (RowCallbackHandler) rs -> visibility.put(rs.getLong("id"),
+                            new long[] {rs.getLong("author_id"), rs.getBoolean("is_public") ? 1 : 0}));
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh trending articles, keeping the current list", e);
+            return;
+        }
+
+        List<TrendingArticle> trending = new ArrayList<>(leaders.size());
+        List<Long> deleted = new ArrayList<>();
+        for (SpaceSavingTopK.Entry leader : leaders) {
+            long[] article = visibility.get(leader.id());
+            if (article == null) {
+                deleted.add(leader.id());
+            } else {
+                // Divided by the current weight, the score reads as views weighted by age as of now
+                trending.add(new TrendingArticle(leader.id(), article[0], article[1] == 1, leader.count() / weight));
+            }
+        }
+        if (!deleted.isEmpty()) {
+            lock.lock();
+            try {
+                deleted.forEach(topK::remove);
+            } finally {
+                lock.unlock();
+            }
+        }
+        published = List.copyOf(trending);
+        log.debug("Published {} trending articles", trending.size());
+    }
+
+    // Called with the lock held
+    private double weight(long now) {
+        double exponent = (now - landmark) / halfLifeMillis;
+        if (exponent >= RESCALE_EXPONENT) {
+            topK.scale(Math.pow(2, -exponent));
+            landmark = now;
+            exponent = 0;
+        }
+        return Math.pow(2, exponent);
+    }
+}
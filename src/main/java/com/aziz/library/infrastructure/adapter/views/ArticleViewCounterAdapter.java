@@ -0,0 +1,226 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aziz.library.domain.port.out.ArticleViewCounterPort;
+import com.aziz.library.domain.port.out.ArticleViewRepositoryPort;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts article views in memory and periodically adds them to {@code articles.views} as one
+ * batch of updates, so reading an article never waits on a write. Like a {@code LongAdder}, views
+ * land in one of several stripes picked by the calling thread, each a {@link LongCountTable} with
+ * its own lock, so readers of even the same article rarely contend. A flush swaps every stripe for
+ * an empty table; counts from a failed flush are merged back and retried with the next one.
+ * Flushed views also feed {@link ArticleTrendingAdapter}.
+ * <p>
+ * Totals read back by each flush are kept for the articles viewed here, so an article served from
+ * the cache with the count it had when cached still shows its recent views. They only need to
+ * outlive the cached article, so they are kept in two generations: the current one collects every
+ * flush, and once it is older than the retention it replaces the previous one, whose articles not
+ * flushed since are forgotten.
+ */
+@Slf4j
+@Component
+public class ArticleViewCounterAdapter implements ArticleViewCounterPort, SmartLifecycle {
+
+    private static final int MAX_STRIPES = 64;
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private LongCountTable counts = new LongCountTable();
+    }
+
+    private final ArticleViewRepositoryPort viewRepository;
+    private final ArticleTrendingAdapter trending;
+    private final Stripe[] stripes;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long retentionMillis;
+    private final LongSupplier clock;
+    // Replaced rather than modified by a flush, so reads need no lock
+    private volatile Totals totals;
+    private volatile boolean running;
+
+    private final Counter failedCounter;
+
+    @Autowired
+    public ArticleViewCounterAdapter(ArticleViewRepositoryPort viewRepository, ArticleTrendingAdapter trending,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.articles.views.totals-retention:1h}") Duration totalsRetention) {
+        this(viewRepository, trending, meterRegistry, Runtime.getRuntime().availableProcessors() * 2,
+                totalsRetention, System::currentTimeMillis);
+    }
+
+    ArticleViewCounterAdapter(ArticleViewRepositoryPort viewRepository, ArticleTrendingAdapter trending,
+                              MeterRegistry meterRegistry, int stripeCount, Duration totalsRetention,
+                              LongSupplier clock) {
+        this.viewRepository = viewRepository;
+        this.trending = trending;
+        this.retentionMillis = totalsRetention.toMillis();
+        this.clock = clock;
+        this.totals = new Totals(new LongCountTable(), new LongCountTable(), clock.getAsLong());
+        // A power of two, so a stripe is picked with a mask
+        this.stripes = new Stripe[Integer.highestOneBit(Math.clamp(stripeCount, 1, MAX_STRIPES) * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        Gauge.builder("articles.views.pending", this, ArticleViewCounterAdapter::getPendingCount)
+                .description("Articles with views waiting to be flushed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("articles.views.flush.failed").register(meterRegistry);
+    }
+
+    @Override
+    public long recordView(Long articleId, long storedViews) {
+        Stripe stripe = stripes[stripeIndex()];
+        stripe.lock.lock();
+        try {
+            stripe.counts.add(articleId, 1);
+        } finally {
+            stripe.lock.unlock();
+        }
+        return Math.max(storedViews, totals.get(articleId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.articles.views.flush-interval:5000}")
+    public void flushPending() {
+        flush();
+    }
+
+    /**
+     * Writes the counted views and returns the number of articles updated.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            LongCountTable flushing = new LongCountTable();
+            for (Stripe stripe : stripes) {
+                drainInto(stripe, flushing);
+            }
+            if (flushing.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Long> increments = new HashMap<>(flushing.size() * 2);
+            flushing.forEach(increments::put);
+            try {
+                Map<Long, Long> stored = viewRepository.addViews(increments);
+                totals = totals.update(flushing, stored, clock.getAsLong(), retentionMillis);
+                trending.record(flushing);
+                log.debug("Flushed views of {} articles", increments.size());
+                return increments.size();
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Failed to flush views of {} articles, will retry", increments.size(), e);
+                restore(flushing);
+                return 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                pending += stripe.counts.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return pending;
+    }
+
+    private void drainInto(Stripe stripe, LongCountTable target) {
+        LongCountTable counts;
+        stripe.lock.lock();
+        try {
+            if (stripe.counts.isEmpty()) {
+                return;
+            }
+            counts = stripe.counts;
+            stripe.counts = new LongCountTable();
+        } finally {
+            stripe.lock.unlock();
+        }
+        counts.forEach(target::add);
+    }
+
+    private void restore(LongCountTable counts) {
+        Stripe stripe = stripes[0];
+        stripe.lock.lock();
+        try {
+            counts.forEach(stripe.counts::add);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Tables are never modified once published, so a rotation hands the current one over as is
+    private record Totals(LongCountTable current, LongCountTable previous, long currentSince) {
+
+        long get(long articleId) {
+            return Math.max(current.get(articleId), previous.get(articleId));
+        }
+
+        Totals update(LongCountTable flushed, Map<Long, Long> stored, long now, long retentionMillis) {
+            boolean rotate = now - currentSince >= retentionMillis;
+            LongCountTable updated = rotate ? new LongCountTable() : current.copy();
+            flushed.forEach((articleId, views) -> {
+                Long total = stored.get(articleId);
+                if (total != null) {
+                    updated.put(articleId, total);
+                } else {
+                    updated.remove(articleId);
+                }
+            });
+            return rotate ? new Totals(updated, current, now) : new Totals(updated, previous, currentSince);
+        }
+    }
+
+    private int stripeIndex() {
+        long hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (stripes.length - 1);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        int flushed = flush();
+        log.info("View counter stopped, flushed views of {} articles", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server, so the views of the last requests are flushed too
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from positive {@code long} keys to {@code long} counts held in two parallel arrays
+ * with linear probing, so counting allocates nothing per key and boxes nothing. Key 0 marks an
+ * empty slot.
+ * <p>
+ * Not thread-safe.
+ */
+final class LongCountTable {
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long count);
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    LongCountTable() {
+        this(MIN_CAPACITY);
+    }
+
+    private LongCountTable(int capacity) {
+        keys = new long[capacity];
+        counts = new long[capacity];
+    }
+
+    void add(long key, long delta) {
+        int slot = slot(key);
+        if (keys[slot] == key) {
+            counts[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    void put(long key, long count) {
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            add(key, count);
+        } else {
+            counts[slot] = count;
+        }
+    }
+
+    long get(long key) {
+        int slot = slot(key);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int hole = slot(key);
+        if (keys[hole] != key) {
+            return;
+        }
+        size--;
+        // Shift back later entries of the probe run that would otherwise no longer be found
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = home(keys[next], mask);
+            boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!reachable) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        counts[hole] = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    LongCountTable copy() {
+        LongCountTable copy = new LongCountTable(0);
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.counts = Arrays.copyOf(counts, counts.length);
+        copy.size = size;
+        return copy;
+    }
+
+    // The slot holding the key, or the empty slot where it would go
+    private int slot(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = home(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private static int home(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,131 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The Space-Saving heavy-hitters summary over weighted article ids: at most {@code capacity}
+ * counters, so memory stays fixed however many articles are viewed. An id without a counter takes
+ * over the smallest one, inheriting its count as possible overcount ({@code error}). Any id whose
+ * true weight exceeds total / capacity is guaranteed a counter.
+ * <p>
+ * Counters sit in a binary min-heap by count, with each id's heap position in a
+ * {@link LongCountTable}, so both updating and replacing a counter take O(log capacity).
+ * <p>
+ * Not thread-safe.
+ */
+final class SpaceSavingTopK {
+
+    record Entry(long id, double count, double error) {
+    }
+
+    private final long[] ids;
+    private final double[] counts;
+    private final double[] errors;
+    // Heap position + 1 by id, as 0 means absent
+    private final LongCountTable positions = new LongCountTable();
+    private int size;
+
+    SpaceSavingTopK(int capacity) {
+        ids = new long[capacity];
+        counts = new double[capacity];
+        errors = new double[capacity];
+    }
+
+    void offer(long id, double weight) {
+        int position = (int) positions.get(id) - 1;
+        if (position >= 0) {
+            counts[position] += weight;
+            siftDown(position);
+        } else if (size < ids.length) {
+            set(size, id, weight, 0);
+            siftUp(size++);
+        } else {
+            positions.remove(ids[0]);
+            set(0, id, counts[0] + weight, counts[0]);
+            siftDown(0);
+        }
+    }
+
+    void remove(long id) {
+        int position = (int) positions.get(id) - 1;
+        if (position < 0) {
+            return;
+        }
+        positions.remove(id);
+        size--;
+        if (position == size) {
+            return;
+        }
+        set(position, ids[size], counts[size], errors[size]);
+        siftDown(position);
+        siftUp(position);
+    }
+
+    // Multiplying every count by the same factor keeps the order
+    void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            counts[i] *= factor;
+            errors[i] *= factor;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(ids[i], counts[i], errors[i]));
+        }
+        entries.sort(Comparator.comparingDouble(Entry::count).reversed());
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        double count = counts[a];
+        double error = errors[a];
+        set(a, ids[b], counts[b], errors[b]);
+        set(b, id, count, error);
+    }
+
+    private void set(int position, long id, double count, double error) {
+        ids[position] = id;
+        counts[position] = count;
+        errors[position] = error;
+        positions.put(id, position + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.aziz.library.infrastructure.config;
+
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AsyncProperties.class)
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String AUDIT_EXECUTOR = "auditExecutor";
+    public static final String CACHE_MAINTENANCE_EXECUTOR = "cacheMaintenanceExecutor";
+
+    private final AsyncProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean(name = EMAIL_EXECUTOR)
+    public InstrumentedTaskExecutor emailExecutor() {
+        return new InstrumentedTaskExecutor("email", properties.getEmail(),
+                properties.getEmail().useVirtualThreads(properties.isVirtualThreads()), meterRegistry);
+    }
+
+    @Bean(name = AUDIT_EXECUTOR)
+    public InstrumentedTaskExecutor auditExecutor() {
+        return new InstrumentedTaskExecutor("audit", properties.getAudit(),
+                properties.getAudit().useVirtualThreads(properties.isVirtualThreads()), meterRegistry);
+    }
+
+    @Bean(name = CACHE_MAINTENANCE_EXECUTOR)
+    public InstrumentedTaskExecutor cacheMaintenanceExecutor() {
+        return new InstrumentedTaskExecutor("cache-maintenance", properties.getCacheMaintenance(),
+                properties.getCacheMaintenance().useVirtualThreads(properties.isVirtualThreads()), meterRegistry);
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+            log.error("Uncaught exception in async method {}.{}",
+                    method.getDeclaringClass().getSimpleName(), method.getName(), ex);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.aziz.library.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.async")
+public class AsyncProperties {
+
+    /**
+     * Run every workload executor on virtual threads instead of a bounded platform thread pool.
+     */
+    private boolean virtualThreads = false;
+
+    private Pool email = new Pool(2, 4, 500, SaturationPolicy.CALLER_RUNS);
+    private Pool audit = new Pool(1, 2, 1000, SaturationPolicy.CALLER_RUNS);
+    private Pool cacheMaintenance = new Pool(1, 2, 100, SaturationPolicy.DISCARD_OLDEST);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int corePoolSize;
+        private int maxPoolSize;
+        private int queueCapacity;
+        private SaturationPolicy saturationPolicy;
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * Per-workload override of {@link AsyncProperties#isVirtualThreads()}; inherits the global setting when unset.
+         */
+        private Boolean virtualThreads;
+
+        /**
+         * Maximum number of concurrently running tasks when running on virtual threads.
+         * Defaults to {@code maxPoolSize + queueCapacity} when not set.
+         */
+        private Integer concurrencyLimit;
+
+        public Pool(int corePoolSize, int maxPoolSize, int queueCapacity, SaturationPolicy saturationPolicy) {
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+            this.saturationPolicy = saturationPolicy;
+        }
+
+        public boolean useVirtualThreads(boolean globalDefault) {
+            return virtualThreads != null ? virtualThreads : globalDefault;
+        }
+
+        public int effectiveConcurrencyLimit() {
+            return concurrencyLimit != null ? concurrencyLimit : maxPoolSize + queueCapacity;
+        }
+    }
+
+    public enum SaturationPolicy {
+        /** Reject the task with a TaskRejectedException. */
+        ABORT,
+        /** Run the task on the submitting thread (blocks the caller when saturated). */
+        CALLER_RUNS,
+        /** Silently drop the new task. */
+        DISCARD,
+        /** Drop the oldest queued task and retry the new one. */
+        DISCARD_OLDEST
+    }
+
+}
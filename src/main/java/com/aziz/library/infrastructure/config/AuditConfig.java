@@ -0,0 +1,20 @@
+package com.aziz.library.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aziz.library.infrastructure.adapter.audit.AuditPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(AuditPolicyProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public AuditPolicy auditPolicy(AuditPolicyProperties properties, MeterRegistry meterRegistry) {
+        return new AuditPolicy(properties, meterRegistry);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.aziz.library.infrastructure.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.audit.policy")
+public class AuditPolicyProperties {
+
+    /**
+     * Actions that are always recorded, whatever their rule says. Meant for mutations and authentication.
+     */
+    private Set<String> alwaysOn = new HashSet<>();
+
+    /**
+     * Per-action sampling and deduplication rules. Actions without a rule are always recorded.
+     */
+    private Map<String, Rule> actions = new HashMap<>();
+
+    /**
+     * Number of slots in the deduplication table, rounded up to a power of two (8 bytes each).
+     */
+    private int dedupSlots = 65536;
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /**
+         * Fraction of events to keep, from 0.0 (none) to 1.0 (all).
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Record at most one event per action, user and entity within this window; unset disables deduplication.
+         */
+        private Duration dedupWindow;
+    }
+
+}
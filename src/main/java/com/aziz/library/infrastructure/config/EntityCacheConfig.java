@@ -0,0 +1,69 @@
+package com.aziz.library.infrastructure.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
+
+/**
+ * The heap-only JCache regions behind Hibernate's second-level cache. Every region is declared
+ * here, bounded and expiring, and Hibernate fails to start if an entity asks for one that is not
+ * ({@code hibernate.javax.cache.missing_cache_strategy: fail}), so nothing is cached unbounded.
+ * Hit, miss and put counts per region are published by Hibernate's statistics.
+ * <p>
+ * The regions are per instance and nothing tells one instance of another's writes, so entries live
+ * only seconds, and a read-only use case routed to a replica may cache what the replica has. They
+ * serve display lookups only; whatever decides access reads the database.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    private static final URI CACHE_MANAGER_URI = URI.create("urn:library:entity-cache");
+
+    // One entry per table; it must outlive the query results it validates, so it never expires
+    private static final long UPDATE_TIMESTAMPS_ENTRIES = 1_000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(UserEntity.CACHE_REGION, region(properties.getUsers()))
+                .withCache(UserEntity.NATURAL_ID_CACHE_REGION, region(properties.getUsers()))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(properties.getQueries()))
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(UPDATE_TIMESTAMPS_ENTRIES)))
+                .build();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(CACHE_MANAGER_URI, configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CacheConfiguration<Object, Object> region(EntityCacheProperties.Region region) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive()))
+                .build();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.aziz.library.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.entity-cache")
+public class EntityCacheProperties {
+
+    /**
+     * Users by id, and their ids by username; each region is bounded separately. Other instances'
+     * changes show here only once an entry expires.
+     */
+    private Region users = new Region(10_000, Duration.ofSeconds(10));
+
+    /**
+     * Cached query results, such as users by email.
+     */
+    private Region queries = new Region(1_000, Duration.ofSeconds(10));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        /** Least recently used entries are evicted beyond this many. */
+        private long maxEntries;
+        /** Bounds how long an entry is kept whether or not it changed. */
+        private Duration timeToLive;
+    }
+
+}
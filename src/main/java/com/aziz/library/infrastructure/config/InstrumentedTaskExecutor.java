@@ -0,0 +1,208 @@
+package com.aziz.library.infrastructure.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.aziz.library.infrastructure.config.AsyncProperties.Pool;
+import com.aziz.library.infrastructure.config.AsyncProperties.SaturationPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Named executor for a single async workload. Publishes queue depth, active count, rejections,
+ * queue wait and task duration under the {@code async.executor.*} meters tagged with the executor name.
+ */
+@Slf4j
+public class InstrumentedTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private final String name;
+    private final boolean virtualThreads;
+    private final AsyncTaskExecutor delegate;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer waitTimer;
+    private final Timer durationTimer;
+
+    public InstrumentedTaskExecutor(String name, Pool pool, boolean virtualThreads, MeterRegistry registry) {
+        this.name = name;
+        this.virtualThreads = virtualThreads;
+
+        this.rejected = Counter.builder("async.executor.rejected")
+                .tag("executor", name)
+                .description("Tasks rejected because the executor was saturated")
+                .register(registry);
+        this.waitTimer = Timer.builder("async.executor.task.wait")
+                .tag("executor", name)
+                .description("Time tasks spent queued before starting")
+                .register(registry);
+        this.durationTimer = Timer.builder("async.executor.task.duration")
+                .tag("executor", name)
+                .description("Task execution time")
+                .register(registry);
+        Gauge.builder("async.executor.queued", queued, AtomicInteger::get)
+                .tag("executor", name)
+                .register(registry);
+        Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                .tag("executor", name)
+                .register(registry);
+
+        this.delegate = virtualThreads ? createVirtualExecutor(pool) : createPlatformExecutor(pool);
+        log.info("Initialized {} executor ({} threads)", name, virtualThreads ? "virtual" : "platform");
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        InstrumentedTask instrumented = new InstrumentedTask(task);
+        queued.incrementAndGet();
+        try {
+            delegate.execute(instrumented);
+        } catch (TaskRejectedException e) {
+            if (virtualThreads) {
+                rejected.increment();
+            }
+            instrumented.discard();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public double getRejectedCount() {
+        return rejected.count();
+    }
+
+    private AsyncTaskExecutor createPlatformExecutor(Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setRejectedExecutionHandler(rejectionHandler(pool.getSaturationPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    private AsyncTaskExecutor createVirtualExecutor(Pool pool) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(pool.effectiveConcurrencyLimit());
+        // Virtual threads have no queue to shed from: ABORT rejects at the limit, every other policy waits
+        executor.setRejectTasksWhenLimitReached(pool.getSaturationPolicy() == SaturationPolicy.ABORT);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(SaturationPolicy policy) {
+        return (task, executor) -> {
+            rejected.increment();
+            log.warn("Executor {} saturated, applying {} policy", name, policy);
+
+            switch (policy) {
+                case CALLER_RUNS -> {
+                    if (executor.isShutdown()) {
+                        discard(task);
+                    } else {
+                        task.run();
+                    }
+                }
+                case DISCARD -> discard(task);
+                case DISCARD_OLDEST -> {
+                    if (executor.isShutdown()) {
+                        discard(task);
+                    } else {
+                        discard(executor.getQueue().poll());
+                        executor.execute(task);
+                    }
+                }
+                case ABORT -> {
+                    discard(task);
+                    throw new RejectedExecutionException("Executor " + name + " is saturated");
+                }
+            }
+        };
+    }
+
+    private void discard(Runnable task) {
+        if (task instanceof InstrumentedTask instrumented) {
+            instrumented.discard();
+        }
+    }
+
+    private final class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submittedAt = System.nanoTime();
+        // Run and discard can happen on different threads; whichever comes first counts
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+
+        private InstrumentedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            if (markDequeued()) {
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            }
+
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void discard() {
+            markDequeued();
+        }
+
+        private boolean markDequeued() {
+            if (dequeued.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.aziz.library.infrastructure.config;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the read-only transactions of use cases to read replicas and everything else to the
+ * primary. The connection is taken when a transaction runs its first statement, by which time
+ * whether it is read-only is known.
+ * <p>
+ * Only transactions begun in a use case are routed. Spring Data opens a read-only transaction
+ * around each repository call made outside one, and the in-memory indexes reload inside their
+ * own; both stay on the primary, so what is cached or indexed is never older than what was
+ * written. A replica is read from only while its lag, checked every
+ * {@code app.datasource.check-interval}, is within {@code max-lag}, and a user's reads stay on
+ * the primary for {@code read-your-writes-window} after they commit a write. With no replica
+ * available, reads go to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final Counter reads;
+        // Unavailable until the first check has seen it caught up
+        private volatile boolean available;
+        private volatile long lagMillis = -1;
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            this.reads = readCounter(name, meterRegistry);
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String routedPrefix;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long readYourWritesNanos;
+    private final Supplier<String> currentUser;
+    private final LongSupplier clock;
+
+    // When each user last committed a write, by System.nanoTime
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    /**
+     * @param replicas     replica data sources by name, in the order reads are spread over them
+     * @param routedPrefix package of the use cases whose read-only transactions are routed
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaProperties properties,
+                                    String routedPrefix, MeterRegistry meterRegistry) {
+        this(primary, replicas, properties, routedPrefix, ReplicaRoutingDataSource::authenticatedUser,
+                System::nanoTime, meterRegistry);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaProperties properties,
+                             String routedPrefix, Supplier<String> currentUser, LongSupplier clock,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.routedPrefix = routedPrefix;
+        this.lagQuery = properties.getLagQuery();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.readYourWritesNanos = properties.getReadYourWritesWindow().toNanos();
+        this.currentUser = currentUser;
+        this.clock = clock;
+        this.primaryReads = readCounter(PRIMARY, meterRegistry);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, meterRegistry);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMillis)
+                    .description("How far the replica is behind the primary, -1 when unknown")
+                    .baseUnit("milliseconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only use cases are sent to the replica")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.check-interval:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+        long now = clock.getAsLong();
+        lastWrites.values().removeIf(wroteAt -> now - wroteAt >= readYourWritesNanos);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    String route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                rememberWriter();
+            }
+            return PRIMARY;
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction == null || !transaction.startsWith(routedPrefix)) {
+            return PRIMARY;
+        }
+
+        String user = currentUser.get();
+        Long wroteAt = user != null ? lastWrites.get(user) : null;
+        if (wroteAt == null || clock.getAsLong() - wroteAt >= readYourWritesNanos) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.available) {
+                    replica.reads.increment();
+                    return replica.name;
+                }
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    private void rememberWriter() {
+        String user = currentUser.get();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(user, clock.getAsLong());
+            }
+        });
+    }
+
+    private void check(Replica replica) {
+        boolean available;
+        try {
+            Long lag = replica.jdbcTemplate.queryForObject(lagQuery, Long.class);
+            replica.lagMillis = lag != null ? lag : -1;
+            available = lag != null && lag <= maxLagMillis;
+            if (!available && replica.available) {
+                log.warn("Replica {} is {} ms behind the primary, no longer reading from it", replica.name, lag);
+            }
+        } catch (DataAccessException e) {
+            replica.lagMillis = -1;
+            available = false;
+            if (replica.available) {
+                log.warn("Replica {} could not be checked, no longer reading from it", replica.name, e);
+            }
+        }
+        if (available && !replica.available) {
+            log.info("Replica {} is {} ms behind the primary, reading from it", replica.name, replica.lagMillis);
+        }
+        replica.available = available;
+    }
+
+    private static Counter readCounter(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("db.reads.routed")
+                .description("Read-only use case transactions by the database they were sent to")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static String authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source {}", dataSource, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.aziz.library.infrastructure.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Security principal that carries the user's database id, so code running inside the request
+ * (such as auditing) does not have to look the user up again by name.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String username, String password, boolean enabled, boolean accountNonLocked,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, accountNonLocked, authorities);
+        this.id = id;
+    }
+
+}
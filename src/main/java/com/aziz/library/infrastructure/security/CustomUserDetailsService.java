@@ -26,15 +26,13 @@ public class CustomUserDetailsService implements UserDetailsService{
         User user = userRepository.findByUsernameOrEmail(identifier)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + identifier));
         
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(getAuthorities(user))
-                .accountExpired(false)
-                .accountLocked(user.isAccountLocked())
-                .credentialsExpired(false)
-                .disabled(!user.isEnabled())
-                .build();
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
+                !user.isAccountLocked(),
+                getAuthorities(user));
     }
     
     public Long getUserIdByUsername(String identifier) {
@@ -1,117 +1,106 @@
 package com.aziz.library.presentation.aspect;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.aziz.library.domain.port.in.AuditLogUseCase;
-import com.aziz.library.infrastructure.security.CustomUserDetailsService;
+import com.aziz.library.infrastructure.adapter.audit.AuditPolicy;
+import com.aziz.library.infrastructure.security.AuthenticatedUser;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Records an audit event for every controller method annotated with {@link Audited}. The
+ * annotation is resolved into {@link AuditMetadata} once per method at startup, and the user id
+ * comes from the {@link AuthenticatedUser} principal, so auditing adds no reflection or user
+ * lookup to the request.
+ */
 @Slf4j
 @Aspect
 @Component
 @RequiredArgsConstructor
-public class AuditLogAspect {
+public class AuditLogAspect implements SmartInitializingSingleton {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
 
     private final AuditLogUseCase auditLogUseCase;
-    private final CustomUserDetailsService userDetailsService;
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.ArticleController.createArticle(..))",
-        returning = "result"
-    )
-    public void logCreateArticle(JoinPoint joinPoint, Object result) {
-        logAction("CREATE_ARTICLE", "ARTICLE", "Article created");
-    }
+    private final AuditPolicy auditPolicy;
+    private final ApplicationContext applicationContext;
 
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.ArticleController.getAllArticles(..))",
-        returning = "result"
-    )
-    public void logGetAllArticle(JoinPoint joinPoint, Object result) {
-        logAction("GET_ALL_ARTICLE", "ARTICLE", "Article Retrieve");
-    }
+    private final Map<Method, AuditMetadata> metadata = new ConcurrentHashMap<>();
 
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.ArticleController.getArticleById(..))",
-        returning = "result"
-    )
-    public void logGetArticle(JoinPoint joinPoint, Object result) {
-        Object[] args = joinPoint.getArgs();
-        Long articleId = (Long) args[0];
-        logAction("GET_ARTICLE", "ARTICLE", "Article Retrieve: " + articleId);
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.ArticleController.updateArticle(..))",
-        returning = "result"
-    )
-    public void logUpdateArticle(JoinPoint joinPoint, Object result) {
-        Object[] args = joinPoint.getArgs();
-        Long articleId = (Long) args[0];
-        logAction("UPDATE_ARTICLE", "ARTICLE", "Article updated: " + articleId);
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.ArticleController.deleteArticle(..))"
-    )
-    public void logDeleteArticle(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        Long articleId = (Long) args[0];
-        logAction("DELETE_ARTICLE", "ARTICLE", "Article deleted: " + articleId);
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.UserController.createUser(..))",
-        returning = "result"
-    )
-    public void logCreateUser(JoinPoint joinPoint, Object result) {
-        logAction("CREATE_USER", "USER", "User created");
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.UserController.updateUser(..))",
-        returning = "result"
-    )
-    public void logUpdateUser(JoinPoint joinPoint, Object result) {
-        Object[] args = joinPoint.getArgs();
-        Long userId = (Long) args[0];
-        logAction("UPDATE_USER", "USER", "User updated: " + userId);
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.UserController.deleteUser(..))"
-    )
-    public void logDeleteUser(JoinPoint joinPoint) {
-        Object[] args = joinPoint.getArgs();
-        Long userId = (Long) args[0];
-        logAction("DELETE_USER", "USER", "User deleted: " + userId);
-    }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.presentation.controller.AuthController.login(..))"
-    )
-    public void logLogin(JoinPoint joinPoint) {
-        logAction("LOGIN", "AUTH", "User login attempt");
+    record AuditMetadata(String action, String entity, int idIndex, String details) {
+
+        static AuditMetadata of(Method method, Audited audited) {
+            int idIndex = -1;
+            if (!audited.idParam().isEmpty()) {
+                String[] names = PARAMETER_NAMES.getParameterNames(method);
+                for (int i = 0; names != null && i < names.length; i++) {
+                    if (names[i].equals(audited.idParam())) {
+                        idIndex = i;
+                    }
+                }
+                if (idIndex < 0 || method.getParameterTypes()[idIndex] != Long.class) {
+                    throw new IllegalStateException("@Audited idParam '" + audited.idParam()
+                            + "' is not a Long parameter of " + method);
+                }
+            }
+            return new AuditMetadata(audited.action(), emptyToNull(audited.entity()), idIndex,
+                    emptyToNull(audited.details()));
+        }
+
+        Long entityId(Object[] args) {
+            return idIndex >= 0 ? (Long) args[idIndex] : null;
+        }
+
+        String details(Long entityId) {
+            return details != null && entityId != null ? details + ": " + entityId : details;
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
     }
-    
-    @AfterReturning(
-        pointcut = "execution(* com.aziz.library.domain.service.AuthenticationService.register(..))"
-    )
-    public void logRegister(JoinPoint joinPoint) {
-        logAction("REGISTER", "AUTH", "User registration");
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Fail fast on a misconfigured annotation instead of on the first audited request
+        for (Object controller : applicationContext.getBeansWithAnnotation(RestController.class).values()) {
+            Class<?> type = AopUtils.getTargetClass(controller);
+            MethodIntrospector.selectMethods(type, (MethodIntrospector.MetadataLookup<Audited>) method ->
+                    AnnotatedElementUtils.findMergedAnnotation(method, Audited.class))
+                    .forEach((method, audited) -> metadata.put(method, AuditMetadata.of(method, audited)));
+        }
+        log.info("Audit enabled on {} controller methods", metadata.size());
     }
-    
-    private void logAction(String action, String entity, String details) {
+
+    @AfterReturning("@annotation(audited)")
+    public void audit(JoinPoint joinPoint, Audited audited) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        AuditMetadata meta = metadata.computeIfAbsent(method, m -> AuditMetadata.of(m, audited));
+        Long entityId = meta.entityId(joinPoint.getArgs());
+        
         try {
             HttpServletRequest request = getCurrentHttpRequest();
             if (request == null) {
@@ -120,22 +109,22 @@ public class AuditLogAspect {
             
             Long userId = getCurrentUserId();
             String ipAddress = getClientIpAddress(request);
+            if (!auditPolicy.shouldRecord(meta.action(), userId, entityId, ipAddress)) {
+                return;
+            }
             String userAgent = request.getHeader("User-Agent");
             
-            auditLogUseCase.logAction(userId, action, entity, null, details, ipAddress, userAgent);
+            auditLogUseCase.logAction(userId, meta.action(), meta.entity(), entityId, meta.details(entityId),
+                    ipAddress, userAgent);
         } catch (Exception e) {
-            log.error("Error logging audit action: {}", action, e);
+            log.error("Error logging audit action: {}", meta.action(), e);
         }
     }
     
     private Long getCurrentUserId() {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-                return userDetailsService.getUserIdByUsername(auth.getName());
-            }
-        } catch (Exception e) {
-            log.debug("Could not get current user ID", e);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
         }
         return null;
     }
@@ -0,0 +1,29 @@
+package com.aziz.library.presentation.aspect;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records an audit event after the annotated controller method returns normally.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    /** Audit action, for example {@code UPDATE_ARTICLE}. */
+    String action();
+
+    /** Type of the entity acted on, for example {@code ARTICLE}. */
+    String entity() default "";
+
+    /** Name of the {@code Long} parameter holding the entity id; its value is appended to the details. */
+    String idParam() default "";
+
+    /** Human-readable description stored with the event. */
+    String details() default "";
+
+}
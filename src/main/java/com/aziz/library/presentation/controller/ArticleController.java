@@ -1,24 +1,46 @@
 package com.aziz.library.presentation.controller;
 
+import com.aziz.library.application.dto.request.ArticlePatchRequest;
 import com.aziz.library.application.dto.request.ArticleRequest;
 import com.aziz.library.application.dto.response.ApiResponse;
+import com.aziz.library.application.dto.response.ArticleImportResponse;
 import com.aziz.library.application.dto.response.ArticleResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionSummaryResponse;
+import com.aziz.library.application.dto.response.ArticleSearchPageResponse;
+import com.aziz.library.application.dto.response.TaggedArticlePageResponse;
+import com.aziz.library.application.export.ArticleExportWriter;
+import com.aziz.library.application.importer.ArticleImportReader;
 import com.aziz.library.application.mapper.ArticleMapper;
+import com.aziz.library.domain.exception.ArticleVersionMismatchException;
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportResult;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleSearchPage;
+import com.aziz.library.domain.model.TagMatch;
+import com.aziz.library.domain.model.TaggedArticlePage;
 import com.aziz.library.domain.port.in.ArticleUseCase;
 import com.aziz.library.infrastructure.security.CustomUserDetailsService;
+import com.aziz.library.presentation.aspect.Audited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,12 +51,18 @@ import java.util.stream.Collectors;
 @Tag(name = "Articles", description = "Article management endpoints")
 public class ArticleController {
 
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final Pattern ZERO_QUALITY = Pattern.compile("q\\s*=\\s*0(\\.0*)?", Pattern.CASE_INSENSITIVE);
+
     private final ArticleUseCase articleUseCase;
     private final ArticleMapper articleMapper;
     private final CustomUserDetailsService userDetailsService;
+    private final ArticleImportReader articleImportReader;
+    private final ArticleExportWriter articleExportWriter;
     
     @PostMapping
     @Operation(summary = "Create article", description = "Create a new article (requires CONTRIBUTOR, EDITOR, or SUPER_ADMIN role)")
+    @Audited(action = "CREATE_ARTICLE", entity = "ARTICLE", details = "Article created")
     public ResponseEntity<ApiResponse<ArticleResponse>> createArticle(
             @Valid @RequestBody ArticleRequest request,
             Authentication authentication) {
@@ -50,25 +78,71 @@ public class ArticleController {
                 .body(ApiResponse.success("Article created successfully", response));
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import articles", description = "Create articles from NDJSON, one article request per line, authored by "
+            + "the current user. Invalid lines are skipped and reported by line number; the rest are stored in batches")
+    @Audited(action = "IMPORT_ARTICLES", entity = "ARTICLE", details = "Articles imported")
+    public ResponseEntity<ApiResponse<ArticleImportResponse>> importArticles(
+            InputStream body,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.info("Import articles by user: {}", currentUserId);
+        
+        ArticleImportResult result = articleUseCase.importArticles(articleImportReader.read(body), currentUserId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Articles imported", articleMapper.toImportResponse(result)));
+    }
+    
     @PutMapping("/{id}")
-    @Operation(summary = "Update article", description = "Update an existing article")
+    @Operation(summary = "Update article", description = "Update an existing article. With If-Match set to the ETag the article "
+            + "was read with, the update is refused with 412 if someone else has changed it since")
+    @Audited(action = "UPDATE_ARTICLE", entity = "ARTICLE", idParam = "id", details = "Article updated")
     public ResponseEntity<ApiResponse<ArticleResponse>> updateArticle(
             @PathVariable Long id,
             @Valid @RequestBody ArticleRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         
         Long currentUserId = getCurrentUserId(authentication);
         log.info("Update article {} by user: {}", id, currentUserId);
         
         Article article = articleMapper.toDomain(request);
+        article.setVersion(expectedVersion(ifMatch));
         Article updatedArticle = articleUseCase.updateArticle(id, article, currentUserId);
         ArticleResponse response = articleMapper.toResponse(updatedArticle);
         
-        return ResponseEntity.ok(ApiResponse.success("Article updated successfully", response));
+        return ResponseEntity.ok()
+                .eTag(etag(updatedArticle.getVersion()))
+                .body(ApiResponse.success("Article updated successfully", response));
+    }
+    
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch article", description = "Change only the fields sent, as a JSON merge patch (RFC 7396): omitted "
+            + "fields are kept and null tags removes every tag. Same permissions and If-Match handling as the update")
+    @Audited(action = "PATCH_ARTICLE", entity = "ARTICLE", idParam = "id", details = "Article patched")
+    public ResponseEntity<ApiResponse<ArticleResponse>> patchArticle(
+            @PathVariable Long id,
+            @Valid @RequestBody ArticlePatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.info("Patch article {} by user: {}", id, currentUserId);
+        
+        ArticlePatch patch = articleMapper.toPatch(request);
+        patch.setVersion(expectedVersion(ifMatch));
+        Article patchedArticle = articleUseCase.patchArticle(id, patch, currentUserId);
+        ArticleResponse response = articleMapper.toResponse(patchedArticle);
+        
+        return ResponseEntity.ok()
+                .eTag(etag(patchedArticle.getVersion()))
+                .body(ApiResponse.success("Article updated successfully", response));
     }
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete article", description = "Delete an article (EDITOR can delete own, SUPER_ADMIN can delete any)")
+    @Audited(action = "DELETE_ARTICLE", entity = "ARTICLE", idParam = "id", details = "Article deleted")
     public ResponseEntity<ApiResponse<Void>> deleteArticle(
             @PathVariable Long id,
             Authentication authentication) {
@@ -82,22 +156,73 @@ public class ArticleController {
     }
     
     @GetMapping("/{id}")
-    @Operation(summary = "Get article by ID", description = "Retrieve a specific article by its ID")
+    @Operation(summary = "Get article by ID", description = "Retrieve a specific article by its ID. The ETag changes with every update; "
+            + "with If-None-Match set to it, an unchanged article is answered with an empty 304")
+    @Audited(action = "GET_ARTICLE", entity = "ARTICLE", idParam = "id", details = "Article Retrieve")
     public ResponseEntity<ApiResponse<ArticleResponse>> getArticleById(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         
         Long currentUserId = getCurrentUserId(authentication);
         log.debug("Get article {} by user: {}", id, currentUserId);
         
+        // Revalidation needs only the version, which is cached apart from the article
+        if (ifNoneMatch != null) {
+            String etag = etag(articleUseCase.getArticleVersion(id, currentUserId));
+            if (anyETagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        
         Article article = articleUseCase.getArticleById(id, currentUserId);
         ArticleResponse response = articleMapper.toResponse(article);
         
-        return ResponseEntity.ok(ApiResponse.success("Article retrieved successfully", response));
+        return ResponseEntity.ok()
+                .eTag(etag(article.getVersion()))
+                .body(ApiResponse.success("Article retrieved successfully", response));
+    }
+    
+    @GetMapping("/{id}/revisions")
+    @Operation(summary = "List article revisions", description = "Earlier versions of an article, newest first, without their content. "
+            + "Pass the oldest version received as before to get the next page")
+    public ResponseEntity<ApiResponse<List<ArticleRevisionSummaryResponse>>> getArticleRevisions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Get revisions of article {} by user: {}", id, currentUserId);
+        
+        List<ArticleRevisionSummaryResponse> responses = articleUseCase.getArticleRevisions(id, before, limit, currentUserId).stream()
+                .map(articleMapper::toRevisionSummaryResponse)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(ApiResponse.success("Article revisions retrieved successfully", responses));
+    }
+    
+    @GetMapping("/{id}/revisions/{version}")
+    @Operation(summary = "Get article revision", description = "The article as it was at a version, its current one included. "
+            + "Versions are those of the article's ETag")
+    @Audited(action = "GET_ARTICLE_REVISION", entity = "ARTICLE", idParam = "id", details = "Article revision retrieved")
+    public ResponseEntity<ApiResponse<ArticleRevisionResponse>> getArticleRevision(
+            @PathVariable Long id,
+            @PathVariable long version,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Get revision {} of article {} by user: {}", version, id, currentUserId);
+        
+        ArticleRevision revision = articleUseCase.getArticleRevision(id, version, currentUserId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Article revision retrieved successfully",
+                articleMapper.toRevisionResponse(revision)));
     }
     
     @GetMapping
     @Operation(summary = "Get all articles", description = "Get all articles based on user's role and permissions")
+    @Audited(action = "GET_ALL_ARTICLE", entity = "ARTICLE", details = "Article Retrieve")
     public ResponseEntity<ApiResponse<List<ArticleResponse>>> getAllArticles(
             Authentication authentication) {
         
@@ -112,6 +237,91 @@ public class ArticleController {
         return ResponseEntity.ok(ApiResponse.success("Articles retrieved successfully", responses));
     }
     
+    @GetMapping("/search")
+    @Operation(summary = "Search articles", description = "Full-text search over article titles and content, best match first. "
+            + "Supports quoted phrases, OR and -term. Only articles the current user may view are returned")
+    public ResponseEntity<ApiResponse<ArticleSearchPageResponse>> searchArticles(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Search articles by user: {}", currentUserId);
+        
+        ArticleSearchPage results = articleUseCase.searchArticles(query, page, size, currentUserId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Articles found", articleMapper.toSearchPageResponse(results)));
+    }
+    
+    @GetMapping("/tagged")
+    @Operation(summary = "Filter articles by tags", description = "Articles carrying all (match=ALL) or any (match=ANY) of the tags, "
+            + "newest first, with counts of the most common tags among them. Without tags, every article the current user may view")
+    public ResponseEntity<ApiResponse<TaggedArticlePageResponse>> getArticlesByTags(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "ALL") TagMatch match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Filter articles by tags {} for user: {}", tags, currentUserId);
+        
+        TaggedArticlePage articles = articleUseCase.getArticlesByTags(tags, match, page, size, currentUserId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Articles retrieved successfully", articleMapper.toTaggedPageResponse(articles)));
+    }
+    
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending articles", description = "The most viewed articles of late that the current user may view, "
+            + "most popular first. Recent views count more than older ones; the ranking is refreshed every 30 seconds")
+    public ResponseEntity<ApiResponse<List<ArticleResponse>>> getTrendingArticles(
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Get trending articles for user: {}", currentUserId);
+        
+        List<ArticleResponse> responses = articleUseCase.getTrendingArticles(limit, currentUserId).stream()
+                .map(articleMapper::toResponse)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(ApiResponse.success("Trending articles retrieved successfully", responses));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export articles", description = "Stream every article the current user may view as NDJSON, oldest first, "
+            + "without loading them all. Compressed with gzip when the request's Accept-Encoding allows it")
+    @Audited(action = "EXPORT_ARTICLES", entity = "ARTICLE", details = "Articles exported")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Export articles by user: {}", currentUserId);
+        
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // Finished rather than closed, which would close the response stream under the container
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                articleExportWriter.write(compressed, sink -> articleUseCase.exportArticles(currentUserId, sink));
+                compressed.finish();
+            } else {
+                articleExportWriter.write(out, sink -> articleUseCase.exportArticles(currentUserId, sink));
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articles.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @GetMapping("/my-articles")
     @Operation(summary = "Get my articles", description = "Get all articles created by the current user")
     public ResponseEntity<ApiResponse<List<ArticleResponse>>> getMyArticles(
@@ -128,6 +338,53 @@ public class ArticleController {
         return ResponseEntity.ok(ApiResponse.success("My articles retrieved successfully", responses));
     }
     
+    // Strong ETag: the article's content and settings are identical whenever the version is
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+    
+    // If-None-Match compares weakly, so a W/ prefix is ignored
+    private static boolean anyETagMatches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // gzip listed without q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";", 2);
+            if (parts[0].trim().equalsIgnoreCase("gzip")
+                    && (parts.length == 1 || !ZERO_QUALITY.matcher(parts[1].trim()).matches())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // If-Match compares strongly, so only an ETag issued here, unaltered, can match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the mismatch below
+            }
+        }
+        throw new ArticleVersionMismatchException("If-Match must be a single ETag returned by this API");
+    }
+    
     private Long getCurrentUserId(Authentication authentication) {
         String username = authentication.getName();
         return userDetailsService.getUserIdByUsername(username);
@@ -1,9 +1,16 @@
 package com.aziz.library.presentation.controller;
 
 import com.aziz.library.application.dto.response.ApiResponse;
-import com.aziz.library.application.dto.response.AuditLogResponse;
+import com.aziz.library.application.dto.response.AuditLogPageResponse;
+import com.aziz.library.application.dto.response.AuditLogStatResponse;
+import com.aziz.library.application.export.AuditLogExportWriter;
 import com.aziz.library.application.mapper.AuditLogMapper;
-import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogPage;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
 import com.aziz.library.domain.port.in.AuditLogUseCase;
 import com.aziz.library.infrastructure.security.CustomUserDetailsService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,14 +19,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -30,67 +41,144 @@ import java.util.stream.Collectors;
 @Tag(name = "Audit Logs", description = "Audit log endpoints (SUPER_ADMIN only)")
 public class AuditLogController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     private final AuditLogUseCase auditLogUseCase;
     private final AuditLogMapper auditLogMapper;
     private final CustomUserDetailsService userDetailsService;
+    private final AuditLogExportWriter auditLogExportWriter;
     
     @GetMapping
-    @Operation(summary = "Get all audit logs", description = "Retrieve all audit logs (SUPER_ADMIN only)")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getAllLogs(
+    @Operation(summary = "Get audit logs", description = "Retrieve audit logs newest first, one page at a time, optionally filtered (SUPER_ADMIN only)")
+    public ResponseEntity<ApiResponse<AuditLogPageResponse>> getAllLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
             Authentication authentication) {
         
         Long currentUserId = getCurrentUserId(authentication);
-        log.debug("Get all audit logs by admin: {}", currentUserId);
+        log.debug("Get audit logs by admin: {}", currentUserId);
         
-        List<AuditLog> logs = auditLogUseCase.getAllLogs(currentUserId);
-        List<AuditLogResponse> responses = logs.stream()
-                .map(auditLogMapper::toResponse)
-                .collect(Collectors.toList());
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .entity(entity)
+                .start(start)
+                .end(end)
+                .build();
+        AuditLogPage page = auditLogUseCase.searchLogs(filter, AuditLogCursor.decode(cursor), limit, currentUserId);
         
         return ResponseEntity.ok(
-            ApiResponse.success("Audit logs retrieved successfully", responses)
+            ApiResponse.success("Audit logs retrieved successfully", auditLogMapper.toPageResponse(page))
         );
     }
     
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get logs by user", description = "Retrieve audit logs for a specific user (SUPER_ADMIN only)")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLogsByUser(
+    @Operation(summary = "Get logs by user", description = "Retrieve audit logs for a specific user, one page at a time (SUPER_ADMIN only)")
+    public ResponseEntity<ApiResponse<AuditLogPageResponse>> getLogsByUser(
             @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
             Authentication authentication) {
         
         Long currentUserId = getCurrentUserId(authentication);
         log.debug("Get audit logs for user {} by admin: {}", userId, currentUserId);
         
-        List<AuditLog> logs = auditLogUseCase.getLogsByUser(userId, currentUserId);
-        List<AuditLogResponse> responses = logs.stream()
-                .map(auditLogMapper::toResponse)
-                .collect(Collectors.toList());
+        AuditLogFilter filter = AuditLogFilter.builder().userId(userId).build();
+        AuditLogPage page = auditLogUseCase.searchLogs(filter, AuditLogCursor.decode(cursor), limit, currentUserId);
         
         return ResponseEntity.ok(
-            ApiResponse.success("User audit logs retrieved successfully", responses)
+            ApiResponse.success("User audit logs retrieved successfully", auditLogMapper.toPageResponse(page))
         );
     }
     
     @GetMapping("/date-range")
-    @Operation(summary = "Get logs by date range", description = "Retrieve audit logs within a date range (SUPER_ADMIN only)")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLogsByDateRange(
+    @Operation(summary = "Get logs by date range", description = "Retrieve audit logs within a date range, one page at a time (SUPER_ADMIN only)")
+    public ResponseEntity<ApiResponse<AuditLogPageResponse>> getLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
             Authentication authentication) {
         
         Long currentUserId = getCurrentUserId(authentication);
         log.debug("Get audit logs from {} to {} by admin: {}", start, end, currentUserId);
         
-        List<AuditLog> logs = auditLogUseCase.getLogsByDateRange(start, end, currentUserId);
-        List<AuditLogResponse> responses = logs.stream()
-                .map(auditLogMapper::toResponse)
-                .collect(Collectors.toList());
+        AuditLogFilter filter = AuditLogFilter.builder().start(start).end(end).build();
+        AuditLogPage page = auditLogUseCase.searchLogs(filter, AuditLogCursor.decode(cursor), limit, currentUserId);
         
         return ResponseEntity.ok(
-            ApiResponse.success("Date range audit logs retrieved successfully", responses)
+            ApiResponse.success("Date range audit logs retrieved successfully", auditLogMapper.toPageResponse(page))
         );
     }
     
+    @GetMapping("/stats")
+    @Operation(summary = "Get audit stats", description = "Event counts per time bucket from the pre-aggregated rollups, "
+            + "optionally broken down by action, entity and user. Counts trail live traffic by the rollup flush interval (SUPER_ADMIN only)")
+    public ResponseEntity<ApiResponse<List<AuditLogStatResponse>>> getStats(
+            @RequestParam(defaultValue = "HOUR") AuditLogGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) List<AuditLogStatDimension> groupBy,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Get {} audit stats by admin: {}", granularity, currentUserId);
+        
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .entity(entity)
+                .start(start)
+                .end(end)
+                .build();
+        Set<AuditLogStatDimension> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(AuditLogStatDimension.class)
+                : EnumSet.copyOf(groupBy);
+        List<AuditLogStat> stats = auditLogUseCase.getStats(granularity, filter, dimensions, currentUserId);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success("Audit stats retrieved successfully", auditLogMapper.toStatResponseList(stats))
+        );
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export audit logs", description = "Stream matching audit logs as NDJSON or CSV (SUPER_ADMIN only)")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @RequestParam(defaultValue = "NDJSON") AuditLogExportWriter.Format format,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            Authentication authentication) {
+        
+        Long currentUserId = getCurrentUserId(authentication);
+        log.debug("Export audit logs as {} by admin: {}", format, currentUserId);
+        
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .entity(entity)
+                .start(start)
+                .end(end)
+                .build();
+        StreamingResponseBody body = out -> auditLogExportWriter.write(format, out,
+                sink -> auditLogUseCase.exportLogs(filter, currentUserId, sink));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+    
     private Long getCurrentUserId(Authentication authentication) {
         String username = authentication.getName();
         return userDetailsService.getUserIdByUsername(username);
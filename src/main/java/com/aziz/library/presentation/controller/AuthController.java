@@ -10,6 +10,7 @@ import com.aziz.library.application.mapper.UserMapper;
 import com.aziz.library.domain.model.User;
 import com.aziz.library.domain.port.in.AuthenticationUseCase;
 import com.aziz.library.infrastructure.security.jwt.JwtTokenProvider;
+import com.aziz.library.presentation.aspect.Audited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +34,7 @@ public class AuthController {
     
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Register a new user account with default VIEWER role")
+    @Audited(action = "REGISTER", entity = "AUTH", details = "User registration")
     public ResponseEntity<ApiResponse<UserResponse>> register(
             @Valid @RequestBody RegisterRequest request) {
         
@@ -53,6 +55,7 @@ public class AuthController {
     
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Login with username/email and password. Returns OTP requirement.")
+    @Audited(action = "LOGIN", entity = "AUTH", details = "User login attempt")
     public ResponseEntity<ApiResponse<LoginResponse>> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest) {
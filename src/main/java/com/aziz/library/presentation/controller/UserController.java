@@ -8,6 +8,7 @@ import com.aziz.library.domain.model.Role;
 import com.aziz.library.domain.model.User;
 import com.aziz.library.domain.port.in.UserManagementUseCase;
 import com.aziz.library.infrastructure.security.CustomUserDetailsService;
+import com.aziz.library.presentation.aspect.Audited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -38,6 +39,7 @@ public class UserController {
     
     @PostMapping
     @Operation(summary = "Create user", description = "Create a new user (SUPER_ADMIN only)")
+    @Audited(action = "CREATE_USER", entity = "USER", details = "User created")
     public ResponseEntity<ApiResponse<UserResponse>> createUser(
             @Valid @RequestBody UserRequest request,
             Authentication authentication) {
@@ -86,6 +88,7 @@ public class UserController {
     
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update an existing user (SUPER_ADMIN only)")
+    @Audited(action = "UPDATE_USER", entity = "USER", idParam = "id", details = "User updated")
     public ResponseEntity<ApiResponse<UserResponse>> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserRequest request,
@@ -103,6 +106,7 @@ public class UserController {
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Delete a user (SUPER_ADMIN only)")
+    @Audited(action = "DELETE_USER", entity = "USER", idParam = "id", details = "User deleted")
     public ResponseEntity<ApiResponse<Void>> deleteUser(
             @PathVariable Long id,
             Authentication authentication) {
@@ -0,0 +1,9 @@
+-- Full-text search over articles. Titles weigh more than content when ranking.
+-- The 'english' configuration must match ArticleSearchAdapter.TEXT_SEARCH_CONFIG.
+ALTER TABLE articles ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_articles_search_vector ON articles USING GIN (search_vector);
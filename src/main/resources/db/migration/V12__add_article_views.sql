@@ -0,0 +1,2 @@
+-- Incremented in batches by the view counter's flush rather than once per read
+ALTER TABLE articles ADD COLUMN views BIGINT NOT NULL DEFAULT 0;
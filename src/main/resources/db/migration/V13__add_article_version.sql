@@ -0,0 +1,2 @@
+-- Optimistic locking: incremented by every update, exposed as the article's ETag
+ALTER TABLE articles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Article ids are handed out in blocks: a nextval returning n reserves n - 49 .. n. Hibernate's
+-- pooled optimizer and the bulk import both rely on this; 50 must match ArticleEntity.ID_ALLOCATION_SIZE.
+-- Ids already used stay below the next value returned, so no block overlaps them.
+ALTER SEQUENCE articles_id_seq INCREMENT BY 50;
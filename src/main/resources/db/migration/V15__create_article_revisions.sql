@@ -0,0 +1,16 @@
+-- Earlier versions of each article. Content is stored as a binary delta against the next newer
+-- version (the next row, or the article itself for the newest row), with a full copy every few
+-- rows, so an edit costs about the size of the change and rebuilding a revision reads a few rows
+CREATE TABLE article_revisions (
+    article_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    is_public BOOLEAN NOT NULL,
+    tags VARCHAR(50)[] NOT NULL,
+    content TEXT,
+    content_delta BYTEA,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_article_revisions PRIMARY KEY (article_id, version),
+    CONSTRAINT fk_article_revisions_article FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
+    CONSTRAINT ck_article_revisions_content CHECK ((content IS NULL) <> (content_delta IS NULL))
+);
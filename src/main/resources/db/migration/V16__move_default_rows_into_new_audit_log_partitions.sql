@@ -0,0 +1,39 @@
+-- Creating a monthly partition fails while audit_logs_default holds rows in its range, which happens
+-- when maintenance missed a month. The default partition is detached for the duration so those rows
+-- can be moved into the new partition before it is attached again.
+
+CREATE OR REPLACE FUNCTION create_audit_log_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    end_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := format('audit_logs_p%s', to_char(start_date, 'YYYYMM'));
+    stranded BOOLEAN;
+    moved BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    SELECT EXISTS (SELECT 1 FROM audit_logs_default WHERE timestamp >= start_date AND timestamp < end_date)
+    INTO stranded;
+
+    IF stranded THEN
+        ALTER TABLE audit_logs DETACH PARTITION audit_logs_default;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, end_date);
+
+    IF stranded THEN
+        EXECUTE format('INSERT INTO %I SELECT * FROM audit_logs_default WHERE timestamp >= %L AND timestamp < %L',
+                       partition_name, start_date, end_date);
+        GET DIAGNOSTICS moved = ROW_COUNT;
+        DELETE FROM audit_logs_default WHERE timestamp >= start_date AND timestamp < end_date;
+        ALTER TABLE audit_logs ATTACH PARTITION audit_logs_default DEFAULT;
+        RAISE NOTICE 'moved % rows from audit_logs_default into %', moved, partition_name;
+    END IF;
+
+    EXECUTE format('CREATE INDEX %I ON %I (timestamp DESC)', partition_name || '_timestamp_idx', partition_name);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,37 @@
+-- One row per distinct user agent; audit_logs keeps only a 4-byte reference.
+-- fingerprint = md5 over the identifying columns joined by U+001F, matching UserAgentInterner.
+CREATE TABLE user_agents (
+    id SERIAL PRIMARY KEY,
+    fingerprint UUID NOT NULL UNIQUE,
+    user_agent TEXT,
+    browser VARCHAR(200),
+    browser_version VARCHAR(50),
+    device VARCHAR(100),
+    operating_system VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE audit_logs ADD COLUMN user_agent_id INTEGER REFERENCES user_agents(id);
+
+-- Existing rows never stored the raw header, so they are keyed on the classified columns alone
+INSERT INTO user_agents (fingerprint, browser, browser_version, device, operating_system)
+SELECT DISTINCT ON (fingerprint) fingerprint, browser, browser_version, device, operating_system
+FROM (
+    SELECT md5(concat_ws(E'\x1f', '', coalesce(browser, ''), coalesce(browser_version, ''),
+                         coalesce(device, ''), coalesce(operating_system, '')))::uuid AS fingerprint,
+           browser, browser_version, device, operating_system
+    FROM audit_logs
+    WHERE browser IS NOT NULL OR browser_version IS NOT NULL OR device IS NOT NULL OR operating_system IS NOT NULL
+) classified;
+
+UPDATE audit_logs a
+SET user_agent_id = u.id
+FROM user_agents u
+WHERE u.fingerprint = md5(concat_ws(E'\x1f', '', coalesce(a.browser, ''), coalesce(a.browser_version, ''),
+                                    coalesce(a.device, ''), coalesce(a.operating_system, '')))::uuid;
+
+ALTER TABLE audit_logs
+    DROP COLUMN browser,
+    DROP COLUMN browser_version,
+    DROP COLUMN device,
+    DROP COLUMN operating_system;
@@ -0,0 +1,119 @@
+-- Rebuild audit_logs as a table range-partitioned by month on timestamp.
+-- The primary key must include the partition key, so it becomes (id, timestamp).
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_user_agent_id_fkey TO audit_logs_legacy_user_agent_id_fkey;
+DROP INDEX idx_audit_logs_user_id;
+DROP INDEX idx_audit_logs_action;
+DROP INDEX idx_audit_logs_timestamp;
+DROP INDEX idx_audit_logs_entity;
+
+-- Keep the existing id sequence alive when the legacy table is dropped
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    user_id BIGINT,
+    username VARCHAR(50),
+    action VARCHAR(50) NOT NULL,
+    entity VARCHAR(50),
+    entity_id BIGINT,
+    details TEXT,
+    ip_address VARCHAR(45),
+    user_agent_id INTEGER REFERENCES user_agents(id),
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Catches rows outside every monthly partition so a missed maintenance run never fails an insert
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- Inherited by every partition. The timestamp index is per partition (see below) so that
+-- old partitions can swap it for BRIN.
+CREATE INDEX idx_audit_logs_user_id ON audit_logs (user_id, timestamp DESC);
+CREATE INDEX idx_audit_logs_action ON audit_logs (action, timestamp DESC);
+
+CREATE OR REPLACE FUNCTION create_audit_log_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := format('audit_logs_p%s', to_char(start_date, 'YYYYMM'));
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, (start_date + INTERVAL '1 month')::date);
+    EXECUTE format('CREATE INDEX %I ON %I (timestamp DESC)', partition_name || '_timestamp_idx', partition_name);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates the current and next months_ahead partitions, replaces the btree timestamp index with BRIN
+-- on partitions older than brin_after_months, and detaches and drops partitions older than
+-- retention_months (0 disables either step). Returns one line per action taken.
+CREATE OR REPLACE FUNCTION maintain_audit_log_partitions(months_ahead INT, brin_after_months INT, retention_months INT)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    current_month DATE := date_trunc('month', CURRENT_DATE)::date;
+    part RECORD;
+    part_month DATE;
+    created TEXT;
+BEGIN
+    -- Several application instances run this on the same schedule; only one needs to
+    IF NOT pg_try_advisory_xact_lock(hashtext('maintain_audit_log_partitions')) THEN
+        RETURN;
+    END IF;
+
+    FOR i IN 0..months_ahead LOOP
+        created := create_audit_log_partition((current_month + make_interval(months => i))::date);
+        IF created IS NOT NULL THEN
+            RETURN NEXT 'created ' || created;
+        END IF;
+    END LOOP;
+
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'audit_logs'::regclass
+          AND c.relname ~ '^audit_logs_p[0-9]{6}$'
+        ORDER BY c.relname
+    LOOP
+        part_month := to_date(substring(part.relname FROM '[0-9]{6}$'), 'YYYYMM');
+        IF retention_months > 0 AND part_month < current_month - make_interval(months => retention_months) THEN
+            EXECUTE format('ALTER TABLE audit_logs DETACH PARTITION %I', part.relname);
+            EXECUTE format('DROP TABLE %I', part.relname);
+            RETURN NEXT 'dropped ' || part.relname;
+        ELSIF brin_after_months > 0
+              AND part_month < current_month - make_interval(months => brin_after_months)
+              AND to_regclass(part.relname || '_timestamp_idx') IS NOT NULL THEN
+            EXECUTE format('CREATE INDEX IF NOT EXISTS %I ON %I USING brin (timestamp)',
+                           part.relname || '_timestamp_brin', part.relname);
+            EXECUTE format('DROP INDEX %I', part.relname || '_timestamp_idx');
+            RETURN NEXT 'brin ' || part.relname;
+        END IF;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for every month that already has data, through three months ahead
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', COALESCE((SELECT min(timestamp) FROM audit_logs_legacy), CURRENT_DATE))::date;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE first_month <= last_month LOOP
+        PERFORM create_audit_log_partition(first_month);
+        first_month := (first_month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO audit_logs (id, user_id, username, action, entity, entity_id, details, ip_address, user_agent_id, timestamp)
+SELECT id, user_id, username, action, entity, entity_id, details, ip_address, user_agent_id, timestamp
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
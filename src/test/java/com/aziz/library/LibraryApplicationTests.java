@@ -0,0 +1,43 @@
+package com.aziz.library;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.aziz.library.infrastructure.adapter.persistence.AuditLogPartitionMaintainer;
+
+/**
+ * Starts the whole application context, so wiring mistakes fail the build rather than startup.
+ * The database is an in-memory H2 with the schema generated from the entities, since the Flyway
+ * migrations are PostgreSQL-only. Redis, mail and the partition maintenance are stubbed, and the
+ * health checks that expect the real Redis and mail clients are off.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:library;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=",
+        "spring.jpa.show-sql=false",
+        "management.health.redis.enabled=false",
+        "management.health.mail.enabled=false"
+})
+class LibraryApplicationTests {
+
+    @MockitoBean
+    private LettuceConnectionFactory redisConnectionFactory;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @MockitoBean
+    private AuditLogPartitionMaintainer partitionMaintainer;
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.aziz.library.application.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.aziz.library.application.mapper.ArticleMapper;
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.port.out.UserRepositoryPort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class ArticleExportWriterTest {
+
+    private UserRepositoryPort userRepository;
+    private ArticleExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        userRepository = mock(UserRepositoryPort.class);
+        writer = new ArticleExportWriter(Mappers.getMapper(ArticleMapper.class), userRepository, objectMapper);
+    }
+
+    private static Article article(long id, long authorId) {
+        return Article.builder()
+                .id(id)
+                .title("Title " + id)
+                .content("Content " + id)
+                .authorId(authorId)
+                .isPublic(true)
+                .createdAt(LocalDateTime.of(2026, 10, 1, 12, 0))
+                .tags(List.of("design"))
+                .build();
+    }
+
+    @Test
+    void write_ShouldEmitOneArticlePerLineAndLookUpEachAuthorOnce() throws Exception {
+        when(userRepository.findUsernameById(7L)).thenReturn(Optional.of("writer"));
+        when(userRepository.findUsernameById(8L)).thenReturn(Optional.empty());
+
+        String output = export(List.of(article(1L, 7L), article(2L, 7L), article(3L, 8L)));
+
+        String[] lines = output.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[0].contains("\"authorUsername\":\"writer\""));
+        assertTrue(lines[0].contains("\"createdAt\":\"2026-10-01T12:00:00\""));
+        assertTrue(lines[0].contains("\"tags\":[\"design\"]"));
+        assertTrue(lines[2].contains("\"authorUsername\":\"Unknown\""));
+        verify(userRepository, times(1)).findUsernameById(7L);
+    }
+
+    @Test
+    void write_WithNoArticles_ShouldWriteNothing() throws Exception {
+        assertEquals("", export(List.of()));
+    }
+
+    private String export(List<Article> articles) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out, sink -> articles.forEach(sink));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.aziz.library.application.export;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.aziz.library.application.mapper.AuditLogMapper;
+import com.aziz.library.application.export.AuditLogExportWriter.Format;
+import com.aziz.library.domain.model.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class AuditLogExportWriterTest {
+
+    private AuditLogExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = new AuditLogExportWriter(Mappers.getMapper(AuditLogMapper.class), objectMapper);
+    }
+
+    @Test
+    void write_Ndjson_ShouldEmitOneObjectPerLine() throws Exception {
+        String output = export(Format.NDJSON, List.of(log(1L, "LOGIN", "ok"), log(2L, "LOGOUT", null)));
+
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[0].contains("\"timestamp\":\"2026-10-01T12:00:00\""));
+        assertTrue(lines[1].contains("\"action\":\"LOGOUT\""));
+    }
+
+    @Test
+    void write_Csv_ShouldQuoteAndNeutraliseFormulas() throws Exception {
+        String output = export(Format.CSV, List.of(
+                log(1L, "LOGIN", "said \"hi\", twice"),
+                log(2L, "LOGIN", "=HYPERLINK(\"x\")")));
+
+        String[] lines = output.split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,timestamp,userId,username,action"));
+        assertTrue(lines[1].contains(",\"said \"\"hi\"\", twice\","));
+        assertTrue(lines[2].contains(",\"'=HYPERLINK(\"\"x\"\")\","));
+    }
+
+    @Test
+    void write_WithNoRows_ShouldStillWriteCsvHeader() throws Exception {
+        String output = export(Format.CSV, List.of());
+
+        assertEquals("id,timestamp,userId,username,action,entity,entityId,details,ipAddress,browser,"
+                + "browserVersion,device,operatingSystem,userAgent\r\n", output);
+    }
+
+    private String export(Format format, List<AuditLog> logs) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(format, out, sink -> logs.forEach(sink));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private AuditLog log(Long id, String action, String details) {
+        return AuditLog.builder()
+                .id(id)
+                .userId(7L)
+                .username("alice")
+                .action(action)
+                .entity("USER")
+                .details(details)
+                .timestamp(LocalDateTime.of(2026, 10, 1, 12, 0))
+                .build();
+    }
+
+}
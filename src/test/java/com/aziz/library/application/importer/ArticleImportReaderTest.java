@@ -0,0 +1,97 @@
+package com.aziz.library.application.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aziz.library.application.dto.request.ArticleRequest;
+import com.aziz.library.application.mapper.ArticleMapper;
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportLine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+class ArticleImportReaderTest {
+
+    private ValidatorFactory validatorFactory;
+    private ArticleMapper articleMapper;
+    private ArticleImportReader reader;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.toDomain(any(ArticleRequest.class))).thenAnswer(invocation -> {
+            ArticleRequest request = invocation.getArgument(0);
+            return Article.builder().title(request.getTitle()).content(request.getContent()).build();
+        });
+        reader = new ArticleImportReader(new ObjectMapper(), validatorFactory.getValidator(), articleMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void read_shouldParseValidLinesAndReportInvalidOnesByLineNumber() {
+        List<ArticleImportLine> lines = readAll("""
+                {"title": "First article", "content": "Some content here"}
+
+                {"title": "Second", "content": "More content here", "tags": ["design"]}
+                {"title": "No"}
+                {"title": "Broken",
+                null
+                {"title": "Trailing", "content": "Some content here"} {}
+                """);
+
+        assertEquals(6, lines.size());
+        assertEquals(1, lines.get(0).getLineNumber());
+        assertEquals("First article", lines.get(0).getArticle().getTitle());
+        assertEquals(3, lines.get(1).getLineNumber());
+        assertNull(lines.get(1).getError());
+        assertEquals(4, lines.get(2).getLineNumber());
+        assertEquals("content: Content is required; title: Title must be between 3 and 200 characters",
+                lines.get(2).getError());
+        assertTrue(lines.get(3).getError().startsWith("Invalid JSON"));
+        assertEquals("Each line must be a JSON object", lines.get(4).getError());
+        assertEquals(7, lines.get(5).getLineNumber());
+        assertTrue(lines.get(5).getError().startsWith("Invalid JSON"));
+        assertNull(lines.get(5).getArticle());
+    }
+
+    @Test
+    void read_shouldParseLazily() {
+        Iterator<ArticleImportLine> lines = reader.read(input("""
+                {"title": "First article", "content": "Some content here"}
+                {"title": "Second article", "content": "More content here"}
+                """));
+
+        verifyNoInteractions(articleMapper);
+        assertTrue(lines.hasNext());
+        lines.next();
+        verify(articleMapper, times(1)).toDomain(any(ArticleRequest.class));
+    }
+
+    private List<ArticleImportLine> readAll(String ndjson) {
+        List<ArticleImportLine> lines = new ArrayList<>();
+        reader.read(input(ndjson)).forEachRemaining(lines::add);
+        return lines;
+    }
+
+    private static ByteArrayInputStream input(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,6 @@ package com.aziz.library.application.mapper;
 import com.aziz.library.application.dto.request.ArticleRequest;
 import com.aziz.library.application.dto.response.ArticleResponse;
 import com.aziz.library.domain.model.Article;
-import com.aziz.library.domain.model.User;
 import com.aziz.library.domain.port.out.UserRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,11 +36,7 @@ class ArticleMapperTest {
         article.setUpdatedAt(LocalDateTime.now());
         article.setPublic(true);
 
-        User user = new User();
-        user.setId(42L);
-        user.setUsername("john_doe");
-
-        when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+        when(userRepository.findUsernameById(42L)).thenReturn(Optional.of("john_doe"));
 
         ArticleResponse response = articleMapper.toResponse(article);
 
@@ -56,7 +51,7 @@ class ArticleMapperTest {
         Article article = new Article();
         article.setAuthorId(99L);
 
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.findUsernameById(99L)).thenReturn(Optional.empty());
 
         ArticleResponse response = articleMapper.toResponse(article);
 
@@ -5,18 +5,23 @@ import com.aziz.library.domain.model.*;
 import com.aziz.library.domain.port.out.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,27 @@ public class ArticleServiceTest {
     @Mock
     private CacheServicePort cacheService;
     
+    @Mock
+    private ArticleSearchPort articleSearch;
+    
+    @Mock
+    private ArticleTagIndexPort tagIndex;
+    
+    @Mock
+    private ArticleViewCounterPort viewCounter;
+    
+    @Mock
+    private ArticleTrendingPort trending;
+    
+    @Mock
+    private ArticleImportRepositoryPort importRepository;
+    
+    @Mock
+    private ArticleRevisionRepositoryPort revisionRepository;
+    
+    @Mock
+    private PublicArticleReadModelPort publicReadModel;
+    
     @InjectMocks
     private ArticleService articleService;
     
@@ -58,6 +84,9 @@ public class ArticleServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getAuthorId());
         verify(articleRepository).save(any(Article.class));
+        verify(articleSearch).index(result);
+        verify(tagIndex).index(result);
+        verify(publicReadModel).index(result);
     }
     
     @Test
@@ -108,7 +137,9 @@ public class ArticleServiceTest {
         
         assertNotNull(result);
         verify(articleRepository).save(any());
-        verify(cacheService).set(anyString(), any(), anyLong());
+        verify(cacheService).set(eq("article1"), any(), anyLong());
+        verify(cacheService).set(eq("article-version1"), any(ArticleVersion.class), anyLong());
+        verify(articleSearch).index(any(Article.class));
     }
     
     @Test
@@ -149,7 +180,11 @@ public class ArticleServiceTest {
         articleService.deleteArticle(1L, 1L);
         
         verify(articleRepository).deleteById(1L);
-        verify(cacheService).delete(anyString());
+        verify(cacheService).delete("article1");
+        verify(cacheService).delete("article-version1");
+        verify(articleSearch).remove(1L);
+        verify(tagIndex).remove(1L);
+        verify(publicReadModel).remove(1L);
     }
     
     @Test
@@ -204,6 +239,7 @@ public class ArticleServiceTest {
         Article cachedArticle = Article.builder()
                 .id(1L)
                 .title("Cached")
+                .version(0L)
                 .build();
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -216,6 +252,50 @@ public class ArticleServiceTest {
         verify(articleRepository, never()).findById(any());
     }
     
+    @Test
+    void testGetArticleById_ShouldCountViewAndShowLatestTotal() {
+        User user = User.builder()
+                .id(1L)
+                .role(Role.SUPER_ADMIN)
+                .build();
+        
+        Article cachedArticle = Article.builder()
+                .id(1L)
+                .views(10)
+                .version(0L)
+                .build();
+        
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(cacheService.get(anyString())).thenReturn(Optional.of(cachedArticle));
+        when(viewCounter.recordView(1L, 10L)).thenReturn(25L);
+        
+        Article result = articleService.getArticleById(1L, 1L);
+        
+        assertEquals(25, result.getViews());
+        verify(viewCounter).recordView(1L, 10L);
+    }
+    
+    @Test
+    void testGetArticleById_WithoutPermission_ShouldNotCountView() {
+        User viewer = User.builder()
+                .id(2L)
+                .role(Role.VIEWER)
+                .build();
+        
+        Article article = Article.builder()
+                .id(1L)
+                .authorId(1L)
+                .isPublic(false)
+                .build();
+        
+        when(userRepository.findById(2L)).thenReturn(Optional.of(viewer));
+        when(cacheService.get(anyString())).thenReturn(Optional.empty());
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(article));
+        
+        assertThrows(UnauthorizedException.class, () -> articleService.getArticleById(1L, 2L));
+        verifyNoInteractions(viewCounter);
+    }
+    
     @Test
     void testGetArticleById_NotInCache_ShouldQueryDBAndCache() {
         User user = User.builder()
@@ -236,7 +316,7 @@ public class ArticleServiceTest {
         
         assertNotNull(result);
         verify(articleRepository).findById(1L);
-        verify(cacheService).set(anyString(), any(), anyLong());
+        verify(cacheService).set(eq("article1"), any(), anyLong());
     }
     
     @Test
@@ -271,12 +351,26 @@ public class ArticleServiceTest {
         );
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(viewer));
-        when(articleRepository.findAllPublic()).thenReturn(publicArticles);
+        when(publicReadModel.findAllPublic()).thenReturn(publicArticles);
         
         List<Article> result = articleService.getAllArticles(1L);
         
         assertEquals(1, result.size());
-        verify(articleRepository).findAllPublic();
+        verifyNoInteractions(articleRepository);
+    }
+    
+    @Test
+    void testGetAllArticles_AsContributor_ShouldAddOwnPrivateArticlesToPublicOnes() {
+        User contributor = User.builder().id(2L).role(Role.CONTRIBUTOR).build();
+        Article published = Article.builder().id(1L).authorId(2L).isPublic(true).build();
+        Article draft = Article.builder().id(3L).authorId(2L).build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(contributor));
+        when(publicReadModel.findAllPublic()).thenReturn(List.of(published, Article.builder().id(2L).isPublic(true).build()));
+        when(articleRepository.findByAuthorId(2L)).thenReturn(List.of(published, draft));
+        
+        List<Article> result = articleService.getAllArticles(2L);
+        
+        assertEquals(List.of(1L, 2L, 3L), result.stream().map(Article::getId).toList());
     }
     
     @Test
@@ -293,5 +387,531 @@ public class ArticleServiceTest {
         assertEquals(2, result.size());
         assertTrue(result.stream().allMatch(a -> a.getAuthorId().equals(1L)));
     }
-
+    
+    @Test
+    void testSearchArticles_AsViewer_ShouldRestrictToPublic() {
+        User viewer = User.builder().id(1L).role(Role.VIEWER).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(viewer));
+        when(articleSearch.search(any(ArticleSearchQuery.class))).thenReturn(List.of());
+        
+        articleService.searchArticles("  spring boot  ", 2, 10, 1L);
+        
+        ArgumentCaptor<ArticleSearchQuery> captor = ArgumentCaptor.forClass(ArticleSearchQuery.class);
+        verify(articleSearch).search(captor.capture());
+        ArticleSearchQuery query = captor.getValue();
+        assertEquals("spring boot", query.getText());
+        assertTrue(query.isPublicOnly());
+        assertNull(query.getAuthorId());
+        assertEquals(20, query.getOffset());
+        assertEquals(11, query.getLimit());
+    }
+    
+    @Test
+    void testSearchArticles_AsContributor_ShouldRestrictToOwnArticles() {
+        User contributor = User.builder().id(5L).role(Role.CONTRIBUTOR).build();
+        when(userRepository.findById(5L)).thenReturn(Optional.of(contributor));
+        when(articleSearch.search(any(ArticleSearchQuery.class))).thenReturn(List.of());
+        
+        articleService.searchArticles("spring", 0, 20, 5L);
+        
+        ArgumentCaptor<ArticleSearchQuery> captor = ArgumentCaptor.forClass(ArticleSearchQuery.class);
+        verify(articleSearch).search(captor.capture());
+        assertEquals(5L, captor.getValue().getAuthorId());
+        assertFalse(captor.getValue().isPublicOnly());
+    }
+    
+    @Test
+    void testSearchArticles_WithExtraRow_ShouldTrimAndReportMore() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        List<ArticleSearchHit> hits = List.of(
+                ArticleSearchHit.builder().id(3L).build(),
+                ArticleSearchHit.builder().id(2L).build(),
+                ArticleSearchHit.builder().id(1L).build());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleSearch.search(any(ArticleSearchQuery.class))).thenReturn(hits);
+        
+        ArticleSearchPage page = articleService.searchArticles("spring", 0, 2, 1L);
+        
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasMore());
+        assertEquals(2, page.getSize());
+    }
+    
+    @Test
+    void testSearchArticles_BlankQuery_ShouldThrow() {
+        assertThrows(InvalidSearchQueryException.class, () ->
+            articleService.searchArticles("   ", 0, 20, 1L)
+        );
+        verifyNoInteractions(articleSearch);
+    }
+    
+    @Test
+    void testSearchArticles_BeyondResultLimit_ShouldThrow() {
+        assertThrows(InvalidSearchQueryException.class, () ->
+            articleService.searchArticles("spring", 50, 20, 1L)
+        );
+        verifyNoInteractions(articleSearch);
+    }
+    
+    @Test
+    void testCreateArticle_ShouldNormalizeTags() {
+        User contributor = User.builder().id(1L).role(Role.CONTRIBUTOR).build();
+        Article article = Article.builder()
+                .title("Test Article")
+                .content("Test Content")
+                .tags(Arrays.asList(" Interior  Design ", "colour", "COLOUR", "  "))
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(contributor));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        
+        Article result = articleService.createArticle(article, 1L);
+        
+        assertEquals(List.of("colour", "interior-design"), result.getTags());
+    }
+    
+    @Test
+    void testUpdateArticle_WithoutTags_ShouldKeepExistingTags() {
+        User owner = User.builder().id(1L).role(Role.CONTRIBUTOR).build();
+        Article existing = Article.builder().id(1L).authorId(1L).tags(List.of("design")).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        
+        Article result = articleService.updateArticle(1L, Article.builder().title("New").content("New content").build(), 1L);
+        
+        assertEquals(List.of("design"), result.getTags());
+        verify(tagIndex).index(result);
+    }
+    
+    @Test
+    void testGetArticlesByTags_AsViewer_ShouldFilterPublicAndKeepIndexOrder() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        Article newer = Article.builder().id(9L).build();
+        Article older = Article.builder().id(4L).build();
+        List<TagFacet> facets = List.of(new TagFacet("design", 2));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        when(tagIndex.filter(any(ArticleTagFilter.class))).thenReturn(new TagFilterResult(List.of(9L, 4L), 2, facets));
+        when(articleRepository.findAllById(List.of(9L, 4L))).thenReturn(List.of(older, newer));
+        
+        TaggedArticlePage page = articleService.getArticlesByTags(List.of("Design"), null, 0, 20, 3L);
+        
+        ArgumentCaptor<ArticleTagFilter> captor = ArgumentCaptor.forClass(ArticleTagFilter.class);
+        verify(tagIndex).filter(captor.capture());
+        assertEquals(List.of("design"), captor.getValue().getTags());
+        assertEquals(TagMatch.ALL, captor.getValue().getMatch());
+        assertTrue(captor.getValue().isPublicOnly());
+        assertNull(captor.getValue().getAuthorId());
+        assertEquals(List.of(newer, older), page.getItems());
+        assertEquals(2, page.getTotal());
+        assertSame(facets, page.getFacets());
+    }
+    
+    @Test
+    void testGetArticlesByTags_TooManyTags_ShouldThrow() {
+        List<String> tags = IntStream.range(0, 11).mapToObj(i -> "tag" + i).toList();
+        
+        assertThrows(InvalidSearchQueryException.class, () ->
+            articleService.getArticlesByTags(tags, TagMatch.ANY, 0, 20, 1L)
+        );
+        verifyNoInteractions(tagIndex);
+    }
+    
+    @Test
+    void testGetTrendingArticles_AsViewer_ShouldKeepPublicInRankOrder() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        Article first = Article.builder().id(5L).authorId(1L).isPublic(true).build();
+        Article second = Article.builder().id(2L).authorId(1L).isPublic(true).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        when(trending.trending()).thenReturn(List.of(
+                new TrendingArticle(7L, 1L, false, 90),
+                new TrendingArticle(5L, 1L, true, 50),
+                new TrendingArticle(2L, 1L, true, 20),
+                new TrendingArticle(8L, 1L, true, 10)));
+        when(articleRepository.findAllById(List.of(5L, 2L))).thenReturn(List.of(second, first));
+        
+        List<Article> result = articleService.getTrendingArticles(2, 3L);
+        
+        assertEquals(List.of(first, second), result);
+    }
+    
+    @Test
+    void testGetTrendingArticles_AsContributor_ShouldSkipArticlesNoLongerVisible() {
+        User contributor = User.builder().id(4L).role(Role.CONTRIBUTOR).build();
+        // Handed to another author since the ranking was published
+        Article moved = Article.builder().id(6L).authorId(9L).build();
+        when(userRepository.findById(4L)).thenReturn(Optional.of(contributor));
+        when(trending.trending()).thenReturn(List.of(
+                new TrendingArticle(6L, 4L, false, 30),
+                new TrendingArticle(1L, 9L, true, 20)));
+        when(articleRepository.findAllById(List.of(6L))).thenReturn(List.of(moved));
+        
+        assertTrue(articleService.getTrendingArticles(10, 4L).isEmpty());
+    }
+    
+    @Test
+    void testUpdateArticle_WithStaleVersion_ShouldThrowAndNotSave() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        Article existing = Article.builder().id(1L).authorId(1L).version(4L).build();
+        Article edited = Article.builder().title("New Title").version(3L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        
+        assertThrows(ArticleVersionMismatchException.class, () ->
+            articleService.updateArticle(1L, edited, 1L)
+        );
+        verify(articleRepository, never()).save(any());
+    }
+    
+    @Test
+    void testUpdateArticle_WithCurrentVersion_ShouldSave() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        Article existing = Article.builder().id(1L).authorId(1L).version(4L).build();
+        Article edited = Article.builder().title("New Title").version(4L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(articleRepository.save(any())).thenReturn(existing);
+        
+        articleService.updateArticle(1L, edited, 1L);
+        
+        verify(articleRepository).save(existing);
+    }
+    
+    @Test
+    void testUpdateArticle_ShouldRecordPreviousStateAsRevision() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        Article existing = Article.builder().id(1L).authorId(1L).title("Old Title").content("Old Content").version(4L).build();
+        Article edited = Article.builder().title("New Title").content("New Content").build();
+        Article saved = Article.builder().id(1L).authorId(1L).title("New Title").content("New Content").version(5L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(articleRepository.save(any())).thenReturn(saved);
+        
+        articleService.updateArticle(1L, edited, 1L);
+        
+        ArgumentCaptor<Article> previous = ArgumentCaptor.forClass(Article.class);
+        verify(revisionRepository).record(previous.capture(), eq(saved));
+        assertEquals("Old Title", previous.getValue().getTitle());
+        assertEquals("Old Content", previous.getValue().getContent());
+        assertEquals(4L, previous.getValue().getVersion());
+    }
+    
+    @Test
+    void testUpdateArticle_WhenVersionUnchanged_ShouldNotRecordRevision() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        Article existing = Article.builder().id(1L).authorId(1L).title("Title").version(4L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(articleRepository.save(any())).thenReturn(existing);
+        
+        articleService.updateArticle(1L, Article.builder().title("Title").build(), 1L);
+        
+        verifyNoInteractions(revisionRepository);
+    }
+    
+    @Test
+    void testGetArticleRevisions_AsViewer_ShouldHidePrivateVersions() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        ArticleRevisionSummary published = new ArticleRevisionSummary(6L, "Published", true, null);
+        ArticleRevisionSummary draft = new ArticleRevisionSummary(5L, "Draft", false, null);
+        when(revisionRepository.findSummaries(1L, null, 100)).thenReturn(List.of(published, draft));
+        
+        List<ArticleRevisionSummary> revisions = articleService.getArticleRevisions(1L, null, 500, 3L);
+        
+        assertEquals(List.of(published), revisions);
+    }
+    
+    @Test
+    void testGetArticleRevisions_PrivateArticleAsViewer_ShouldThrow() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, false)));
+        
+        assertThrows(UnauthorizedException.class, () -> articleService.getArticleRevisions(1L, null, 20, 3L));
+        verifyNoInteractions(revisionRepository);
+    }
+    
+    @Test
+    void testGetArticleRevision_NotCached_ShouldRebuildAndCache() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        ArticleRevision revision = ArticleRevision.builder().articleId(1L).version(5L).content("Old").isPublic(true).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(cacheService.get("article-revision1:5")).thenReturn(Optional.empty());
+        when(revisionRepository.findByVersion(1L, 5L)).thenReturn(Optional.of(revision));
+        
+        assertSame(revision, articleService.getArticleRevision(1L, 5L, 1L));
+        
+        verify(cacheService).set("article-revision1:5", revision, 3600L);
+    }
+    
+    @Test
+    void testGetArticleRevision_FromCache_ShouldNotRebuild() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        ArticleRevision revision = ArticleRevision.builder().articleId(1L).version(5L).content("Old").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(cacheService.get("article-revision1:5")).thenReturn(Optional.of(revision));
+        
+        assertSame(revision, articleService.getArticleRevision(1L, 5L, 1L));
+        
+        verifyNoInteractions(revisionRepository);
+    }
+    
+    @Test
+    void testGetArticleRevision_CurrentVersion_ShouldReadArticle() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(
+                Article.builder().id(1L).title("Now").content("Current").isPublic(true).version(7L).build()));
+        
+        ArticleRevision revision = articleService.getArticleRevision(1L, 7L, 1L);
+        
+        assertEquals("Current", revision.getContent());
+        assertEquals(7L, revision.getVersion());
+        verifyNoInteractions(revisionRepository, cacheService);
+    }
+    
+    @Test
+    void testGetArticleRevision_PrivateVersionAsViewer_ShouldThrow() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(cacheService.get("article-revision1:5")).thenReturn(Optional.empty());
+        when(revisionRepository.findByVersion(1L, 5L)).thenReturn(Optional.of(
+                ArticleRevision.builder().articleId(1L).version(5L).isPublic(false).build()));
+        
+        assertThrows(UnauthorizedException.class, () -> articleService.getArticleRevision(1L, 5L, 3L));
+    }
+    
+    @Test
+    void testGetArticleRevision_UnknownVersion_ShouldThrowNotFound() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(cacheService.get("article-revision1:9")).thenReturn(Optional.empty());
+        when(revisionRepository.findByVersion(1L, 9L)).thenReturn(Optional.empty());
+        
+        assertThrows(ArticleNotFoundException.class, () -> articleService.getArticleRevision(1L, 9L, 1L));
+    }
+    
+    @Test
+    void testGetArticleVersion_FromCache_ShouldNotLoadArticle() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(cacheService.get("article-version1")).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, true)));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        
+        assertEquals(7L, articleService.getArticleVersion(1L, 3L));
+        verifyNoInteractions(articleRepository);
+    }
+    
+    @Test
+    void testGetArticleVersion_NotCached_ShouldQueryAndCache() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        ArticleVersion version = new ArticleVersion(1L, 2L, 5L, false);
+        when(cacheService.get("article-version1")).thenReturn(Optional.empty());
+        when(articleRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        
+        assertEquals(2L, articleService.getArticleVersion(1L, 1L));
+        verify(cacheService).set("article-version1", version, 3600L);
+        verify(articleRepository, never()).findById(any());
+    }
+    
+    @Test
+    void testGetArticleVersion_PrivateArticleAsViewer_ShouldThrow() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(cacheService.get("article-version1")).thenReturn(Optional.of(new ArticleVersion(1L, 7L, 2L, false)));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        
+        assertThrows(UnauthorizedException.class, () -> articleService.getArticleVersion(1L, 3L));
+    }
+    
+    @Test
+    void testPatchArticle_AsOwner_ShouldPatchAndRefreshIndexesAndCache() {
+        User contributor = User.builder().id(1L).role(Role.CONTRIBUTOR).build();
+        ArticlePatch patch = ArticlePatch.builder().isPublic(true).tags(List.of(" Interior ", "DESIGN")).build();
+        Article existing = Article.builder().id(1L).authorId(1L).isPublic(false).version(4L).build();
+        Article patched = Article.builder().id(1L).authorId(1L).isPublic(true).version(5L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(contributor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(articleRepository.patch(1L, patch)).thenReturn(Optional.of(patched));
+        
+        assertSame(patched, articleService.patchArticle(1L, patch, 1L));
+        
+        assertEquals(List.of("design", "interior"), patch.getTags());
+        assertNotNull(patch.getUpdatedAt());
+        verify(revisionRepository).record(existing, patched);
+        verify(articleSearch).index(patched);
+        verify(tagIndex).index(patched);
+        verify(publicReadModel).index(patched);
+        verify(cacheService).set("article1", patched, 3600L);
+        verify(cacheService).set(eq("article-version1"), any(ArticleVersion.class), eq(3600L));
+    }
+    
+    @Test
+    void testPatchArticle_ChangingNothing_ShouldSkipIndexesAndCache() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        ArticlePatch patch = ArticlePatch.builder().title("Same title").build();
+        Article unchanged = Article.builder().id(1L).authorId(1L).title("Same title").version(4L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(
+                Article.builder().id(1L).authorId(1L).title("Same title").isPublic(true).version(4L).build()));
+        when(articleRepository.patch(1L, patch)).thenReturn(Optional.of(unchanged));
+        
+        assertSame(unchanged, articleService.patchArticle(1L, patch, 1L));
+        
+        verifyNoInteractions(articleSearch, tagIndex, publicReadModel, cacheService, revisionRepository);
+    }
+    
+    @Test
+    void testPatchArticle_AsNonOwner_ShouldThrowUnauthorizedException() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(
+                Article.builder().id(1L).authorId(2L).isPublic(true).version(4L).build()));
+        
+        assertThrows(UnauthorizedException.class, () ->
+            articleService.patchArticle(1L, ArticlePatch.builder().isPublic(false).build(), 1L)
+        );
+        verify(articleRepository, never()).patch(anyLong(), any());
+    }
+    
+    @Test
+    void testPatchArticle_WithStaleVersion_ShouldThrowAndNotPatch() {
+        User admin = User.builder().id(9L).role(Role.SUPER_ADMIN).build();
+        when(userRepository.findById(9L)).thenReturn(Optional.of(admin));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(
+                Article.builder().id(1L).authorId(2L).isPublic(true).version(4L).build()));
+        
+        assertThrows(ArticleVersionMismatchException.class, () ->
+            articleService.patchArticle(1L, ArticlePatch.builder().title("New title").version(3L).build(), 9L)
+        );
+        verify(articleRepository, never()).patch(anyLong(), any());
+    }
+    
+    @Test
+    void testPatchArticle_NotFound_ShouldThrow() {
+        User admin = User.builder().id(9L).role(Role.SUPER_ADMIN).build();
+        when(userRepository.findById(9L)).thenReturn(Optional.of(admin));
+        when(articleRepository.findById(1L)).thenReturn(Optional.empty());
+        
+        assertThrows(ArticleNotFoundException.class, () ->
+            articleService.patchArticle(1L, new ArticlePatch(), 9L)
+        );
+    }
+    
+    private static List<ArticleImportLine> importLines(int count) {
+        List<ArticleImportLine> lines = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            lines.add(ArticleImportLine.valid(i, Article.builder().title("Title " + i).content("Content " + i)
+                    .tags(List.of("Interior Design")).build()));
+        }
+        return lines;
+    }
+    
+    @Test
+    void testImportArticles_ShouldStoreInBatchesAndIndex() {
+        User contributor = User.builder().id(1L).role(Role.CONTRIBUTOR).build();
+        List<ArticleImportLine> lines = importLines(501);
+        lines.add(3, ArticleImportLine.invalid(4, "title: Title is required"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(contributor));
+        when(importRepository.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        ArticleImportResult result = articleService.importArticles(lines.iterator(), 1L);
+        
+        assertEquals(501, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLineNumber());
+        assertFalse(result.isErrorsTruncated());
+        ArgumentCaptor<List<Article>> batches = ArgumentCaptor.captor();
+        verify(importRepository, times(2)).insertAll(batches.capture());
+        assertEquals(500, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        Article stored = batches.getAllValues().get(0).get(0);
+        assertEquals(1L, stored.getAuthorId());
+        assertEquals(List.of("interior-design"), stored.getTags());
+        assertNotNull(stored.getCreatedAt());
+        verify(articleSearch, times(501)).index(any(Article.class));
+        verify(tagIndex, times(501)).index(any(Article.class));
+        verify(publicReadModel, times(501)).index(any(Article.class));
+    }
+    
+    @Test
+    void testImportArticles_FailedBatch_ShouldReportItsLinesAndContinue() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        when(importRepository.insertAll(any()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        
+        ArticleImportResult result = articleService.importArticles(importLines(600).iterator(), 1L);
+        
+        assertEquals(100, result.getImported());
+        assertEquals(500, result.getFailed());
+        assertEquals(500, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getLineNumber());
+        verify(articleSearch, times(100)).index(any(Article.class));
+    }
+    
+    @Test
+    void testImportArticles_ManyInvalidLines_ShouldTruncateErrors() {
+        User editor = User.builder().id(1L).role(Role.EDITOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
+        List<ArticleImportLine> lines = new ArrayList<>();
+        for (int i = 1; i <= 1500; i++) {
+            lines.add(ArticleImportLine.invalid(i, "Invalid JSON"));
+        }
+        
+        ArticleImportResult result = articleService.importArticles(lines.iterator(), 1L);
+        
+        assertEquals(0, result.getImported());
+        assertEquals(1500, result.getFailed());
+        assertEquals(1000, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+        verifyNoInteractions(importRepository);
+    }
+    
+    @Test
+    void testImportArticles_AsViewer_ShouldThrowBeforeReading() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        Iterator<ArticleImportLine> lines = mock();
+        
+        assertThrows(UnauthorizedException.class, () -> articleService.importArticles(lines, 3L));
+        verifyNoInteractions(lines, importRepository);
+    }
+    
+    @Test
+    void testExportArticles_AsContributor_ShouldStreamOwnArticlesOnly() {
+        User contributor = User.builder().id(1L).role(Role.CONTRIBUTOR).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(contributor));
+        List<Article> exported = new ArrayList<>();
+        
+        articleService.exportArticles(1L, exported::add);
+        
+        verify(articleRepository).streamAll(eq(1L), eq(false), any());
+    }
+    
+    @Test
+    void testExportArticles_AsViewer_ShouldStreamPublicArticlesOnly() {
+        User viewer = User.builder().id(3L).role(Role.VIEWER).build();
+        when(userRepository.findById(3L)).thenReturn(Optional.of(viewer));
+        
+        articleService.exportArticles(3L, article -> { });
+        
+        verify(articleRepository).streamAll(isNull(), eq(true), any());
+    }
+    
+    @Test
+    void testExportArticles_AsEditor_ShouldStreamEverything() {
+        User editor = User.builder().id(2L).role(Role.EDITOR).build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(editor));
+        
+        articleService.exportArticles(2L, article -> { });
+        
+        verify(articleRepository).streamAll(isNull(), eq(false), any());
+    }
 }
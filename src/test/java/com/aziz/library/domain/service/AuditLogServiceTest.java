@@ -1,21 +1,26 @@
 package com.aziz.library.domain.service;
 
+import com.aziz.library.domain.exception.InvalidStatsQueryException;
 import com.aziz.library.domain.exception.UnauthorizedException;
 import com.aziz.library.domain.model.*;
 import com.aziz.library.domain.port.out.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,46 +32,97 @@ public class AuditLogServiceTest {
     @Mock
     private UserRepositoryPort userRepository;
     
+    @Mock
+    private AuditLogQueuePort auditLogQueue;
+    
+    @Mock
+    private UserAgentParserPort userAgentParser;
+    
+    @Mock
+    private AuditLogRollupRepositoryPort auditLogRollupRepository;
+    
     @InjectMocks
     private AuditLogService auditLogService;
     
     @Test
-    void testLogAction_ShouldSaveAuditLog() {
-        User user = User.builder()
-                .id(1L)
-                .username("testuser")
-                .build();
-        
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    void testLogAction_ShouldEnqueueWithoutTouchingDatabase() {
+        when(userAgentParser.parse("Mozilla/5.0"))
+                .thenReturn(new UserAgentInfo("Firefox", "121.0", "Desktop", "Linux"));
         
         auditLogService.logAction(1L, "CREATE", "ARTICLE", 1L, 
                                   "Created article", "127.0.0.1", "Mozilla/5.0");
         
-        verify(auditLogRepository).save(any(AuditLog.class));
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditLogQueue).enqueue(captor.capture());
+        assertEquals("CREATE", captor.getValue().getAction());
+        assertNull(captor.getValue().getUsername());
+        assertEquals("Firefox", captor.getValue().getBrowser());
+        assertEquals("121.0", captor.getValue().getBrowserVersion());
+        assertNotNull(captor.getValue().getTimestamp());
+        verifyNoInteractions(auditLogRepository, userRepository);
     }
     
     @Test
-    void testGetAllLogs_AsSuperAdmin_ShouldReturnAllLogs() {
+    void testSearchLogs_WhenMoreRowsExist_ShouldReturnCursorForLastItem() {
         User admin = User.builder()
                 .id(1L)
                 .role(Role.SUPER_ADMIN)
                 .build();
         
-        List<AuditLog> logs = Arrays.asList(
-            AuditLog.builder().id(1L).build(),
-            AuditLog.builder().id(2L).build()
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> rows = Arrays.asList(
+            AuditLog.builder().id(3L).timestamp(now).build(),
+            AuditLog.builder().id(2L).timestamp(now.minusMinutes(1)).build(),
+            AuditLog.builder().id(1L).timestamp(now.minusMinutes(2)).build()
         );
+        AuditLogFilter filter = AuditLogFilter.builder().action("LOGIN").build();
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(auditLogRepository.findAll()).thenReturn(logs);
+        when(auditLogRepository.findPage(filter, null, 3)).thenReturn(rows);
         
-        List<AuditLog> result = auditLogService.getAllLogs(1L);
+        AuditLogPage page = auditLogService.searchLogs(filter, null, 2, 1L);
         
-        assertEquals(2, result.size());
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasMore());
+        assertEquals(2L, page.getNextCursor().getId());
+        assertEquals(now.minusMinutes(1), page.getNextCursor().getTimestamp());
     }
     
     @Test
-    void testGetAllLogs_AsNonAdmin_ShouldThrowUnauthorizedException() {
+    void testSearchLogs_OnLastPage_ShouldHaveNoCursor() {
+        User admin = User.builder()
+                .id(1L)
+                .role(Role.SUPER_ADMIN)
+                .build();
+        AuditLogCursor after = new AuditLogCursor(LocalDateTime.now(), 10L);
+        
+        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
+        when(auditLogRepository.findPage(null, after, 51)).thenReturn(List.of(AuditLog.builder().id(9L).build()));
+        
+        AuditLogPage page = auditLogService.searchLogs(null, after, 50, 1L);
+        
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasMore());
+        assertNull(page.getNextCursor());
+    }
+    
+    @Test
+    void testSearchLogs_ShouldClampPageSize() {
+        User admin = User.builder()
+                .id(1L)
+                .role(Role.SUPER_ADMIN)
+                .build();
+        
+        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
+        when(auditLogRepository.findPage(null, null, 501)).thenReturn(List.of());
+        
+        auditLogService.searchLogs(null, null, 100_000, 1L);
+        
+        verify(auditLogRepository).findPage(null, null, 501);
+    }
+    
+    @Test
+    void testSearchLogs_AsNonAdmin_ShouldThrowUnauthorizedException() {
         User editor = User.builder()
                 .id(1L)
                 .role(Role.EDITOR)
@@ -75,49 +131,84 @@ public class AuditLogServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(editor));
         
         assertThrows(UnauthorizedException.class, () -> 
-            auditLogService.getAllLogs(1L)
+            auditLogService.searchLogs(null, null, 50, 1L)
         );
+        verify(auditLogRepository, never()).findPage(any(), any(), anyInt());
     }
     
     @Test
-    void testGetLogsByUser_ShouldReturnUserLogs() {
+    void testExportLogs_ShouldStreamFromRepository() {
         User admin = User.builder()
                 .id(1L)
                 .role(Role.SUPER_ADMIN)
                 .build();
+        AuditLogFilter filter = AuditLogFilter.builder().userId(2L).build();
+        Consumer<AuditLog> sink = log -> { };
+        
+        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
+        
+        auditLogService.exportLogs(filter, 1L, sink);
+        
+        verify(auditLogRepository).streamAll(filter, sink);
+    }
+    
+    @Test
+    void testExportLogs_AsNonAdmin_ShouldNotQuery() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
         
-        List<AuditLog> logs = Arrays.asList(
-            AuditLog.builder().userId(2L).build()
+        assertThrows(UnauthorizedException.class, () -> 
+            auditLogService.exportLogs(null, 1L, log -> { })
         );
+        verify(auditLogRepository, never()).streamAll(any(), any());
+    }
+    
+    @Test
+    void testGetStats_ShouldReadFromRollups() {
+        User admin = User.builder()
+                .id(1L)
+                .role(Role.SUPER_ADMIN)
+                .build();
+        LocalDateTime start = LocalDateTime.of(2026, 10, 1, 0, 0);
+        AuditLogFilter filter = AuditLogFilter.builder().action("LOGIN").start(start).end(start.plusDays(1)).build();
+        EnumSet<AuditLogStatDimension> groupBy = EnumSet.of(AuditLogStatDimension.USER);
+        List<AuditLogStat> stats = List.of(AuditLogStat.builder().bucketStart(start).userId(2L).count(7).build());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(auditLogRepository.findByUserId(2L)).thenReturn(logs);
-        
-        List<AuditLog> result = auditLogService.getLogsByUser(2L, 1L);
+        when(auditLogRollupRepository.findStats(AuditLogGranularity.HOUR, filter, groupBy)).thenReturn(stats);
         
-        assertEquals(1, result.size());
+        assertSame(stats, auditLogService.getStats(AuditLogGranularity.HOUR, filter, groupBy, 1L));
+        verifyNoInteractions(auditLogRepository);
     }
     
     @Test
-    void testGetLogsByDateRange_ShouldReturnLogsInRange() {
+    void testGetStats_WithTooManyBuckets_ShouldThrow() {
         User admin = User.builder()
                 .id(1L)
                 .role(Role.SUPER_ADMIN)
                 .build();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        AuditLogFilter filter = AuditLogFilter.builder().start(start).end(start.plusDays(30)).build();
         
-        LocalDateTime start = LocalDateTime.now().minusDays(7);
-        LocalDateTime end = LocalDateTime.now();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
         
-        List<AuditLog> logs = Arrays.asList(
-            AuditLog.builder().id(1L).build()
+        assertThrows(InvalidStatsQueryException.class, () -> 
+            auditLogService.getStats(AuditLogGranularity.MINUTE, filter, EnumSet.noneOf(AuditLogStatDimension.class), 1L)
         );
+        verifyNoInteractions(auditLogRollupRepository);
+    }
+    
+    @Test
+    void testGetStats_WithoutRange_ShouldThrow() {
+        User admin = User.builder()
+                .id(1L)
+                .role(Role.SUPER_ADMIN)
+                .build();
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
-        when(auditLogRepository.findByTimestampBetween(start, end)).thenReturn(logs);
-        
-        List<AuditLog> result = auditLogService.getLogsByDateRange(start, end, 1L);
         
-        assertEquals(1, result.size());
+        assertThrows(InvalidStatsQueryException.class, () -> 
+            auditLogService.getStats(AuditLogGranularity.DAY, new AuditLogFilter(), EnumSet.noneOf(AuditLogStatDimension.class), 1L)
+        );
     }
 
 }
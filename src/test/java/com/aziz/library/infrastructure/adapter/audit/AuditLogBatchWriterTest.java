@@ -0,0 +1,290 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.port.out.AuditLogRepositoryPort;
+import com.aziz.library.domain.port.out.UserRepositoryPort;
+import com.aziz.library.infrastructure.adapter.audit.AuditLogBatchWriter.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditLogBatchWriterTest {
+
+    private AuditLogRepositoryPort auditLogRepository;
+    private UserRepositoryPort userRepository;
+    private AuditLogRollupAggregator rollupAggregator;
+    private SimpleMeterRegistry registry;
+    private List<Runnable> submitted;
+    private Executor executor;
+    private List<List<AuditLog>> writtenBatches;
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(AuditLogRepositoryPort.class);
+        userRepository = mock(UserRepositoryPort.class);
+        rollupAggregator = mock(AuditLogRollupAggregator.class);
+        registry = new SimpleMeterRegistry();
+        submitted = new ArrayList<>();
+        executor = submitted::add;
+        writtenBatches = new ArrayList<>();
+        doAnswer(invocation -> writtenBatches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(auditLogRepository).saveAll(anyList());
+    }
+
+    @Test
+    void enqueue_ShouldNotWriteUntilBatchSizeReached() {
+        AuditLogBatchWriter writer = writer(16, 3, OverflowPolicy.DROP);
+
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+        assertTrue(submitted.isEmpty());
+        verifyNoInteractions(auditLogRepository, userRepository);
+
+        writer.enqueue(event(2L));
+        assertEquals(1, submitted.size());
+
+        runSubmitted();
+        assertEquals(1, writtenBatches.size());
+        assertEquals(3, writtenBatches.get(0).size());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void flush_ShouldResolveEachUsernameOncePerBatch() {
+        when(userRepository.findUsernameById(1L)).thenReturn(Optional.of("alice"));
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+        writer.enqueue(event(null));
+        writer.flush();
+
+        verify(userRepository, times(1)).findUsernameById(1L);
+        List<AuditLog> batch = writtenBatches.get(0);
+        assertEquals("alice", batch.get(0).getUsername());
+        assertEquals("alice", batch.get(1).getUsername());
+        assertNull(batch.get(2).getUsername());
+        assertEquals(3, registry.get("audit.pipeline.written").counter().count());
+        verify(rollupAggregator).record(anyList());
+        assertEquals(1, registry.get("audit.pipeline.lag").timer().count());
+    }
+
+    @Test
+    void flushPending_ShouldScheduleFlushOfPartialBatch() {
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        writer.enqueue(event(1L));
+
+        writer.flushPending();
+        writer.flushPending();
+        assertEquals(1, submitted.size());
+
+        runSubmitted();
+        assertEquals(1, writtenBatches.size());
+    }
+
+    @Test
+    void enqueue_WhenFullWithDropPolicy_ShouldCountDroppedEvents() {
+        AuditLogBatchWriter writer = writer(2, 100, OverflowPolicy.DROP);
+
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+
+        assertEquals(1.0, writer.getDroppedCount());
+        assertEquals(2, writer.getQueueDepth());
+    }
+
+    @Test
+    void enqueue_WhenFullWithWriteThroughPolicy_ShouldWriteOnCaller() {
+        AuditLogBatchWriter writer = writer(2, 100, OverflowPolicy.WRITE_THROUGH);
+
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+        writer.enqueue(event(1L));
+
+        assertEquals(1, writtenBatches.size());
+        assertEquals(1, writtenBatches.get(0).size());
+        assertEquals(0.0, writer.getDroppedCount());
+    }
+
+    @Test
+    void flush_WhenInsertFails_ShouldRetryBatchAfterBackoffBeforeNewerEvents() {
+        doThrow(new RuntimeException("db down"))
+                .doAnswer(invocation -> writtenBatches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        AuditLog first = event(null);
+
+        writer.enqueue(first);
+        assertEquals(0, assertDoesNotThrow(writer::flush));
+        verifyNoInteractions(rollupAggregator);
+
+        AuditLog second = event(null);
+        writer.enqueue(second);
+        assertEquals(0, writer.flush());
+        verify(auditLogRepository, times(1)).saveAll(anyList());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(2, writer.flush());
+
+        assertEquals(List.of(List.of(first), List.of(second)), writtenBatches);
+        assertEquals(1, registry.get("audit.pipeline.retried").counter().count());
+        assertEquals(0, registry.get("audit.pipeline.failed").counter().count());
+        verify(rollupAggregator, times(2)).record(anyList());
+    }
+
+    @Test
+    void flush_WhileInsertsKeepFailing_ShouldDoubleBackoff() {
+        doThrow(new RuntimeException("db down")).when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        writer.enqueue(event(null));
+
+        writer.flush();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        writer.flush();
+        verify(auditLogRepository, times(2)).saveAll(anyList());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        writer.flush();
+        verify(auditLogRepository, times(2)).saveAll(anyList());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        writer.flush();
+        verify(auditLogRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void flush_AfterMaxRetryAttempts_ShouldDiscardRejectedEventAndWriteTheRest() {
+        AuditLog first = event(null);
+        AuditLog rejected = event(null);
+        AuditLog third = event(null);
+        doAnswer(invocation -> {
+            List<AuditLog> batch = invocation.getArgument(0);
+            if (batch.contains(rejected)) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return writtenBatches.add(new ArrayList<>(batch));
+        }).when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        writer.enqueue(first);
+        writer.enqueue(rejected);
+        writer.enqueue(third);
+
+        writer.flush();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        writer.flush();
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        writer.flush();
+        assertTrue(writtenBatches.isEmpty());
+
+        AuditLog newer = event(null);
+        writer.enqueue(newer);
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(3, writer.flush());
+
+        assertEquals(List.of(List.of(first), List.of(third), List.of(newer)), writtenBatches);
+        assertEquals(1, registry.get("audit.pipeline.rejected").counter().count());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void flush_AfterMaxRetryAttemptsWhileDatabaseIsDown_ShouldKeepWholeBatch() {
+        doThrow(new RuntimeException("db down")).when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        AuditLog first = event(null);
+        AuditLog second = event(null);
+        writer.enqueue(first);
+        writer.enqueue(second);
+        for (int attempt = 0; attempt < 4; attempt++) {
+            writer.flush();
+            clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        }
+        assertEquals(0, registry.get("audit.pipeline.rejected").counter().count());
+
+        doAnswer(invocation -> writtenBatches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(auditLogRepository).saveAll(anyList());
+        assertEquals(2, writer.flush());
+        assertEquals(List.of(List.of(first, second)), writtenBatches);
+    }
+
+    @Test
+    void flushPending_WithBatchAwaitingRetry_ShouldScheduleFlush() {
+        doThrow(new RuntimeException("db down")).when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        writer.enqueue(event(null));
+        writer.flush();
+
+        writer.flushPending();
+
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void stop_WhenInsertsFail_ShouldCountUnwrittenEventsAsFailed() {
+        doThrow(new RuntimeException("db down")).when(auditLogRepository).saveAll(anyList());
+        AuditLogBatchWriter writer = writer(16, 1, OverflowPolicy.DROP);
+        writer.enqueue(event(null));
+        runSubmitted();
+        writer.enqueue(event(null));
+        submitted.clear();
+
+        writer.stop();
+
+        assertEquals(2, registry.get("audit.pipeline.failed").counter().count());
+    }
+
+    @Test
+    void stop_ShouldDrainAndThenWriteSynchronously() {
+        AuditLogBatchWriter writer = writer(16, 10, OverflowPolicy.DROP);
+        writer.enqueue(event(null));
+        writer.enqueue(event(null));
+
+        writer.stop();
+        assertFalse(writer.isRunning());
+        assertEquals(1, writtenBatches.size());
+        assertEquals(2, writtenBatches.get(0).size());
+
+        writer.enqueue(event(null));
+        assertEquals(2, writtenBatches.size());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    private AuditLogBatchWriter writer(int capacity, int batchSize, OverflowPolicy policy) {
+        AuditLogBatchWriter writer = new AuditLogBatchWriter(auditLogRepository, userRepository, rollupAggregator, executor, registry,
+                capacity, batchSize, policy, Duration.ofMillis(5), Duration.ofSeconds(1), Duration.ofMinutes(1), 3, clock::get);
+        writer.start();
+        return writer;
+    }
+
+    private void runSubmitted() {
+        List<Runnable> tasks = new ArrayList<>(submitted);
+        submitted.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private AuditLog event(Long userId) {
+        return AuditLog.builder()
+                .userId(userId)
+                .action("GET_ARTICLE")
+                .entity("ARTICLE")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.port.out.AuditLogRollupRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditLogRollupAggregatorTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 19, 10, 15, 30);
+
+    private AuditLogRollupRepositoryPort rollupRepository;
+    private SimpleMeterRegistry registry;
+    private AuditLogRollupAggregator aggregator;
+    private List<List<AuditLogStat>> flushed;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = mock(AuditLogRollupRepositoryPort.class);
+        registry = new SimpleMeterRegistry();
+        flushed = new ArrayList<>();
+        doAnswer(invocation -> flushed.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(rollupRepository).addCounts(anyList());
+        aggregator = new AuditLogRollupAggregator(rollupRepository, registry,
+                Duration.ofDays(7), Duration.ofDays(90), Duration.ZERO);
+        aggregator.start();
+    }
+
+    @Test
+    void record_ShouldCountEachEventInEveryGranularity() {
+        aggregator.record(List.of(event(1L, "LOGIN", TIME), event(1L, "LOGIN", TIME.plusSeconds(10)),
+                event(2L, "LOGIN", TIME.plusMinutes(1))));
+
+        assertEquals(2 + 2 + 2, aggregator.getPendingCount());
+        verifyNoInteractions(rollupRepository);
+
+        assertEquals(6, aggregator.flush());
+        List<AuditLogStat> stats = flushed.get(0);
+        AuditLogStat minute = find(stats, AuditLogGranularity.MINUTE, TIME.withSecond(0), 1L);
+        assertEquals(2, minute.getCount());
+        AuditLogStat hour = find(stats, AuditLogGranularity.HOUR, TIME.withMinute(0).withSecond(0), 1L);
+        assertEquals(2, hour.getCount());
+        AuditLogStat day = find(stats, AuditLogGranularity.DAY, TIME.toLocalDate().atStartOfDay(), 2L);
+        assertEquals(1, day.getCount());
+        assertEquals("LOGIN", day.getAction());
+        assertEquals(0, aggregator.getPendingCount());
+    }
+
+    @Test
+    void flush_WhenNothingPending_ShouldNotTouchDatabase() {
+        aggregator.flushPending();
+        assertEquals(0, aggregator.flush());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepCountsForNextFlush() {
+        doThrow(new RuntimeException("db down")).doAnswer(invocation -> flushed.add(invocation.getArgument(0)))
+                .when(rollupRepository).addCounts(anyList());
+        aggregator.record(List.of(event(1L, "LOGIN", TIME)));
+
+        assertEquals(0, aggregator.flush());
+        assertEquals(1, registry.get("audit.rollups.flush.failed").counter().count());
+
+        aggregator.record(List.of(event(1L, "LOGIN", TIME)));
+        aggregator.flush();
+        assertEquals(2, find(flushed.get(0), AuditLogGranularity.MINUTE, TIME.withSecond(0), 1L).getCount());
+    }
+
+    @Test
+    void record_AfterStop_ShouldFlushImmediately() {
+        aggregator.stop();
+        assertFalse(aggregator.isRunning());
+
+        aggregator.record(List.of(event(null, "LOGIN_FAILED", TIME)));
+
+        assertEquals(1, flushed.size());
+        assertNull(flushed.get(0).get(0).getUserId());
+    }
+
+    @Test
+    void prune_ShouldSkipGranularitiesKeptForever() {
+        aggregator.prune();
+
+        verify(rollupRepository).deleteOlderThan(eq(AuditLogGranularity.MINUTE), any(LocalDateTime.class));
+        verify(rollupRepository).deleteOlderThan(eq(AuditLogGranularity.HOUR), any(LocalDateTime.class));
+        verify(rollupRepository, never()).deleteOlderThan(eq(AuditLogGranularity.DAY), any());
+    }
+
+    private AuditLogStat find(List<AuditLogStat> stats, AuditLogGranularity granularity, LocalDateTime bucket, Long userId) {
+        return stats.stream()
+                .filter(s -> s.getGranularity() == granularity && s.getBucketStart().equals(bucket)
+                        && userId.equals(s.getUserId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private AuditLog event(Long userId, String action, LocalDateTime timestamp) {
+        return AuditLog.builder()
+                .userId(userId)
+                .action(action)
+                .entity("USER")
+                .timestamp(timestamp)
+                .build();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.aziz.library.infrastructure.adapter.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aziz.library.domain.model.UserAgentInfo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserAgentParserAdapterTest {
+
+    private static final String EDGE = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.2210.91";
+    private static final String CHROME = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String IPHONE = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 "
+            + "(KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1";
+    private static final String MAC_SAFARI = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 "
+            + "(KHTML, like Gecko) Version/17.1 Safari/605.1.15";
+
+    private SimpleMeterRegistry registry;
+    private UserAgentParserAdapter parser;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        parser = new UserAgentParserAdapter(2, registry);
+    }
+
+    @Test
+    void parse_ShouldDetectChromiumEdgeInsteadOfChrome() {
+        UserAgentInfo info = parser.parse(EDGE);
+
+        assertEquals("Edge", info.getBrowser());
+        assertEquals("120.0.2210.91", info.getBrowserVersion());
+        assertEquals("Windows", info.getOperatingSystem());
+        assertEquals("Desktop", info.getDevice());
+
+        assertEquals("Chrome", parser.parse(CHROME).getBrowser());
+    }
+
+    @Test
+    void parse_ShouldClassifyIosSeparatelyFromMac() {
+        UserAgentInfo iphone = parser.parse(IPHONE);
+        assertEquals("iOS", iphone.getOperatingSystem());
+        assertEquals("Mobile", iphone.getDevice());
+        assertEquals("Safari", iphone.getBrowser());
+        assertEquals("17.1", iphone.getBrowserVersion());
+
+        assertEquals("macOS", parser.parse(MAC_SAFARI).getOperatingSystem());
+    }
+
+    @Test
+    void parse_WithMissingHeader_ShouldReturnUnknown() {
+        assertSame(UserAgentInfo.UNKNOWN, parser.parse(null));
+        assertSame(UserAgentInfo.UNKNOWN, parser.parse(" "));
+    }
+
+    @Test
+    void parse_ShouldServeRepeatsFromBoundedCache() {
+        UserAgentInfo first = parser.parse(CHROME);
+        assertSame(first, parser.parse(CHROME));
+
+        parser.parse(EDGE);
+        parser.parse(IPHONE);
+
+        assertEquals(2, parser.cacheSize());
+        assertEquals(1, registry.get("audit.user_agent.cache").tag("result", "hit").counter().count());
+        assertEquals(3, registry.get("audit.user_agent.cache").tag("result", "miss").counter().count());
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.aziz.library.infrastructure.adapter.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CompressingRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private SimpleMeterRegistry meterRegistry;
+    private CompressingRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serializer = new CompressingRedisSerializer(json, 256, meterRegistry);
+    }
+
+    @Test
+    void serialize_SmallValue_ShouldStoreJsonAsIs() {
+        Map<String, Object> value = new HashMap<>(Map.of("title", "Short"));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes).isEqualTo(json.serialize(value));
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+        assertThat(summary("cache.values.compressed.input").count()).isZero();
+    }
+
+    @Test
+    void serialize_LargeValue_ShouldGzipAndRoundTrip() {
+        Map<String, Object> value = new HashMap<>(Map.of("content", "All work and no play. ".repeat(200)));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo((byte) 0x1f);
+        assertThat(bytes[1]).isEqualTo((byte) 0x8b);
+        assertThat(bytes.length).isLessThan(json.serialize(value).length / 4);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void serialize_LargeValue_ShouldRecordSizesBeforeAndAfter() {
+        Map<String, Object> value = new HashMap<>(Map.of("content", "x".repeat(5000)));
+
+        byte[] bytes = serializer.serialize(value);
+
+        DistributionSummary input = summary("cache.values.compressed.input");
+        DistributionSummary output = summary("cache.values.compressed.output");
+        assertThat(input.count()).isEqualTo(1);
+        assertThat(input.totalAmount()).isEqualTo(json.serialize(value).length);
+        assertThat(output.totalAmount()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    void deserialize_ValueWrittenBeforeCompression_ShouldReadPlainJson() {
+        Map<String, Object> value = new HashMap<>(Map.of("content", "y".repeat(5000)));
+
+        assertThat(serializer.deserialize(json.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void nullValues_ShouldPassThrough() {
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void deserialize_CorruptCompressedValue_ShouldThrowSerializationException() {
+        byte[] corrupt = {(byte) 0x1f, (byte) 0x8b, 1, 2, 3};
+
+        assertThatThrownBy(() -> serializer.deserialize(corrupt))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void deserialize_JsonStartingWithQuote_ShouldNotBeMistakenForGzip() {
+        byte[] bytes = "\"text\"".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(serializer.deserialize(bytes)).isEqualTo("text");
+    }
+
+    private DistributionSummary summary(String name) {
+        return meterRegistry.get(name).summary();
+    }
+}
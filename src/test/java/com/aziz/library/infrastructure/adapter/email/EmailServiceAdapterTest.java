@@ -6,8 +6,8 @@ import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import java.lang.reflect.Field;
 
 
@@ -16,6 +16,10 @@ class EmailServiceAdapterTest {
     @Mock
     private JavaMailSender mailSender;
 
+    @Spy
+    private EmailTemplateEngine templateEngine = new EmailTemplateEngine(
+            new DefaultResourceLoader(), "classpath:templates/email/", false, 2000, "TestApp");
+
     @InjectMocks
     private EmailServiceAdapter emailServiceAdapter;
 
@@ -64,6 +68,19 @@ class EmailServiceAdapterTest {
         verify(mailSender).send(mimeMessage);
     }
 
+    @Test
+    void sendOtpEmail_withPlainTextEnabled_shouldRenderBothParts() throws Exception {
+        setField(emailServiceAdapter, "plainTextEnabled", true);
+        MimeMessage mimeMessage = mock(MimeMessage.class);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+
+        emailServiceAdapter.sendOtpEmail("user@example.com", "John Doe", "123456");
+
+        verify(templateEngine).render(eq("otp"), anyMap());
+        verify(templateEngine).renderText(eq("otp"), anyMap());
+        verify(mailSender).send(mimeMessage);
+    }
+
     @Test
     void sendEmail_shouldHandleMessagingException() throws Exception {
         MimeMessage mimeMessage = mock(MimeMessage.class);
@@ -74,9 +91,9 @@ class EmailServiceAdapterTest {
         String to = "fail@example.com";
         String subject = "subject";
         String htmlContent = "<html></html>";
-        var method = EmailServiceAdapter.class.getDeclaredMethod("sendEmail", String.class, String.class, String.class);
+        var method = EmailServiceAdapter.class.getDeclaredMethod("sendEmail", String.class, String.class, String.class, String.class);
         method.setAccessible(true);
-        method.invoke(emailServiceAdapter, to, subject, htmlContent);
+        method.invoke(emailServiceAdapter, to, subject, htmlContent, null);
 
         verify(mailSender).send(mimeMessage);
     }
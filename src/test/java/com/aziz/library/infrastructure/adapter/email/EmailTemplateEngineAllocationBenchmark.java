@@ -0,0 +1,66 @@
+package com.aziz.library.infrastructure.adapter.email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Compares the bytes allocated per send by {@link EmailTemplateEngine} with re-formatting the
+ * template on every send, as the text blocks it replaced did. Allocation counts move with JIT and
+ * GC state, so this only reports them and is not part of the build; run it with
+ * {@code mvn test -Dtest=EmailTemplateEngineAllocationBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class EmailTemplateEngineAllocationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateEngineAllocationBenchmark.class);
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int SENDS_PER_ROUND = 10_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void allocationPerSend() throws IOException {
+        EmailTemplateEngine engine = new EmailTemplateEngine(
+                new DefaultResourceLoader(), "classpath:templates/email/", false, 2000, "TestApp");
+        String format;
+        try (InputStream in = new DefaultResourceLoader().getResource("classpath:templates/email/otp.html").getInputStream()) {
+            format = new String(in.readAllBytes(), StandardCharsets.UTF_8).replaceAll("\\{\\{\\w+}}", "%s");
+        }
+        Map<String, Object> model = Map.of("fullname", "John Doe", "otpCode", "123456");
+        Runnable formatted = () -> format.formatted("TestApp", "John Doe", "123456", "TestApp");
+        Runnable rendered = () -> engine.render("otp", model);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            bytesPerSend(formatted);
+            bytesPerSend(rendered);
+        }
+        long formattedBytes = Long.MAX_VALUE;
+        long renderedBytes = Long.MAX_VALUE;
+        // The least of several rounds, as a GC or deoptimization only ever adds to a round
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            formattedBytes = Math.min(formattedBytes, bytesPerSend(formatted));
+            renderedBytes = Math.min(renderedBytes, bytesPerSend(rendered));
+        }
+        log.info("Bytes allocated per send: String.formatted={}, EmailTemplateEngine={}", formattedBytes, renderedBytes);
+    }
+
+    private long bytesPerSend(Runnable send) {
+        long start = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < SENDS_PER_ROUND; i++) {
+            send.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - start) / SENDS_PER_ROUND;
+    }
+}
@@ -0,0 +1,119 @@
+package com.aziz.library.infrastructure.adapter.email;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new EmailTemplateEngine(new DefaultResourceLoader(), "classpath:templates/email/", false, 2000, "TestApp");
+    }
+
+    @Test
+    void render_shouldFillSlotsAndFoldGlobals() {
+        String html = engine.render("otp", Map.of("fullname", "John Doe", "otpCode", "123456"));
+
+        assertTrue(html.contains("<h1>TestApp</h1>"));
+        assertTrue(html.contains("Hello John Doe,"));
+        assertTrue(html.contains("<div class=\"otp-code\">123456</div>"));
+        assertFalse(html.contains("{{"));
+    }
+
+    @Test
+    void render_shouldEscapeHtmlInValues() {
+        String html = engine.render("welcome", Map.of("fullname", "<script>alert('x')</script>"));
+
+        assertTrue(html.contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;"));
+        assertFalse(html.contains("<script>"));
+    }
+
+    @Test
+    void renderText_shouldReturnPlainTextAlternative() {
+        Optional<String> text = engine.renderText("account-locked", Map.of("fullname", "Jane", "minutes", 30));
+
+        assertTrue(text.isPresent());
+        assertTrue(text.get().contains("unlocked in 30 minutes"));
+    }
+
+    @Test
+    void renderText_whenTemplateMissing_shouldReturnEmpty() {
+        assertTrue(engine.renderText("does-not-exist", Map.of()).isEmpty());
+    }
+
+    @Test
+    void render_whenSlotMissing_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("otp", Map.of("fullname", "John")));
+    }
+
+    @Test
+    void compile_shouldRejectUnclosedSlot() {
+        assertThrows(IllegalArgumentException.class,
+            () -> EmailTemplate.compile("broken", "Hello {{name", Map.of(), true));
+    }
+
+    @Test
+    void render_withHotReload_shouldPickUpChangedFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("greeting.html");
+        Files.writeString(file, "Hi {{fullname}}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+
+        EmailTemplateEngine reloading = new EmailTemplateEngine(
+                new DefaultResourceLoader(), file.getParent().toUri().toString(), true, 0, "TestApp");
+        assertEquals("Hi Jane", reloading.render("greeting", Map.of("fullname", "Jane")));
+
+        Files.writeString(file, "Welcome {{fullname}} to {{appName}}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000L));
+
+        assertEquals("Welcome Jane to TestApp", reloading.render("greeting", Map.of("fullname", "Jane")));
+    }
+
+    @Test
+    void render_concurrentlyOnVirtualThreads_shouldNotShareBuffers() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                String name = "user" + i;
+                results.add(executor.submit(() -> engine.render("welcome", Map.of("fullname", name))));
+            }
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            String html = results.get(i).get();
+            assertTrue(html.contains("Hello user" + i + ","));
+            assertTrue(html.endsWith("</html>\n"));
+        }
+    }
+
+    @Test
+    void render_shouldMatchTemplateFormattedInOrder() throws IOException {
+        String source;
+        try (var in = new DefaultResourceLoader().getResource("classpath:templates/email/otp.html").getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // The text-block templates this engine replaced were filled the same way: each slot in turn, by String.formatted
+        String formatted = source.replaceAll("\\{\\{\\w+}}", "%s").formatted("TestApp", "John Doe", "123456", "TestApp");
+
+        assertEquals(formatted, engine.render("otp", Map.of("fullname", "John Doe", "otpCode", "123456")));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.aziz.library.domain.model.Article;
+
+class ArticleImportRepositoryAdapterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleImportRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleImportRepositoryAdapter(jdbcTemplate);
+    }
+
+    private static List<Article> articles(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        return IntStream.range(0, count)
+                .mapToObj(i -> Article.builder().title("Title " + i).content("Content " + i).authorId(7L)
+                        .createdAt(now).updatedAt(now).build())
+                .toList();
+    }
+
+    @Test
+    void insertAll_shouldTakeIdsFromSequenceBlocksAndBatchInsert() throws Exception {
+        when(jdbcTemplate.queryForList(startsWith("SELECT nextval"), eq(Long.class), eq(2)))
+                .thenReturn(List.of(150L, 200L));
+        List<Article> articles = articles(60);
+
+        List<Article> saved = adapter.insertAll(articles);
+
+        assertEquals(101L, saved.get(0).getId());
+        assertEquals(150L, saved.get(49).getId());
+        assertEquals(151L, saved.get(50).getId());
+        assertEquals(160L, saved.get(59).getId());
+        assertEquals(0L, saved.get(0).getVersion());
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO articles"), setter.capture());
+        assertEquals(60, setter.getValue().getBatchSize());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 1);
+        verify(ps).setLong(1, 102L);
+        verify(ps).setString(2, "Title 1");
+        verify(ps).setLong(4, 7L);
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO tags"), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void insertAll_onFreshSequence_shouldUseFirstValueAloneAndAskAgain() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT nextval"), eq(Long.class), eq(1)))
+                .thenReturn(List.of(1L), List.of(51L));
+
+        List<Article> saved = adapter.insertAll(articles(3));
+
+        assertEquals(List.of(1L, 2L, 3L), saved.stream().map(Article::getId).toList());
+    }
+
+    @Test
+    void insertAll_withTags_shouldCreateMissingTagsAndLinkThem() throws Exception {
+        when(jdbcTemplate.queryForList(startsWith("SELECT nextval"), eq(Long.class), eq(1))).thenReturn(List.of(50L));
+        List<Article> articles = articles(2);
+        articles.get(0).setTags(List.of("design", "interior"));
+        articles.get(1).setTags(List.of("design"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("name")).thenReturn("design", "interior");
+            when(rs.getLong("id")).thenReturn(1L, 2L);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, name FROM tags"), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+
+        adapter.insertAll(articles);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO tags"), any(PreparedStatementSetter.class));
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO article_tags"), setter.capture());
+        assertEquals(3, setter.getValue().getBatchSize());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 2);
+        verify(ps).setLong(1, 2L);
+        verify(ps).setLong(2, 1L);
+    }
+
+    @Test
+    void insertAll_withNoArticles_shouldSkipDatabase() {
+        assertTrue(adapter.insertAll(List.of()).isEmpty());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -1,27 +1,46 @@
 package com.aziz.library.infrastructure.adapter.persistence;
 
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticlePatch;
 import com.aziz.library.infrastructure.adapter.persistence.entity.ArticleEntity;
+import com.aziz.library.infrastructure.adapter.persistence.entity.TagEntity;
 import com.aziz.library.infrastructure.adapter.persistence.repository.ArticleRepository;
+import com.aziz.library.infrastructure.adapter.persistence.repository.TagRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class ArticleRepositoryAdapterTest {
 
     private ArticleRepository articleRepository;
+    private TagRepository tagRepository;
+    private JdbcTemplate jdbcTemplate;
     private ArticleRepositoryAdapter adapter;
 
     @BeforeEach
     void setUp() {
         articleRepository = mock(ArticleRepository.class);
-        adapter = new ArticleRepositoryAdapter(articleRepository);
+        tagRepository = mock(TagRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleRepositoryAdapter(articleRepository, tagRepository, jdbcTemplate);
     }
 
     private ArticleEntity sampleEntity() {
@@ -53,12 +72,12 @@ class ArticleRepositoryAdapterTest {
         Article article = sampleDomain();
         ArticleEntity entity = sampleEntity();
 
-        when(articleRepository.save(any(ArticleEntity.class))).thenReturn(entity);
+        when(articleRepository.saveAndFlush(any(ArticleEntity.class))).thenReturn(entity);
 
         Article result = adapter.save(article);
 
         ArgumentCaptor<ArticleEntity> captor = ArgumentCaptor.forClass(ArticleEntity.class);
-        verify(articleRepository).save(captor.capture());
+        verify(articleRepository).saveAndFlush(captor.capture());
         assertThat(captor.getValue().getTitle()).isEqualTo(article.getTitle());
         assertThat(result.getId()).isEqualTo(entity.getId());
         assertThat(result.getTitle()).isEqualTo(entity.getTitle());
@@ -133,4 +152,160 @@ class ArticleRepositoryAdapterTest {
         adapter.deleteById(1L);
         verify(articleRepository).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void save_withNewTag_shouldCreateItAndLinkBoth() {
+        Article article = sampleDomain();
+        article.setTags(List.of("design", "interior"));
+        TagEntity design = TagEntity.builder().id(1L).name("design").build();
+        TagEntity interior = TagEntity.builder().id(2L).name("interior").build();
+
+        when(tagRepository.findByNameIn(article.getTags()))
+                .thenReturn(List.of(design))
+                .thenReturn(List.of(design, interior));
+        when(articleRepository.saveAndFlush(any(ArticleEntity.class))).thenAnswer(i -> i.getArgument(0));
+
+        Article result = adapter.save(article);
+
+        verify(tagRepository).insertIfAbsent("interior");
+        verify(tagRepository, never()).insertIfAbsent("design");
+        assertThat(result.getTags()).containsExactly("design", "interior");
+    }
+
+    @Test
+    void findAllById_shouldMapTagsAlphabetically() {
+        ArticleEntity entity = sampleEntity();
+        entity.setTags(Set.of(
+                TagEntity.builder().id(2L).name("interior").build(),
+                TagEntity.builder().id(1L).name("design").build()));
+        when(articleRepository.findAllById(List.of(1L))).thenReturn(List.of(entity));
+
+        List<Article> result = adapter.findAllById(List.of(1L));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTags()).containsExactly("design", "interior");
+    }
+
+    @Test
+    void patch_shouldSetOnlyChangedFieldsAndFlush() {
+        ArticleEntity entity = sampleEntity();
+        entity.setVersion(3L);
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 2, 3, 4);
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+        Optional<Article> result = adapter.patch(1L, ArticlePatch.builder()
+                .title("Title")
+                .isPublic(false)
+                .updatedAt(updatedAt)
+                .build());
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isPublic()).isFalse();
+        assertThat(result.get().getContent()).isEqualTo("Content");
+        assertThat(entity.getUpdatedAt()).isEqualTo(updatedAt);
+        verify(articleRepository).flush();
+        verify(articleRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patch_changingNothing_shouldNotFlush() {
+        ArticleEntity entity = sampleEntity();
+        LocalDateTime updatedAt = entity.getUpdatedAt();
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+        adapter.patch(1L, ArticlePatch.builder()
+                .title("Title")
+                .isPublic(true)
+                .tags(List.of())
+                .updatedAt(LocalDateTime.now().plusDays(1))
+                .build());
+
+        assertThat(entity.getUpdatedAt()).isEqualTo(updatedAt);
+        verify(articleRepository, never()).flush();
+        verifyNoInteractions(tagRepository);
+    }
+
+    @Test
+    void patch_withTags_shouldChangeTagSetInPlace() {
+        TagEntity design = TagEntity.builder().id(1L).name("design").build();
+        TagEntity interior = TagEntity.builder().id(2L).name("interior").build();
+        TagEntity color = TagEntity.builder().id(3L).name("color").build();
+        ArticleEntity entity = sampleEntity();
+        Set<TagEntity> tags = new HashSet<>(Set.of(design, interior));
+        entity.setTags(tags);
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(tagRepository.findByNameIn(List.of("color", "design"))).thenReturn(List.of(color, design));
+
+        Optional<Article> result = adapter.patch(1L, ArticlePatch.builder().tags(List.of("color", "design")).build());
+
+        assertThat(entity.getTags()).isSameAs(tags).containsExactlyInAnyOrder(color, design);
+        assertThat(result.get().getTags()).containsExactly("color", "design");
+        verify(articleRepository).flush();
+    }
+
+    @Test
+    void patch_withStaleVersion_shouldThrow() {
+        ArticleEntity entity = sampleEntity();
+        entity.setVersion(3L);
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(entity));
+
+        assertThatThrownBy(() -> adapter.patch(1L, ArticlePatch.builder().title("New title").version(2L).build()))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(entity.getTitle()).isEqualTo("Title");
+    }
+
+    @Test
+    void patch_missingArticle_shouldReturnEmpty() {
+        when(articleRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(adapter.patch(1L, ArticlePatch.builder().title("New title").build())).isEmpty();
+        verify(articleRepository, never()).flush();
+    }
+
+    @Test
+    void streamAll_shouldUseServerSideCursorAndMapRowsWithTags() throws Exception {
+        List<Article> streamed = new ArrayList<>();
+        adapter.streamAll(7L, true, streamed::add);
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        ArgumentCaptor<RowCallbackHandler> handler = ArgumentCaptor.forClass(RowCallbackHandler.class);
+        verify(jdbcTemplate).query(creator.capture(), handler.capture());
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(connection.prepareStatement(sql.capture(), anyInt(), anyInt())).thenReturn(ps);
+        creator.getValue().createPreparedStatement(connection);
+        assertThat(sql.getValue()).endsWith("WHERE a.author_id = ? AND a.is_public ORDER BY a.id");
+        verify(ps).setFetchSize(500);
+        verify(ps).setObject(1, 7L);
+
+        ResultSet rs = mock(ResultSet.class);
+        Array tags = mock(Array.class);
+        when(rs.getLong("id")).thenReturn(3L);
+        when(rs.getLong("author_id")).thenReturn(7L);
+        when(rs.getString("title")).thenReturn("Title");
+        when(rs.getBoolean("is_public")).thenReturn(true);
+        when(rs.getArray("tags")).thenReturn(tags);
+        when(tags.getArray()).thenReturn(new String[] {"design", "interior"});
+        handler.getValue().processRow(rs);
+
+        assertThat(streamed).hasSize(1);
+        assertThat(streamed.get(0).getId()).isEqualTo(3L);
+        assertThat(streamed.get(0).getTitle()).isEqualTo("Title");
+        assertThat(streamed.get(0).getTags()).containsExactly("design", "interior");
+    }
+
+    @Test
+    void streamAll_withoutRestrictions_shouldReadEveryArticle() throws Exception {
+        adapter.streamAll(null, false, article -> { });
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(connection.prepareStatement(sql.capture(), anyInt(), anyInt())).thenReturn(mock(PreparedStatement.class));
+        creator.getValue().createPreparedStatement(connection);
+        assertThat(sql.getValue()).doesNotContain("a.author_id =").endsWith("FROM articles a\n ORDER BY a.id");
+    }
+}
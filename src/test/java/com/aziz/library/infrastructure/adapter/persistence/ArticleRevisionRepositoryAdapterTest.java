@@ -0,0 +1,153 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.infrastructure.adapter.persistence.ArticleRevisionRepositoryAdapter.StoredRevision;
+
+class ArticleRevisionRepositoryAdapterTest {
+
+    private static final String V1 = "The first draft of an article about interior design, long enough to be worth a delta. ".repeat(3);
+    private static final String V2 = V1.replace("first draft", "second draft");
+    private static final String V3 = V2.replace("interior design", "interior and garden design");
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleRevisionRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleRevisionRepositoryAdapter(jdbcTemplate);
+    }
+
+    private static Article article(long version, String content) {
+        return Article.builder().id(1L).title("Title " + version).content(content).isPublic(true)
+                .tags(List.of("design")).updatedAt(LocalDateTime.of(2026, 1, (int) version, 12, 0)).version(version).build();
+    }
+
+    private static StoredRevision delta(long version, String content, String next) {
+        return new StoredRevision(version, "Title " + version, true, List.of("design"), null,
+                ContentDelta.encode(next.getBytes(UTF_8), content.getBytes(UTF_8)), LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+
+    private static StoredRevision whole(long version, String content) {
+        return new StoredRevision(version, "Title " + version, false, List.of(), content, null,
+                LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenChain(long version, StoredRevision... rows) {
+        when(jdbcTemplate.query(startsWith("SELECT version, title, is_public, tags, content"), any(RowMapper.class),
+                eq(1L), eq(version), eq(ArticleRevisionRepositoryAdapter.SNAPSHOT_INTERVAL)))
+                .thenReturn(new ArrayList<>(List.of(rows)));
+    }
+
+    private PreparedStatement recordAndCaptureInsert(Article previous, Article current) throws Exception {
+        adapter.record(previous, current);
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO article_revisions"), setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("varchar"), any())).thenReturn(mock(Array.class));
+        setter.getValue().setValues(ps);
+        return ps;
+    }
+
+    @Test
+    void record_smallEdit_shouldStoreDeltaAgainstNewContent() throws Exception {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Integer.class), eq(1L))).thenReturn(3);
+
+        PreparedStatement ps = recordAndCaptureInsert(article(1, V1), article(2, V2));
+
+        verify(ps).setLong(2, 1L);
+        verify(ps).setString(3, "Title 1");
+        verify(ps).setString(6, null);
+        ArgumentCaptor<byte[]> delta = ArgumentCaptor.forClass(byte[].class);
+        verify(ps).setBytes(eq(7), delta.capture());
+        assertEquals(V1, new String(ContentDelta.apply(V2.getBytes(UTF_8), delta.getValue()), UTF_8));
+    }
+
+    @Test
+    void record_afterTooManyDeltas_shouldStoreWholeContent() throws Exception {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Integer.class), eq(1L)))
+                .thenReturn(ArticleRevisionRepositoryAdapter.SNAPSHOT_INTERVAL - 1);
+
+        PreparedStatement ps = recordAndCaptureInsert(article(1, V1), article(2, V2));
+
+        verify(ps).setString(6, V1);
+        verify(ps).setBytes(7, null);
+    }
+
+    @Test
+    void record_rewrite_shouldStoreWholeContent() throws Exception {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT count(*)"), eq(Integer.class), eq(1L))).thenReturn(0);
+
+        PreparedStatement ps = recordAndCaptureInsert(article(1, V1), article(2, "Something else entirely."));
+
+        verify(ps).setString(6, V1);
+        verify(ps).setBytes(7, null);
+    }
+
+    @Test
+    void findByVersion_newestDeltas_shouldRebuildFromArticle() {
+        givenChain(1L, delta(1, V1, V2), delta(2, V2, V3));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT content FROM articles"), eq(String.class), eq(1L)))
+                .thenReturn(V3);
+
+        Optional<ArticleRevision> revision = adapter.findByVersion(1L, 1L);
+
+        assertTrue(revision.isPresent());
+        assertEquals(V1, revision.get().getContent());
+        assertEquals("Title 1", revision.get().getTitle());
+        assertEquals(1L, revision.get().getVersion());
+        assertEquals(List.of("design"), revision.get().getTags());
+    }
+
+    @Test
+    void findByVersion_belowWholeRevision_shouldStopThere() {
+        givenChain(1L, delta(1, V1, V2), whole(2, V2), delta(3, V3, "unused"));
+
+        Optional<ArticleRevision> revision = adapter.findByVersion(1L, 1L);
+
+        assertEquals(V1, revision.orElseThrow().getContent());
+        verify(jdbcTemplate, never()).queryForObject(startsWith("SELECT content FROM articles"), eq(String.class), any());
+    }
+
+    @Test
+    void findByVersion_wholeRevision_shouldReturnItsContent() {
+        givenChain(2L, whole(2, V2));
+
+        ArticleRevision revision = adapter.findByVersion(1L, 2L).orElseThrow();
+
+        assertEquals(V2, revision.getContent());
+        assertFalse(revision.isPublic());
+    }
+
+    @Test
+    void findByVersion_notStored_shouldBeEmpty() {
+        givenChain(4L, whole(5, V2));
+
+        assertTrue(adapter.findByVersion(1L, 4L).isEmpty());
+    }
+}
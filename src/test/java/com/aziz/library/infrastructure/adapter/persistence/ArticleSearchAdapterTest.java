@@ -0,0 +1,63 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import com.aziz.library.domain.model.ArticleSearchQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ArticleSearchAdapterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleSearchAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleSearchAdapter(jdbcTemplate, 500);
+    }
+
+    @Test
+    void search_withoutRestrictions_shouldBindTextCapAndPage() {
+        adapter.search(ArticleSearchQuery.builder().text("spring boot").offset(40).limit(21).build());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+
+        assertThat(sql.getValue())
+                .contains("websearch_to_tsquery('english', ?)")
+                .doesNotContain("author_id = ?")
+                .doesNotContain("AND is_public");
+        Object[] values = params.getValue();
+        assertThat(values).hasSize(6);
+        assertThat(values[0]).isEqualTo("spring boot");
+        assertThat(values).endsWith(500, 21, 40);
+    }
+
+    @Test
+    void search_forAuthorAndPublicOnly_shouldAddVisibilityFilters() {
+        adapter.search(ArticleSearchQuery.builder().text("spring").authorId(9L).publicOnly(true).offset(0).limit(11).build());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+
+        assertThat(sql.getValue()).contains("AND author_id = ? AND is_public");
+        assertThat(params.getValue()).containsSequence(9L, 500, 11, 0);
+    }
+
+    @Test
+    void toHtml_shouldEscapeTextBeforeAddingMarks() {
+        String highlighted = "<b>Spring</b> & \u0002boot\u0003";
+
+        assertThat(ArticleSearchAdapter.toHtml(highlighted))
+                .isEqualTo("&lt;b&gt;Spring&lt;/b&gt; &amp; <mark>boot</mark>");
+        assertThat(ArticleSearchAdapter.toHtml(null)).isNull();
+    }
+}
@@ -0,0 +1,53 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+class ArticleViewRepositoryAdapterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleViewRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleViewRepositoryAdapter(jdbcTemplate);
+    }
+
+    @Test
+    void addViews_ShouldUpdateInIdOrderAndReadBackTotals() throws Exception {
+        adapter.addViews(Map.of(9L, 2L, 3L, 5L));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), setter.capture());
+        assertEquals("UPDATE articles SET views = views + ? WHERE id = ?", sql.getValue());
+        assertEquals(2, setter.getValue().getBatchSize());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 0);
+        verify(ps).setLong(1, 5L);
+        verify(ps).setLong(2, 3L);
+        verify(jdbcTemplate).query(startsWith("SELECT id, views FROM articles"), any(PreparedStatementSetter.class),
+                any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void addViews_WithNoViews_ShouldSkipDatabase() {
+        assertEquals(Map.of(), adapter.addViews(Map.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,43 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AuditLogPartitionMaintainerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        maintainer = new AuditLogPartitionMaintainer(jdbcTemplate, 3, 2, 24);
+    }
+
+    @Test
+    void maintain_ShouldCallDatabaseFunctionWithConfiguredWindows() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("created audit_logs_p202701", "brin audit_logs_p202607"));
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate).queryForList("SELECT maintain_audit_log_partitions(?, ?, ?)", String.class, 3, 2, 24);
+    }
+
+    @Test
+    void maintain_WhenDatabaseUnavailable_ShouldNotThrow() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertDoesNotThrow(maintainer::maintain);
+    }
+
+}
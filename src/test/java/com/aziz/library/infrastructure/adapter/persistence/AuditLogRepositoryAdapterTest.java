@@ -1,11 +1,18 @@
 package com.aziz.library.infrastructure.adapter.persistence;
 
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
 import com.aziz.library.infrastructure.adapter.persistence.entity.AuditLogEntity;
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserAgentEntity;
 import com.aziz.library.infrastructure.adapter.persistence.repository.AuditLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import java.sql.PreparedStatement;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -16,12 +23,16 @@ import static org.mockito.Mockito.*;
 class AuditLogRepositoryAdapterTest {
 
     private AuditLogRepository auditLogRepository;
+    private JdbcTemplate jdbcTemplate;
+    private UserAgentInterner userAgentInterner;
     private AuditLogRepositoryAdapter adapter;
 
     @BeforeEach
     void setUp() {
         auditLogRepository = mock(AuditLogRepository.class);
-        adapter = new AuditLogRepositoryAdapter(auditLogRepository);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        userAgentInterner = mock(UserAgentInterner.class);
+        adapter = new AuditLogRepositoryAdapter(auditLogRepository, jdbcTemplate, userAgentInterner);
     }
 
     @Test
@@ -29,68 +40,88 @@ class AuditLogRepositoryAdapterTest {
         AuditLog auditLog = buildAuditLog(1L);
         AuditLogEntity entity = buildAuditLogEntity(1L);
 
+        when(userAgentInterner.intern(auditLog)).thenReturn(7);
         when(auditLogRepository.save(any(AuditLogEntity.class))).thenReturn(entity);
 
         AuditLog result = adapter.save(auditLog);
 
         assertNotNull(result);
         assertEquals(auditLog.getId(), result.getId());
-        verify(auditLogRepository).save(any(AuditLogEntity.class));
+        ArgumentCaptor<AuditLogEntity> saved = ArgumentCaptor.forClass(AuditLogEntity.class);
+        verify(auditLogRepository).save(saved.capture());
+        assertEquals(7, saved.getValue().getUserAgentId());
     }
 
     @Test
-    void findAll_ShouldReturnListOfAuditLogs() {
-        AuditLogEntity entity1 = buildAuditLogEntity(1L);
-        AuditLogEntity entity2 = buildAuditLogEntity(2L);
-
-        when(auditLogRepository.findAll()).thenReturn(Arrays.asList(entity1, entity2));
-
-        List<AuditLog> result = adapter.findAll();
-
-        assertEquals(2, result.size());
-        assertEquals(entity1.getId(), result.get(0).getId());
-        assertEquals(entity2.getId(), result.get(1).getId());
-        verify(auditLogRepository).findAll();
+    void saveAll_ShouldIssueSingleJdbcBatch() throws Exception {
+        List<AuditLog> logs = Arrays.asList(buildAuditLog(null), buildAuditLog(null), buildAuditLog(null));
+        when(userAgentInterner.intern(any(AuditLog.class))).thenReturn(3);
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+
+        adapter.saveAll(logs);
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO audit_logs"), setter.capture());
+        assertEquals(3, setter.getValue().getBatchSize());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 1);
+        verify(ps).setString(3, "LOGIN");
+        verify(ps).setObject(1, 10L, java.sql.Types.BIGINT);
+        verify(ps).setObject(8, 3, java.sql.Types.INTEGER);
+        verify(userAgentInterner, times(3)).intern(any(AuditLog.class));
+        verifyNoInteractions(auditLogRepository);
     }
 
     @Test
-    void findByUserId_ShouldReturnListOfAuditLogs() {
-        Long userId = 10L;
-        AuditLogEntity entity = buildAuditLogEntity(1L);
-        when(auditLogRepository.findByUserId(userId)).thenReturn(Collections.singletonList(entity));
+    void saveAll_WithEmptyList_ShouldNotTouchDatabase() {
+        adapter.saveAll(Collections.emptyList());
 
-        List<AuditLog> result = adapter.findByUserId(userId);
+        verifyNoInteractions(jdbcTemplate, auditLogRepository);
+    }
 
-        assertEquals(1, result.size());
-        assertEquals(entity.getId(), result.get(0).getId());
-        verify(auditLogRepository).findByUserId(userId);
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPage_ShouldApplyFiltersAndKeysetAfterCursor() {
+        LocalDateTime cursorTime = LocalDateTime.of(2026, 10, 1, 12, 0);
+        AuditLogFilter filter = AuditLogFilter.builder().userId(10L).action("LOGIN").build();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        adapter.findPage(filter, new AuditLogCursor(cursorTime, 99L), 21);
+
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertTrue(sql.getValue().contains("user_id = ? AND action = ?"));
+        assertTrue(sql.getValue().contains("timestamp <= ? AND (timestamp < ? OR id < ?)"));
+        assertTrue(sql.getValue().endsWith("ORDER BY timestamp DESC, id DESC LIMIT ?"));
+        assertArrayEquals(new Object[] {10L, "LOGIN", cursorTime, cursorTime, 99L, 21}, params.getValue());
     }
 
     @Test
-    void findByAction_ShouldReturnListOfAuditLogs() {
-        String action = "LOGIN";
-        AuditLogEntity entity = buildAuditLogEntity(1L);
-        when(auditLogRepository.findByAction(action)).thenReturn(Collections.singletonList(entity));
+    @SuppressWarnings("unchecked")
+    void findPage_WithoutFilterOrCursor_ShouldNotAddWhereClause() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
 
-        List<AuditLog> result = adapter.findByAction(action);
+        adapter.findPage(null, null, 51);
 
-        assertEquals(1, result.size());
-        assertEquals(entity.getAction(), result.get(0).getAction());
-        verify(auditLogRepository).findByAction(action);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), any(Object[].class));
+        assertFalse(sql.getValue().contains("WHERE"));
     }
 
     @Test
-    void findByTimestampBetween_ShouldReturnListOfAuditLogs() {
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now();
+    void save_ShouldResolveUserAgentFromDimension() {
         AuditLogEntity entity = buildAuditLogEntity(1L);
-        when(auditLogRepository.findByTimestampBetween(start, end)).thenReturn(Collections.singletonList(entity));
+        entity.setUserAgentId(5);
+        when(auditLogRepository.save(any(AuditLogEntity.class))).thenReturn(entity);
+        when(userAgentInterner.lookup(5)).thenReturn(UserAgentEntity.builder()
+                .id(5).browser("Firefox").browserVersion("121.0").device("Desktop").operatingSystem("Linux").build());
 
-        List<AuditLog> result = adapter.findByTimestampBetween(start, end);
+        AuditLog result = adapter.save(buildAuditLog(1L));
 
-        assertEquals(1, result.size());
-        assertEquals(entity.getTimestamp(), result.get(0).getTimestamp());
-        verify(auditLogRepository).findByTimestampBetween(start, end);
+        assertEquals("Firefox", result.getBrowser());
+        assertEquals("121.0", result.getBrowserVersion());
+        assertEquals("Linux", result.getOperatingSystem());
     }
 
     private AuditLog buildAuditLog(Long id) {
@@ -120,9 +151,6 @@ class AuditLogRepositoryAdapterTest {
                 .entityId(100L)
                 .details("details")
                 .ipAddress("127.0.0.1")
-                .browser("Chrome")
-                .device("PC")
-                .operatingSystem("Windows")
                 .timestamp(LocalDateTime.now())
                 .build();
     }
@@ -0,0 +1,92 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
+
+class AuditLogRollupRepositoryAdapterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogRollupRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new AuditLogRollupRepositoryAdapter(jdbcTemplate);
+    }
+
+    @Test
+    void addCounts_ShouldUpsertInKeyOrder() throws Exception {
+        LocalDateTime bucket = LocalDateTime.of(2026, 10, 19, 10, 0);
+        AuditLogStat later = AuditLogStat.builder().granularity(AuditLogGranularity.HOUR)
+                .bucketStart(bucket.plusHours(1)).action("LOGIN").userId(1L).count(2).build();
+        AuditLogStat earlier = AuditLogStat.builder().granularity(AuditLogGranularity.HOUR)
+                .bucketStart(bucket).action("LOGIN").count(5).build();
+
+        adapter.addCounts(List.of(later, earlier));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> setter = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), setter.capture());
+        assertTrue(sql.getValue().contains("count = audit_log_rollups.count + EXCLUDED.count"));
+        assertEquals(2, setter.getValue().getBatchSize());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, 0);
+        verify(ps).setTimestamp(2, Timestamp.valueOf(bucket));
+        verify(ps).setLong(6, 5L);
+    }
+
+    @Test
+    void addCounts_WithNoIncrements_ShouldSkipDatabase() {
+        adapter.addCounts(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findStats_ShouldGroupByRequestedDimensionsOnly() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 10, 42);
+        LocalDateTime end = start.plusHours(5);
+        AuditLogFilter filter = AuditLogFilter.builder().action("LOGIN").start(start).end(end).build();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        adapter.findStats(AuditLogGranularity.HOUR, filter, EnumSet.of(AuditLogStatDimension.USER));
+
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertTrue(sql.getValue().startsWith("SELECT bucket_start, user_id, sum(count)"));
+        assertTrue(sql.getValue().endsWith("GROUP BY bucket_start, user_id ORDER BY bucket_start, user_id"));
+        assertArrayEquals(new Object[] {"HOUR", start.withMinute(0), end, "LOGIN"}, params.getValue());
+    }
+
+    @Test
+    void deleteOlderThan_ShouldDeleteOneGranularity() {
+        LocalDateTime cutoff = LocalDateTime.of(2026, 10, 12, 0, 0);
+
+        adapter.deleteOlderThan(AuditLogGranularity.MINUTE, cutoff);
+
+        verify(jdbcTemplate).update(anyString(), eq("MINUTE"), eq(Timestamp.valueOf(cutoff)));
+    }
+
+}
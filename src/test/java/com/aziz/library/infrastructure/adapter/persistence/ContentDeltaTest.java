@@ -0,0 +1,96 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ContentDeltaTest {
+
+    private static final String TEXT = "Interior design is the art and science of enhancing the interior of a building "
+            + "to achieve a healthier and more aesthetically pleasing environment for the people using the space. "
+            + "An interior designer is someone who plans, researches, coordinates, and manages such enhancement projects. ";
+
+    private static byte[] roundTrip(String base, String target) {
+        byte[] delta = ContentDelta.encode(base.getBytes(UTF_8), target.getBytes(UTF_8));
+        assertEquals(target, new String(ContentDelta.apply(base.getBytes(UTF_8), delta), UTF_8));
+        return delta;
+    }
+
+    @Test
+    void encode_identicalContent_shouldBeOneCopy() {
+        byte[] delta = roundTrip(TEXT, TEXT);
+
+        assertTrue(delta.length < 8, "delta of " + delta.length + " bytes");
+    }
+
+    @Test
+    void encode_editInTheMiddle_shouldCostAboutTheEdit() {
+        String edited = TEXT.replace("healthier", "calmer, healthier");
+
+        byte[] delta = roundTrip(TEXT, edited);
+
+        assertTrue(delta.length < 40, "delta of " + delta.length + " bytes");
+    }
+
+    @Test
+    void encode_movedAndDeletedParagraphs_shouldRoundTrip() {
+        String first = TEXT.repeat(3);
+        String second = "A new opening line.\n" + TEXT.substring(80) + TEXT.substring(0, 80) + "Closing.";
+
+        roundTrip(first, second);
+        roundTrip(second, first);
+    }
+
+    @Test
+    void encode_emptyOrShortSides_shouldRoundTrip() {
+        roundTrip("", TEXT);
+        roundTrip(TEXT, "");
+        roundTrip("", "");
+        roundTrip("short", "shorter");
+    }
+
+    @Test
+    void encode_multiByteCharacters_shouldRoundTrip() {
+        String base = "Ünïcödé ✓ 日本語のテキスト 🎨 ".repeat(10);
+
+        roundTrip(base, base.replace("🎨", "🖌️ and 🎨"));
+    }
+
+    @Test
+    void encode_randomEdits_shouldRoundTrip() {
+        Random random = new Random(47);
+        byte[] base = new byte[4000];
+        random.nextBytes(base);
+        for (int round = 0; round < 50; round++) {
+            byte[] target = Arrays.copyOf(base, base.length);
+            for (int edit = 0; edit < 5; edit++) {
+                target[random.nextInt(target.length)] = (byte) random.nextInt();
+            }
+            target = Arrays.copyOfRange(target, random.nextInt(100), target.length - random.nextInt(100));
+
+            byte[] delta = ContentDelta.encode(base, target);
+
+            assertArrayEquals(target, ContentDelta.apply(base, delta));
+            assertTrue(delta.length < 400, "delta of " + delta.length + " bytes");
+        }
+    }
+
+    @Test
+    void apply_againstTheWrongBase_shouldThrow() {
+        byte[] delta = ContentDelta.encode(TEXT.getBytes(UTF_8), TEXT.getBytes(UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> ContentDelta.apply("too short".getBytes(UTF_8), delta));
+    }
+
+    @Test
+    void apply_truncatedDelta_shouldThrow() {
+        byte[] delta = ContentDelta.encode("".getBytes(UTF_8), TEXT.getBytes(UTF_8));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ContentDelta.apply(new byte[0], Arrays.copyOf(delta, delta.length - 10)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.aziz.library.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserAgentEntity;
+import com.aziz.library.infrastructure.adapter.persistence.repository.UserAgentRepository;
+
+class UserAgentInternerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserAgentRepository userAgentRepository;
+    private UserAgentInterner interner;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        userAgentRepository = mock(UserAgentRepository.class);
+        interner = new UserAgentInterner(jdbcTemplate, userAgentRepository, 100);
+    }
+
+    @Test
+    void intern_ShouldUpsertOnceAndServeRepeatsFromMemory() {
+        when(jdbcTemplate.queryForObject(startsWith("INSERT INTO user_agents"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(42);
+
+        assertEquals(42, interner.intern(chromeOnWindows()));
+        assertEquals(42, interner.intern(chromeOnWindows()));
+
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+        assertEquals("Chrome", interner.lookup(42).getBrowser());
+        verifyNoInteractions(userAgentRepository);
+    }
+
+    @Test
+    void intern_WithoutAnyUserAgentData_ShouldReturnNull() {
+        assertNull(interner.intern(AuditLog.builder().action("LOGIN").build()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void lookup_WhenNotCached_ShouldLoadFromRepository() {
+        when(userAgentRepository.findById(9)).thenReturn(Optional.of(UserAgentEntity.builder().id(9).browser("Safari").build()));
+
+        assertEquals("Safari", interner.lookup(9).getBrowser());
+        interner.lookup(9);
+
+        verify(userAgentRepository, times(1)).findById(9);
+        assertNull(interner.lookup(null));
+    }
+
+    @Test
+    void fingerprint_ShouldMatchPostgresMd5OfJoinedColumns() {
+        // SELECT md5(concat_ws(E'\x1f', '', 'Chrome', '', 'Desktop', 'Windows'))::uuid
+        assertEquals(UUID.fromString("e973bf3a-e9fe-304a-ff2f-6dea64250270"),
+                UserAgentInterner.fingerprint(null, "Chrome", null, "Desktop", "Windows"));
+        assertEquals(UserAgentInterner.fingerprint(null, "Chrome", null, "Desktop", "Windows"),
+                UserAgentInterner.fingerprint("", "Chrome", "", "Desktop", "Windows"));
+        assertNotEquals(UserAgentInterner.fingerprint(null, "Chrome", null, "Desktop", "Windows"),
+                UserAgentInterner.fingerprint(null, "Chrome", null, "Mobile", "Windows"));
+    }
+
+    private AuditLog chromeOnWindows() {
+        return AuditLog.builder()
+                .userAgent("Mozilla/5.0 (Windows NT 10.0) Chrome/120.0.0.0")
+                .browser("Chrome")
+                .browserVersion("120.0.0.0")
+                .device("Desktop")
+                .operatingSystem("Windows")
+                .build();
+    }
+
+}
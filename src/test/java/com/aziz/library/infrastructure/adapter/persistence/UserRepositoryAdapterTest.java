@@ -72,19 +72,20 @@ class UserRepositoryAdapterTest {
     }
 
     @Test
-    void findById_shouldReturnUserIfExists() {
+    void findById_shouldReadPastTheCache() {
         UserEntity entity = sampleEntity();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(userRepository.findCurrentById(1L)).thenReturn(Optional.of(entity));
 
         Optional<User> result = adapter.findById(1L);
 
         assertThat(result).isPresent();
         assertThat(result.get().getUsername()).isEqualTo(entity.getUsername());
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void findById_shouldReturnEmptyIfNotExists() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findCurrentById(1L)).thenReturn(Optional.empty());
 
         Optional<User> result = adapter.findById(1L);
 
@@ -94,7 +95,7 @@ class UserRepositoryAdapterTest {
     @Test
     void findByUsername_shouldReturnUserIfExists() {
         UserEntity entity = sampleEntity();
-        when(userRepository.findByUsername("johndoe")).thenReturn(Optional.of(entity));
+        when(userRepository.loadByUsername("johndoe")).thenReturn(Optional.of(entity));
 
         Optional<User> result = adapter.findByUsername("johndoe");
 
@@ -114,14 +115,24 @@ class UserRepositoryAdapterTest {
     }
 
     @Test
-    void findByUsernameOrEmail_shouldReturnUserIfExists() {
+    void findUsernameById_shouldUseTheCachedLookup() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(sampleEntity()));
+
+        assertThat(adapter.findUsernameById(1L)).contains("johndoe");
+        verify(userRepository, never()).findCurrentById(anyLong());
+    }
+
+    @Test
+    void findByUsernameOrEmail_shouldReadPastTheCache() {
         UserEntity entity = sampleEntity();
-        when(userRepository.findByUsernameOrEmail("johndoe", "johndoe")).thenReturn(Optional.of(entity));
+        when(userRepository.findCurrentByUsernameOrEmail("john@example.com")).thenReturn(Optional.of(entity));
 
-        Optional<User> result = adapter.findByUsernameOrEmail("johndoe");
+        Optional<User> result = adapter.findByUsernameOrEmail("john@example.com");
 
         assertThat(result).isPresent();
         assertThat(result.get().getUsername()).isEqualTo(entity.getUsername());
+        verify(userRepository, never()).loadByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
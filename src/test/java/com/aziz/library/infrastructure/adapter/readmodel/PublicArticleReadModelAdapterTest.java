@@ -0,0 +1,174 @@
+package com.aziz.library.infrastructure.adapter.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleStamp;
+import com.aziz.library.domain.port.out.ArticleRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PublicArticleReadModelAdapterTest {
+
+    private ArticleRepositoryPort articleRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PublicArticleReadModelAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository = mock(ArticleRepositoryPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new PublicArticleReadModelAdapter(articleRepository, meterRegistry);
+    }
+
+    private static Article article(long id, boolean isPublic, long version) {
+        return Article.builder().id(id).title("Title " + id).isPublic(isPublic).version(version)
+                .tags(new ArrayList<>(List.of("design"))).build();
+    }
+
+    private void givenDatabase(Article... articles) {
+        doAnswer(invocation -> {
+            Consumer<Article> consumer = invocation.getArgument(2);
+            for (Article article : articles) {
+                consumer.accept(article);
+            }
+            return null;
+        }).when(articleRepository).streamAll(isNull(), eq(true), any());
+        doAnswer(invocation -> {
+            Consumer<ArticleStamp> consumer = invocation.getArgument(0);
+            for (Article article : articles) {
+                consumer.accept(new ArticleStamp(article.getId(), article.getVersion(), article.getViews()));
+            }
+            return null;
+        }).when(articleRepository).streamPublicStamps(any());
+        when(articleRepository.findAllWithTagsById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return Arrays.stream(articles).filter(article -> ids.contains(article.getId())).toList();
+        });
+    }
+
+    private List<Long> ids() {
+        return adapter.findAllPublic().stream().map(Article::getId).toList();
+    }
+
+    @Test
+    void start_shouldLoadPublicArticles() {
+        givenDatabase(article(2, true, 0), article(1, true, 0));
+
+        adapter.start();
+
+        assertThat(adapter.isRunning()).isTrue();
+        assertThat(ids()).containsExactly(1L, 2L);
+        assertThat(meterRegistry.get("articles.read-model.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void index_shouldAddReplaceAndDropArticlesWithoutChangingEarlierLists() {
+        givenDatabase(article(1, true, 0));
+        adapter.start();
+        List<Article> before = adapter.findAllPublic();
+
+        adapter.index(article(3, true, 0));
+        adapter.index(article(1, false, 1));
+
+        assertThat(ids()).containsExactly(3L);
+        assertThat(before).extracting(Article::getId).containsExactly(1L);
+    }
+
+    @Test
+    void index_shouldKeepACopyOfTheArticle() {
+        Article article = article(1, true, 0);
+        adapter.index(article);
+
+        article.setTitle("Changed afterwards");
+        article.getTags().add("later");
+
+        assertThat(adapter.findAllPublic().get(0).getTitle()).isEqualTo("Title 1");
+        assertThat(adapter.findAllPublic().get(0).getTags()).containsExactly("design");
+    }
+
+    @Test
+    void remove_shouldDropTheArticle() {
+        givenDatabase(article(1, true, 0), article(2, true, 0));
+        adapter.start();
+
+        adapter.remove(1L);
+
+        assertThat(ids()).containsExactly(2L);
+    }
+
+    @Test
+    void reconcile_shouldCorrectDriftAndCountIt() {
+        givenDatabase(article(1, true, 0), article(2, true, 0));
+        adapter.start();
+        givenDatabase(article(2, true, 3), article(4, true, 0));
+
+        adapter.reconcile();
+
+        assertThat(ids()).containsExactly(2L, 4L);
+        assertThat(adapter.findAllPublic().get(0).getVersion()).isEqualTo(3L);
+        assertThat(meterRegistry.get("articles.read-model.corrections").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void reconcile_shouldLoadOnlyChangedArticlesAndRefreshViewsOfTheRest() {
+        givenDatabase(article(1, true, 0), article(2, true, 0));
+        adapter.start();
+        Article unchanged = adapter.findAllPublic().get(0);
+        Article viewed = article(1, true, 0);
+        viewed.setViews(7);
+        givenDatabase(viewed, article(2, true, 1), article(3, true, 0));
+
+        adapter.reconcile();
+
+        verify(articleRepository, times(1)).streamAll(isNull(), eq(true), any());
+        verify(articleRepository).findAllWithTagsById(List.of(2L, 3L));
+        assertThat(ids()).containsExactly(1L, 2L, 3L);
+        Article refreshed = adapter.findAllPublic().get(0);
+        assertThat(refreshed.getViews()).isEqualTo(7);
+        assertThat(refreshed.getTitle()).isSameAs(unchanged.getTitle());
+        assertThat(unchanged.getViews()).isZero();
+    }
+
+    @Test
+    void reload_shouldReplayChangesCommittedWhileLoading() {
+        doAnswer(invocation -> {
+            // Committed after the table was read but before the reloaded snapshot replaced the old one
+            adapter.index(article(5, true, 0));
+            adapter.remove(1L);
+            invocation.<Consumer<Article>>getArgument(2).accept(article(1, true, 0));
+            return null;
+        }).when(articleRepository).streamAll(isNull(), eq(true), any());
+
+        int corrections = adapter.reload();
+
+        assertThat(ids()).containsExactly(5L);
+        assertThat(corrections).isZero();
+    }
+
+    @Test
+    void reconcile_whenDatabaseFails_shouldKeepCurrentArticles() {
+        givenDatabase(article(1, true, 0));
+        adapter.start();
+        doThrow(new DataAccessResourceFailureException("down")).when(articleRepository).streamPublicStamps(any());
+
+        adapter.reconcile();
+        adapter.index(article(2, true, 0));
+
+        assertThat(ids()).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.aziz.library.infrastructure.adapter.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.aziz.library.domain.model.Article;
+
+class PublicArticleSnapshotTest {
+
+    private static Article article(long id, boolean isPublic, long version) {
+        return Article.builder().id(id).isPublic(isPublic).version(version).build();
+    }
+
+    private static List<Long> ids(PublicArticleSnapshot snapshot) {
+        return snapshot.articles().stream().map(Article::getId).toList();
+    }
+
+    @Test
+    void of_shouldKeepPublicArticlesSortedById() {
+        PublicArticleSnapshot snapshot = PublicArticleSnapshot.of(
+                List.of(article(5, true, 0), article(2, false, 0), article(3, true, 0)));
+
+        assertThat(ids(snapshot)).containsExactly(3L, 5L);
+        assertThat(snapshot.size()).isEqualTo(2);
+    }
+
+    @Test
+    void with_shouldInsertInOrderAndLeaveTheOriginalUnchanged() {
+        PublicArticleSnapshot original = PublicArticleSnapshot.of(List.of(article(1, true, 0), article(9, true, 0)));
+
+        PublicArticleSnapshot changed = original.with(article(4, true, 0)).with(article(12, true, 0)).with(article(0, true, 0));
+
+        assertThat(ids(changed)).containsExactly(0L, 1L, 4L, 9L, 12L);
+        assertThat(ids(original)).containsExactly(1L, 9L);
+    }
+
+    @Test
+    void with_existingArticle_shouldReplaceIt() {
+        PublicArticleSnapshot snapshot = PublicArticleSnapshot.of(List.of(article(1, true, 0), article(2, true, 0)));
+
+        PublicArticleSnapshot changed = snapshot.with(article(2, true, 1));
+
+        assertThat(changed.articles().get(1).getVersion()).isEqualTo(1L);
+        assertThat(changed.size()).isEqualTo(2);
+    }
+
+    @Test
+    void with_articleMadePrivate_shouldRemoveIt() {
+        PublicArticleSnapshot snapshot = PublicArticleSnapshot.of(List.of(article(1, true, 0), article(2, true, 0)));
+
+        assertThat(ids(snapshot.with(article(1, false, 1)))).containsExactly(2L);
+        assertThat(snapshot.with(article(7, false, 0))).isSameAs(snapshot);
+    }
+
+    @Test
+    void without_shouldRemoveOnlyThatArticle() {
+        PublicArticleSnapshot snapshot = PublicArticleSnapshot.of(
+                List.of(article(1, true, 0), article(2, true, 0), article(3, true, 0)));
+
+        assertThat(ids(snapshot.without(2))).containsExactly(1L, 3L);
+        assertThat(ids(snapshot.without(3).without(1))).containsExactly(2L);
+        assertThat(snapshot.without(8)).isSameAs(snapshot);
+    }
+
+    @Test
+    void differences_shouldCountMissingExtraAndChangedArticles() {
+        PublicArticleSnapshot a = PublicArticleSnapshot.of(List.of(article(1, true, 0), article(2, true, 0), article(3, true, 0)));
+        PublicArticleSnapshot b = PublicArticleSnapshot.of(List.of(article(2, true, 1), article(3, true, 0), article(4, true, 0)));
+
+        assertThat(a.differences(b)).isEqualTo(3);
+        assertThat(b.differences(a)).isEqualTo(3);
+        assertThat(a.differences(a)).isZero();
+    }
+
+    @Test
+    void articles_shouldBeUnmodifiable() {
+        PublicArticleSnapshot snapshot = PublicArticleSnapshot.of(List.of(article(1, true, 0)));
+
+        assertThatThrownBy(() -> snapshot.articles().add(article(2, true, 0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.TagMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class ArticleTagIndexAdapterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArticleTagIndexAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new ArticleTagIndexAdapter(jdbcTemplate);
+    }
+
+    @Test
+    void start_shouldLoadArticlesWithTheirTags() throws Exception {
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("article_id")).thenReturn(1L);
+            when(rs.getString("name")).thenReturn("design");
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT at.article_id"), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(1L, 2L);
+            when(rs.getLong("author_id")).thenReturn(10L);
+            when(rs.getBoolean("is_public")).thenReturn(true);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, author_id"), any(RowCallbackHandler.class));
+
+        adapter.start();
+
+        assertThat(adapter.isRunning()).isTrue();
+        assertThat(adapter.filter(filter("design")).getArticleIds()).containsExactly(1L);
+        assertThat(adapter.filter(filter()).getArticleIds()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void reload_shouldReplayChangesCommittedWhileLoading() {
+        doAnswer(invocation -> {
+            // Committed after the tags were read but before the new index replaced the old one
+            adapter.index(Article.builder().id(5L).authorId(10L).isPublic(true).tags(List.of("garden")).build());
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT at.article_id"), any(RowCallbackHandler.class));
+
+        adapter.reload();
+
+        assertThat(adapter.filter(filter("garden")).getArticleIds()).containsExactly(5L);
+    }
+
+    @Test
+    void remove_shouldDropArticleFromEveryTag() {
+        adapter.index(Article.builder().id(5L).authorId(10L).isPublic(true).tags(List.of("garden", "design")).build());
+
+        adapter.remove(5L);
+
+        assertThat(adapter.filter(filter("garden")).getTotal()).isZero();
+        assertThat(adapter.filter(filter()).getTotal()).isZero();
+    }
+
+    private static ArticleTagFilter filter(String... tags) {
+        return ArticleTagFilter.builder().tags(List.of(tags)).match(TagMatch.ALL).limit(10).build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleSearchQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class EmbeddedArticleSearchAdapterTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private EmbeddedArticleSearchAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        adapter = new EmbeddedArticleSearchAdapter(jdbcTemplate, dir.resolve("index.bin"));
+    }
+
+    @Test
+    void index_insideTransaction_shouldApplyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.index(article(1L, "Spring caching"));
+
+            assertThat(adapter.search(query("spring"))).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        adapter.search(query("spring"));
+
+        verify(jdbcTemplate).query(startsWith("SELECT id, title"), any(RowCallbackHandler.class), eq(1L));
+    }
+
+    @Test
+    void remove_outsideTransaction_shouldApplyImmediately() {
+        adapter.index(article(1L, "Spring caching"));
+        adapter.remove(1L);
+
+        assertThat(adapter.search(query("spring"))).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_shouldReconcileWithTableAndWriteSnapshot() {
+        adapter.index(article(1L, "Spring caching"));
+        adapter.index(article(2L, "Deleted since"));
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        long version = EmbeddedArticleSearchAdapter.versionOf(updatedAt);
+        // Article 1 is unchanged, 3 is new and 2 no longer exists
+        when(jdbcTemplate.query(startsWith("SELECT id, updated_at"), any(RowMapper.class), any(), any()))
+                .thenReturn(List.of(new long[] {1L, version}, new long[] {3L, version}));
+        when(jdbcTemplate.query(startsWith("SELECT id, title"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(new InvertedIndex.Document(3L, 7L, true, version, "Spring security", "filters")));
+
+        adapter.start();
+
+        assertThat(adapter.isRunning()).isTrue();
+        assertThat(dir.resolve("index.bin")).exists();
+        EmbeddedArticleSearchAdapter restarted = new EmbeddedArticleSearchAdapter(jdbcTemplate, dir.resolve("index.bin"));
+        restarted.start();
+        verify(jdbcTemplate, times(1)).query(startsWith("SELECT id, title"), any(RowMapper.class), any(Object[].class));
+    }
+
+    private static Article article(Long id, String title) {
+        return Article.builder()
+                .id(id)
+                .title(title)
+                .content("Some content")
+                .authorId(7L)
+                .isPublic(true)
+                .updatedAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .build();
+    }
+
+    private static ArticleSearchQuery query(String text) {
+        return ArticleSearchQuery.builder().text(text).limit(10).build();
+    }
+}
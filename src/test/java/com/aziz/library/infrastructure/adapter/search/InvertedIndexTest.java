@@ -0,0 +1,137 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(doc(1, 10, true, "Spring caching", "Caching with Redis in Spring applications"));
+        index.add(doc(2, 10, false, "Cooking pasta", "Boil water, add pasta and salt"));
+        index.add(doc(3, 20, true, "Redis internals", "How Redis stores keys; mentions spring once"));
+        index.add(doc(4, 20, false, "Spring security", "Securing Spring endpoints with filters"));
+    }
+
+    @Test
+    void search_shouldRequireAllTermsAndRankByBm25() {
+        assertThat(ids(index.search(query("redis spring"), 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(index.search(query("spring"), 0, 10))).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(index.search(query("spring unknownword"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldWeightTitleMatchesHigher() {
+        List<InvertedIndex.Result> results = index.search(query("redis"), 0, 10);
+
+        assertThat(ids(results)).containsExactly(3L, 1L);
+        assertThat(results.get(0).score()).isGreaterThan(results.get(1).score());
+    }
+
+    @Test
+    void search_shouldApplyExclusionsAndVisibility() {
+        assertThat(ids(index.search(query("spring -redis"), 0, 10))).containsExactly(4L);
+        assertThat(ids(index.search(InvertedIndex.Query.parse("spring", null, true), 0, 10)))
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(index.search(InvertedIndex.Query.parse("spring", 20L, false), 0, 10)))
+                .containsExactlyInAnyOrder(3L, 4L);
+        assertThat(index.search(InvertedIndex.Query.parse("spring", 99L, false), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldPageThroughRankedResults() {
+        List<Long> all = ids(index.search(query("spring"), 0, 10));
+
+        assertThat(ids(index.search(query("spring"), 0, 2))).isEqualTo(all.subList(0, 2));
+        assertThat(ids(index.search(query("spring"), 2, 2))).isEqualTo(all.subList(2, 3));
+        assertThat(index.search(query("spring"), 5, 2)).isEmpty();
+    }
+
+    @Test
+    void add_shouldReplaceOlderVersionAndIgnoreStaleOne() {
+        assertThat(index.add(doc(2, 10, true, "Spring pasta", "Now about spring"))).isFalse();
+        assertThat(index.add(new InvertedIndex.Document(2, 10, true, 2, "Spring pasta", "Now about spring"))).isTrue();
+        assertThat(index.add(doc(2, 10, false, "Cooking pasta", "stale"))).isFalse();
+
+        assertThat(ids(index.search(query("spring pasta"), 0, 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.deletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_thenCompact_shouldKeepResults() {
+        index.remove(1L);
+        index.add(new InvertedIndex.Document(4, 20, true, 2, "Spring security", "Securing Spring endpoints"));
+        List<Long> before = ids(index.search(query("spring"), 0, 10));
+
+        index.compact();
+
+        assertThat(index.deletedCount()).isZero();
+        assertThat(ids(index.search(query("spring"), 0, 10))).isEqualTo(before);
+        assertThat(ids(index.search(InvertedIndex.Query.parse("spring", null, true), 0, 10)))
+                .containsExactlyInAnyOrder(3L, 4L);
+        assertThat(index.search(query("cach"), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void snapshot_shouldRoundTrip() throws IOException {
+        index.remove(2L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        InvertedIndex restored = InvertedIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.versions()).isEqualTo(index.versions());
+        assertThat(restored.search(query("spring"), 0, 10)).isEqualTo(index.search(query("spring"), 0, 10));
+        assertThat(ids(restored.search(InvertedIndex.Query.parse("spring", 10L, true), 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void readFrom_shouldRejectOtherData() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+
+        assertThatThrownBy(() -> InvertedIndex.readFrom(in)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void postings_shouldDecodeVariableByteGaps() {
+        PostingsList postings = new PostingsList();
+        postings.add(3, 1);
+        postings.add(200, 5);
+        postings.add(70_000, 300);
+
+        PostingsList.Cursor cursor = postings.cursor();
+
+        assertThat(cursor.advance(100)).isEqualTo(200);
+        assertThat(cursor.freq()).isEqualTo(5);
+        assertThat(cursor.next()).isEqualTo(70_000);
+        assertThat(cursor.freq()).isEqualTo(300);
+        assertThat(cursor.next()).isEqualTo(PostingsList.NO_MORE_DOCS);
+        assertThat(postings.sizeInBytes()).isEqualTo(2 + 3 + 5);
+    }
+
+    private static InvertedIndex.Document doc(long id, long authorId, boolean isPublic, String title, String content) {
+        return new InvertedIndex.Document(id, authorId, isPublic, 1, title, content);
+    }
+
+    private static InvertedIndex.Query query(String text) {
+        return InvertedIndex.Query.parse(text, null, false);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Result> results) {
+        return results.stream().map(InvertedIndex.Result::articleId).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchHighlighterTest {
+
+    @Test
+    void highlight_shouldMarkStemmedMatchesAndEscapeHtml() {
+        String html = SearchHighlighter.highlight("<Indexing> & indexes", List.of("index"));
+
+        assertThat(html).isEqualTo("&lt;<mark>Indexing</mark>&gt; &amp; <mark>indexes</mark>");
+    }
+
+    @Test
+    void snippet_shouldPickWindowWithMostMatches() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append(i == 70 || i == 72 ? "search " : "word" + i + " ");
+        }
+
+        String snippet = SearchHighlighter.snippet(text.toString(), List.of("search"));
+
+        assertThat(snippet).startsWith("… ").endsWith(" …");
+        assertThat(snippet).contains("<mark>search</mark> word71 <mark>search</mark>");
+        assertThat(snippet.split(" ")).hasSize(SearchHighlighter.SNIPPET_WORDS + 2);
+    }
+
+    @Test
+    void snippet_withoutMatches_shouldStartAtBeginning() {
+        assertThat(SearchHighlighter.snippet("short text", List.of("search"))).isEqualTo("short text");
+        assertThat(SearchHighlighter.snippet(null, List.of("search"))).isNull();
+    }
+}
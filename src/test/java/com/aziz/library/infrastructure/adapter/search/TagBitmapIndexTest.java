@@ -0,0 +1,91 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import com.aziz.library.domain.model.ArticleTagFilter;
+import com.aziz.library.domain.model.TagFacet;
+import com.aziz.library.domain.model.TagFilterResult;
+import com.aziz.library.domain.model.TagMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TagBitmapIndexTest {
+
+    private TagBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagBitmapIndex();
+        index.put(1, 10, true, List.of("design", "interior"));
+        index.put(2, 10, false, List.of("design"));
+        index.put(3, 20, true, List.of("garden"));
+        index.put(4, 20, true, List.of("design", "garden"));
+    }
+
+    @Test
+    void filter_all_shouldIntersectTagsNewestFirst() {
+        TagFilterResult result = index.filter(filter(List.of("design"), TagMatch.ALL).build());
+
+        assertThat(result.getArticleIds()).containsExactly(4L, 2L, 1L);
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(index.filter(filter(List.of("design", "garden"), TagMatch.ALL).build()).getArticleIds())
+                .containsExactly(4L);
+        assertThat(index.filter(filter(List.of("design", "unknown"), TagMatch.ALL).build()).getTotal()).isZero();
+    }
+
+    @Test
+    void filter_any_shouldUniteTags() {
+        TagFilterResult result = index.filter(filter(List.of("interior", "garden", "unknown"), TagMatch.ANY).build());
+
+        assertThat(result.getArticleIds()).containsExactly(4L, 3L, 1L);
+    }
+
+    @Test
+    void filter_shouldApplyVisibility() {
+        assertThat(index.filter(filter(List.of("design"), TagMatch.ALL).publicOnly(true).build()).getArticleIds())
+                .containsExactly(4L, 1L);
+        assertThat(index.filter(filter(List.of(), TagMatch.ALL).authorId(20L).build()).getArticleIds())
+                .containsExactly(4L, 3L);
+        assertThat(index.filter(filter(List.of(), TagMatch.ALL).authorId(99L).build()).getTotal()).isZero();
+    }
+
+    @Test
+    void filter_shouldPageAndCountFacets() {
+        TagFilterResult result = index.filter(filter(List.of(), TagMatch.ALL).offset(1).limit(2).facetLimit(2).build());
+
+        assertThat(result.getArticleIds()).containsExactly(3L, 2L);
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getFacets()).extracting(TagFacet::getName, TagFacet::getCount)
+                .containsExactly(tuple("design", 3L), tuple("garden", 2L));
+    }
+
+    @Test
+    void facets_shouldMatchWhetherCountedPerArticleOrPerTag() {
+        // Four matches over three tags is counted per tag, one match per article
+        List<TagFacet> perTag = index.filter(filter(List.of(), TagMatch.ALL).facetLimit(10).build()).getFacets();
+        List<TagFacet> perArticle = index.filter(filter(List.of("interior"), TagMatch.ALL).facetLimit(10).build()).getFacets();
+
+        assertThat(perTag).extracting(TagFacet::getName).containsExactly("design", "garden", "interior");
+        assertThat(perArticle).extracting(TagFacet::getName, TagFacet::getCount)
+                .containsExactly(tuple("design", 1L), tuple("interior", 1L));
+    }
+
+    @Test
+    void put_shouldReplacePreviousTagsAndVisibility() {
+        index.put(1, 10, false, List.of("garden"));
+        index.remove(4);
+
+        assertThat(index.filter(filter(List.of("design"), TagMatch.ALL).build()).getArticleIds()).containsExactly(2L);
+        assertThat(index.filter(filter(List.of("garden"), TagMatch.ALL).publicOnly(true).build()).getArticleIds())
+                .containsExactly(3L);
+        assertThat(index.tagCount()).isEqualTo(2);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static ArticleTagFilter.ArticleTagFilterBuilder filter(List<String> tags, TagMatch match) {
+        return ArticleTagFilter.builder().tags(tags).match(match).limit(10);
+    }
+}
@@ -0,0 +1,46 @@
+package com.aziz.library.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTest {
+
+    @Test
+    void terms_shouldLowerCaseDropStopWordsAndStem() {
+        assertThat(TextAnalyzer.terms("The Running of the Connected Ponies"))
+                .containsExactly("run", "connect", "poni");
+    }
+
+    @Test
+    void terms_shouldSplitOnPunctuationAndSkipOverlongWords() {
+        String overlong = "x".repeat(TextAnalyzer.MAX_WORD_LENGTH + 1);
+
+        assertThat(TextAnalyzer.terms("spring-boot's caching, " + overlong + " 2024"))
+                .containsExactly("spring", "boot", "cach", "2024");
+    }
+
+    @Test
+    void tokenize_shouldKeepOffsetsOfStopWords() {
+        List<TextAnalyzer.Token> tokens = TextAnalyzer.tokenize("An index");
+
+        assertThat(tokens).containsExactly(
+                new TextAnalyzer.Token(null, 0, 2),
+                new TextAnalyzer.Token("index", 3, 8));
+    }
+
+    @Test
+    void stem_shouldFollowPorterAlgorithm() {
+        assertThat(PorterStemmer.stem("relational")).isEqualTo("relat");
+        assertThat(PorterStemmer.stem("generalization")).isEqualTo("gener");
+        assertThat(PorterStemmer.stem("hopeful")).isEqualTo("hope");
+        assertThat(PorterStemmer.stem("agreed")).isEqualTo("agre");
+        assertThat(PorterStemmer.stem("hoping")).isEqualTo("hope");
+        assertThat(PorterStemmer.stem("caresses")).isEqualTo("caress");
+        assertThat(PorterStemmer.stem("happy")).isEqualTo("happi");
+        assertThat(PorterStemmer.stem("controlling")).isEqualTo("control");
+        assertThat(PorterStemmer.stem("is")).isEqualTo("is");
+    }
+}
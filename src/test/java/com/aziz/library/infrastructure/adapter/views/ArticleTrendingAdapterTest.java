@@ -0,0 +1,122 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.aziz.library.domain.model.TrendingArticle;
+
+class ArticleTrendingAdapterTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    private JdbcTemplate jdbcTemplate;
+    private AtomicLong now;
+    private ArticleTrendingAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        now = new AtomicLong(1_000_000);
+        adapter = new ArticleTrendingAdapter(jdbcTemplate, HALF_LIFE, now::get);
+    }
+
+    @Test
+    void publish_ShouldRankByViewsAndAttachVisibility() throws Exception {
+        existingArticles(1L, 2L);
+        adapter.record(views(1, 3, 2, 7));
+
+        adapter.publish();
+
+        List<TrendingArticle> trending = adapter.trending();
+        assertEquals(List.of(2L, 1L), trending.stream().map(TrendingArticle::getArticleId).toList());
+        assertEquals(7, trending.get(0).getScore(), 1e-9);
+        assertEquals(20, trending.get(0).getAuthorId());
+        assertTrue(trending.get(0).isPublic());
+    }
+
+    @Test
+    void record_ShouldWeighRecentViewsMore() throws Exception {
+        existingArticles(1L, 2L);
+        adapter.record(views(1, 10));
+        now.addAndGet(2 * HALF_LIFE.toMillis());
+        adapter.record(views(2, 5));
+
+        adapter.publish();
+
+        List<TrendingArticle> trending = adapter.trending();
+        assertEquals(List.of(2L, 1L), trending.stream().map(TrendingArticle::getArticleId).toList());
+        // Ten views two half-lives ago count as 2.5 now
+        assertEquals(2.5, trending.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    void record_LongAfterLandmark_ShouldRescaleWithoutChangingScores() throws Exception {
+        existingArticles(1L);
+        adapter.record(views(1, 4));
+        now.addAndGet(40 * HALF_LIFE.toMillis());
+        adapter.record(views(1, 4));
+
+        adapter.publish();
+
+        assertEquals(4, adapter.trending().get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void publish_ShouldDropDeletedArticles() throws Exception {
+        existingArticles(2L);
+        adapter.record(views(1, 9, 2, 1));
+
+        adapter.publish();
+
+        assertEquals(List.of(2L), adapter.trending().stream().map(TrendingArticle::getArticleId).toList());
+    }
+
+    @Test
+    void publish_WhenQueryFails_ShouldKeepPreviousRanking() throws Exception {
+        existingArticles(1L);
+        adapter.record(views(1, 1));
+        adapter.publish();
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate)
+                .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        adapter.publish();
+
+        assertEquals(1, adapter.trending().size());
+    }
+
+    private static LongCountTable views(long... idsAndCounts) {
+        LongCountTable table = new LongCountTable();
+        for (int i = 0; i < idsAndCounts.length; i += 2) {
+            table.add(idsAndCounts[i], idsAndCounts[i + 1]);
+        }
+        return table;
+    }
+
+    // Every article is written by author id * 10 and is public
+    private void existingArticles(Long... ids) throws Exception {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Long id : ids) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(id);
+                when(rs.getLong("author_id")).thenReturn(id * 10);
+                when(rs.getBoolean("is_public")).thenReturn(true);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+}
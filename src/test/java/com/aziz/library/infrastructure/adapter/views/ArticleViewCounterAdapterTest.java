@@ -0,0 +1,149 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.aziz.library.domain.port.out.ArticleViewRepositoryPort;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ArticleViewCounterAdapterTest {
+
+    private ArticleViewRepositoryPort viewRepository;
+    private ArticleTrendingAdapter trending;
+    private SimpleMeterRegistry registry;
+    private ArticleViewCounterAdapter counter;
+    private List<Map<Long, Long>> flushed;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        viewRepository = mock(ArticleViewRepositoryPort.class);
+        registry = new SimpleMeterRegistry();
+        flushed = new ArrayList<>();
+        when(viewRepository.addViews(anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> increments = Map.copyOf(invocation.getArgument(0));
+            flushed.add(increments);
+            return increments;
+        });
+        trending = mock(ArticleTrendingAdapter.class);
+        now = new AtomicLong();
+        counter = new ArticleViewCounterAdapter(viewRepository, trending, registry, 8, Duration.ofHours(1), now::get);
+        counter.start();
+    }
+
+    @Test
+    void recordView_ShouldCountInMemoryUntilFlush() {
+        counter.recordView(1L, 0);
+        counter.recordView(1L, 0);
+        counter.recordView(2L, 0);
+
+        verifyNoInteractions(viewRepository);
+        assertEquals(2, counter.getPendingCount());
+
+        assertEquals(2, counter.flush());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), flushed.get(0));
+        assertEquals(0, counter.getPendingCount());
+        verify(trending).record(any(LongCountTable.class));
+    }
+
+    @Test
+    void recordView_ShouldReturnTotalReadBackByLastFlush() {
+        doReturn(Map.of(1L, 40L)).when(viewRepository).addViews(anyMap());
+        counter.recordView(1L, 10);
+        counter.flush();
+
+        // A cached copy still carries the count from before the flush
+        assertEquals(40, counter.recordView(1L, 10));
+        assertEquals(50, counter.recordView(1L, 50));
+        assertEquals(3, counter.recordView(2L, 3));
+    }
+
+    @Test
+    void recordView_ShouldForgetTotalsNotFlushedWithinRetention() {
+        doReturn(Map.of(1L, 40L)).when(viewRepository).addViews(anyMap());
+        counter.recordView(1L, 10);
+        counter.flush();
+
+        now.addAndGet(Duration.ofHours(1).toMillis());
+        doReturn(Map.of(2L, 7L)).when(viewRepository).addViews(anyMap());
+        counter.recordView(2L, 0);
+        counter.flush();
+
+        now.addAndGet(Duration.ofHours(1).toMillis());
+        doReturn(Map.of(2L, 8L)).when(viewRepository).addViews(anyMap());
+        counter.recordView(2L, 0);
+        counter.flush();
+
+        assertEquals(10, counter.recordView(1L, 10));
+        assertEquals(8, counter.recordView(2L, 0));
+    }
+
+    @Test
+    void recordView_FromManyThreads_ShouldLoseNoViews() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int n = 0; n < 10_000; n++) {
+                    counter.recordView(1L + n % 3, 0);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        counter.flush();
+        long total = flushed.get(0).values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(80_000, total);
+    }
+
+    @Test
+    void flush_WhenRepositoryFails_ShouldKeepViewsForNextFlush() {
+        doThrow(new QueryTimeoutException("timeout"))
+                .doAnswer(invocation -> {
+                    flushed.add(Map.copyOf(invocation.getArgument(0)));
+                    return Map.of();
+                })
+                .when(viewRepository).addViews(anyMap());
+        counter.recordView(1L, 0);
+
+        assertEquals(0, counter.flush());
+        assertEquals(1, registry.counter("articles.views.flush.failed").count());
+        verifyNoInteractions(trending);
+        counter.recordView(1L, 0);
+
+        assertEquals(1, counter.flush());
+        assertEquals(Map.of(1L, 2L), flushed.get(0));
+    }
+
+    @Test
+    void flush_WhenNothingCounted_ShouldNotTouchDatabase() {
+        counter.flushPending();
+
+        verifyNoInteractions(viewRepository);
+    }
+
+    @Test
+    void stop_ShouldFlushRemainingViews() {
+        counter.recordView(3L, 0);
+
+        counter.stop();
+
+        assertEquals(Map.of(3L, 1L), flushed.get(0));
+        assertFalse(counter.isRunning());
+    }
+}
@@ -0,0 +1,80 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongCountTableTest {
+
+    @Test
+    void add_ShouldSumCountsPerKeyAcrossResizes() {
+        LongCountTable table = new LongCountTable();
+        for (long id = 1; id <= 1000; id++) {
+            table.add(id, id);
+            table.add(id, 1);
+        }
+
+        assertEquals(1000, table.size());
+        assertEquals(43, table.get(42));
+        assertEquals(0, table.get(5000));
+    }
+
+    @Test
+    void put_ShouldReplaceCount() {
+        LongCountTable table = new LongCountTable();
+        table.add(7, 3);
+        table.put(7, 10);
+        table.put(8, 1);
+
+        assertEquals(10, table.get(7));
+        assertEquals(1, table.get(8));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void remove_ShouldKeepOtherKeysReachable() {
+        LongCountTable table = new LongCountTable();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long key = 1 + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                table.remove(key);
+                expected.remove(key);
+            } else {
+                table.add(key, 1);
+                expected.merge(key, 1L, Long::sum);
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        Map<Long, Long> actual = new HashMap<>();
+        table.forEach(actual::put);
+        assertEquals(expected, actual);
+        expected.forEach((key, count) -> assertEquals(count, table.get(key)));
+    }
+
+    @Test
+    void copy_ShouldBeIndependent() {
+        LongCountTable table = new LongCountTable();
+        table.add(1, 5);
+        LongCountTable copy = table.copy();
+        copy.add(1, 1);
+        copy.add(2, 1);
+
+        assertEquals(5, table.get(1));
+        assertEquals(1, table.size());
+        assertEquals(6, copy.get(1));
+    }
+
+    @Test
+    void add_WithNonPositiveKey_ShouldThrow() {
+        LongCountTable table = new LongCountTable();
+
+        assertThrows(IllegalArgumentException.class, () -> table.add(0, 1));
+    }
+}
@@ -0,0 +1,78 @@
+package com.aziz.library.infrastructure.adapter.views;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void offer_BelowCapacity_ShouldCountExactly() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        topK.offer(1, 1);
+        topK.offer(2, 5);
+        topK.offer(1, 3);
+
+        List<SpaceSavingTopK.Entry> top = topK.top(10);
+
+        assertEquals(List.of(new SpaceSavingTopK.Entry(2, 5, 0), new SpaceSavingTopK.Entry(1, 4, 0)), top);
+    }
+
+    @Test
+    void offer_WhenFull_ShouldReplaceSmallestCounter() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(2);
+        topK.offer(1, 10);
+        topK.offer(2, 3);
+        topK.offer(3, 1);
+
+        List<SpaceSavingTopK.Entry> top = topK.top(2);
+
+        assertEquals(2, topK.size());
+        assertEquals(1, top.get(0).id());
+        assertEquals(new SpaceSavingTopK.Entry(3, 4, 3), top.get(1));
+    }
+
+    @Test
+    void offer_OnSkewedStream_ShouldFindHeavyHitters() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(50);
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            // Articles 1-5 get half the views, the rest are spread over 10,000 others
+            long id = random.nextBoolean() ? 1 + random.nextInt(5) : 100 + random.nextInt(10_000);
+            topK.offer(id, 1);
+        }
+
+        List<Long> leaders = topK.top(5).stream().map(SpaceSavingTopK.Entry::id).sorted().toList();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), leaders);
+    }
+
+    @Test
+    void remove_ShouldKeepHeapConsistent() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        for (long id = 1; id <= 8; id++) {
+            topK.offer(id, id);
+        }
+        topK.remove(1);
+        topK.remove(5);
+        topK.offer(9, 100);
+        topK.offer(2, 10);
+
+        List<Long> order = topK.top(10).stream().map(SpaceSavingTopK.Entry::id).toList();
+
+        assertEquals(List.of(9L, 2L, 8L, 7L, 6L, 4L, 3L), order);
+    }
+
+    @Test
+    void scale_ShouldKeepOrder() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        topK.offer(1, 8);
+        topK.offer(2, 4);
+        topK.scale(0.25);
+
+        assertEquals(List.of(new SpaceSavingTopK.Entry(1, 2, 0), new SpaceSavingTopK.Entry(2, 1, 0)), topK.top(10));
+    }
+}
@@ -0,0 +1,55 @@
+package com.aziz.library.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.stream.StreamSupport;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aziz.library.infrastructure.adapter.persistence.entity.UserEntity;
+
+class EntityCacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.setUsers(new EntityCacheProperties.Region(10, Duration.ofMinutes(5)));
+        cacheManager = new EntityCacheConfig().entityCacheManager(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void entityCacheManager_ShouldDeclareEveryRegionHibernateUses() {
+        for (String region : new String[] {UserEntity.CACHE_REGION, UserEntity.NATURAL_ID_CACHE_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME}) {
+            assertNotNull(cacheManager.getCache(region), region);
+        }
+    }
+
+    @Test
+    void usersRegion_ShouldEvictBeyondMaxEntries() {
+        Cache<Object, Object> users = cacheManager.getCache(UserEntity.CACHE_REGION);
+
+        for (long id = 0; id < 100; id++) {
+            users.put(id, "user-" + id);
+        }
+
+        long held = StreamSupport.stream(users.spliterator(), false).count();
+        assertTrue(held <= 10, "held " + held);
+        assertTrue(held > 0);
+    }
+}
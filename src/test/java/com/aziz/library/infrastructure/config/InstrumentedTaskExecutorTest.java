@@ -0,0 +1,137 @@
+package com.aziz.library.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import com.aziz.library.infrastructure.config.AsyncProperties.Pool;
+import com.aziz.library.infrastructure.config.AsyncProperties.SaturationPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstrumentedTaskExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void execute_ShouldRunTaskAndRecordMetrics() throws Exception {
+        executor = new InstrumentedTaskExecutor("email", new Pool(1, 1, 10, SaturationPolicy.ABORT), false, registry);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        executor.execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("email-"));
+        waitForIdle();
+        assertEquals(1, registry.get("async.executor.task.duration").tag("executor", "email").timer().count());
+        assertEquals(0, registry.get("async.executor.queued").tag("executor", "email").gauge().value());
+    }
+
+    @Test
+    void execute_WhenSaturatedWithAbort_ShouldRejectAndCount() throws Exception {
+        executor = new InstrumentedTaskExecutor("audit", new Pool(1, 1, 1, SaturationPolicy.ABORT), false, registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> await(release));
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        assertEquals(1.0, executor.getRejectedCount());
+
+        release.countDown();
+        waitForIdle();
+        assertEquals(0, executor.getQueuedCount());
+    }
+
+    @Test
+    void execute_WhenSaturatedWithCallerRuns_ShouldRunOnCaller() throws Exception {
+        executor = new InstrumentedTaskExecutor("email", new Pool(1, 1, 1, SaturationPolicy.CALLER_RUNS), false, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> await(release));
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, executor.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    void execute_WhenSaturatedWithDiscardOldest_ShouldKeepQueueDepthAccurate() throws Exception {
+        executor = new InstrumentedTaskExecutor("cache-maintenance",
+                new Pool(1, 1, 1, SaturationPolicy.DISCARD_OLDEST), false, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+
+        assertEquals(1, executor.getQueuedCount());
+        release.countDown();
+        waitForIdle();
+        assertEquals(0, executor.getQueuedCount());
+    }
+
+    @Test
+    void execute_WithVirtualThreads_ShouldRunOnVirtualThread() throws Exception {
+        executor = new InstrumentedTaskExecutor("email", new Pool(1, 1, 10, SaturationPolicy.CALLER_RUNS), true, registry);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+
+        executor.execute(() -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(virtual.get());
+    }
+
+    private void waitForIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((executor.getActiveCount() > 0 || executor.getQueuedCount() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.aziz.library.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String USE_CASE = "com.aziz.library.domain.service.ArticleService.getAllArticles";
+    private static final String REPOSITORY = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private String user;
+    private JdbcDataSource replica1;
+    private JdbcDataSource replica2;
+    private ReplicaRoutingDataSource routing;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        replica1 = database("replica-1");
+        replica2 = database("replica-2");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing(database("primary"), replicas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void readOnlyUseCase_ShouldGoToReplicas_InTurn() {
+        routing.checkReplicas();
+
+        String first = read(USE_CASE, true);
+        String second = read(USE_CASE, true);
+
+        assertTrue(first.startsWith("replica-"));
+        assertTrue(second.startsWith("replica-"));
+        assertNotEquals(first, second);
+        assertEquals(1.0, registry.get("db.reads.routed").tag("target", "replica-1").counter().count());
+    }
+
+    @Test
+    void readWriteTransaction_ShouldGoToPrimary() {
+        routing.checkReplicas();
+
+        assertEquals("primary", read(USE_CASE, false));
+    }
+
+    @Test
+    void readOnlyTransactionNotBegunInUseCase_ShouldGoToPrimary() {
+        routing.checkReplicas();
+
+        assertEquals("primary", read(REPOSITORY, true));
+    }
+
+    @Test
+    void queryOutsideTransaction_ShouldGoToPrimary() {
+        routing.checkReplicas();
+
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    @Test
+    void readOnlyUseCase_BeforeReplicasAreChecked_ShouldGoToPrimary() {
+        assertEquals("primary", read(USE_CASE, true));
+        assertEquals(1.0, registry.get("db.reads.routed").tag("target", "primary").counter().count());
+    }
+
+    @Test
+    void readOnlyUseCase_AfterWrite_ShouldStayOnPrimaryForWindow() {
+        routing.checkReplicas();
+        user = "alice";
+        read(USE_CASE, false);
+
+        assertEquals("primary", read(USE_CASE, true));
+
+        user = "bob";
+        assertTrue(read(USE_CASE, true).startsWith("replica-"));
+
+        user = "alice";
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertTrue(read(USE_CASE, true).startsWith("replica-"));
+    }
+
+    @Test
+    void rolledBackWrite_ShouldNotPinUser() {
+        routing.checkReplicas();
+        user = "alice";
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(read(USE_CASE, true).startsWith("replica-"));
+    }
+
+    @Test
+    void checkReplicas_ShouldSkipReplicaBehindMaxLag() {
+        new JdbcTemplate(replica1).update("UPDATE lag SET ms = 5001");
+        routing.checkReplicas();
+
+        assertEquals("replica-2", read(USE_CASE, true));
+        assertEquals("replica-2", read(USE_CASE, true));
+        assertEquals(5001.0, registry.get("db.replica.lag").tag("replica", "replica-1").gauge().value());
+        assertEquals(0.0, registry.get("db.replica.available").tag("replica", "replica-1").gauge().value());
+
+        new JdbcTemplate(replica1).update("UPDATE lag SET ms = 10");
+        routing.checkReplicas();
+
+        assertEquals(1.0, registry.get("db.replica.available").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void checkReplicas_WhenNoReplicaIsReachable_ShouldFallBackToPrimary() {
+        routing.close();
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        routing(database("primary"), Map.of("replica-1", unreachable));
+
+        routing.checkReplicas();
+
+        assertEquals("primary", read(USE_CASE, true));
+        assertEquals(-1.0, registry.get("db.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    private void routing(DataSource primary, Map<String, DataSource> replicas) {
+        registry = new SimpleMeterRegistry();
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setLagQuery("SELECT ms FROM lag");
+        routing = new ReplicaRoutingDataSource(primary, replicas, properties, "com.aziz.library.domain.service.",
+                () -> user, clock::get, registry);
+        transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+    }
+
+    private String read(String transactionName, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(transactionName);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE lag (ms BIGINT)");
+        jdbcTemplate.update("INSERT INTO lag VALUES (0)");
+        return dataSource;
+    }
+}
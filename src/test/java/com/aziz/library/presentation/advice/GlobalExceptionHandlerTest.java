@@ -1,13 +1,19 @@
 package com.aziz.library.presentation.advice;
 
+import com.aziz.library.application.dto.request.ArticlePatchRequest;
 import com.aziz.library.application.dto.response.ApiResponse;
 import com.aziz.library.domain.exception.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidNullException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -70,6 +76,75 @@ public class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
     
+    @Test
+    void testHandleInvalidCursor_ShouldReturn400() {
+        InvalidCursorException ex = new InvalidCursorException("Invalid page cursor");
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleInvalidCursor(ex);
+        
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testHandleInvalidStatsQuery_ShouldReturn400() {
+        InvalidStatsQueryException ex = new InvalidStatsQueryException("Stats require a start before end");
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleInvalidStatsQuery(ex);
+        
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testHandleInvalidSearchQuery_ShouldReturn400() {
+        InvalidSearchQueryException ex = new InvalidSearchQueryException("Search query must not be blank");
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleInvalidSearchQuery(ex);
+        
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+    
+    @Test
+    void testHandleArticleVersionMismatch_ShouldReturn412() {
+        ArticleVersionMismatchException ex = new ArticleVersionMismatchException("Article 1 has changed");
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleArticleVersionMismatch(ex);
+        
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+    
+    @Test
+    void testHandleOptimisticLockingFailure_ShouldReturn409() {
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException("ArticleEntity", 1L);
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleOptimisticLockingFailure(ex);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+    
+    @Test
+    void testHandleMessageNotReadable_ShouldReturn400() {
+        HttpMessageNotReadableException ex = new HttpMessageNotReadableException("JSON parse error",
+                new RuntimeException("Unexpected character"), mock(HttpInputMessage.class));
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleMessageNotReadable(ex);
+        
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Malformed request body", response.getBody().getMessage());
+    }
+    
+    @Test
+    void testHandleMessageNotReadable_ShouldNameFieldSetToNullInPatch() {
+        InvalidNullException cause = assertThrows(InvalidNullException.class, () ->
+                new ObjectMapper().readValue("{\"title\": null}", ArticlePatchRequest.class));
+        HttpMessageNotReadableException ex = new HttpMessageNotReadableException("JSON parse error",
+                cause, mock(HttpInputMessage.class));
+        
+        ResponseEntity<ApiResponse<Void>> response = exceptionHandler.handleMessageNotReadable(ex);
+        
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Field cannot be null: title", response.getBody().getMessage());
+    }
+    
     @Test
     void testHandleDuplicateResource_ShouldReturn409() {
         DuplicateResourceException ex = new DuplicateResourceException("Duplicate");
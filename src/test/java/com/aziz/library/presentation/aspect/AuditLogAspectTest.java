@@ -0,0 +1,128 @@
+package com.aziz.library.presentation.aspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.aziz.library.domain.port.in.AuditLogUseCase;
+import com.aziz.library.infrastructure.adapter.audit.AuditPolicy;
+import com.aziz.library.infrastructure.security.AuthenticatedUser;
+
+class AuditLogAspectTest {
+
+    private AuditLogUseCase auditLogUseCase;
+    private AuditPolicy auditPolicy;
+    private ApplicationContext applicationContext;
+    private AuditLogAspect aspect;
+
+    @RestController
+    static class SampleController {
+        @Audited(action = "UPDATE_ARTICLE", entity = "ARTICLE", idParam = "id", details = "Article updated")
+        public void update(Long id, String body) {
+        }
+
+        @Audited(action = "LOGIN", entity = "AUTH")
+        public void login() {
+        }
+    }
+
+    @RestController
+    static class BrokenController {
+        @Audited(action = "DELETE_ARTICLE", idParam = "articleId")
+        public void delete(Long id) {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        auditLogUseCase = mock(AuditLogUseCase.class);
+        auditPolicy = mock(AuditPolicy.class);
+        applicationContext = mock(ApplicationContext.class);
+        when(auditPolicy.shouldRecord(anyString(), any(), any(), any())).thenReturn(true);
+        aspect = new AuditLogAspect(auditLogUseCase, auditPolicy, applicationContext);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "10.0.0.1, 10.0.0.2");
+        request.addHeader("User-Agent", "Mozilla/5.0");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void audit_ShouldUsePrincipalIdAndAnnotatedIdParameter() throws Exception {
+        when(applicationContext.getBeansWithAnnotation(RestController.class))
+                .thenReturn(Map.of("sample", new SampleController()));
+        aspect.afterSingletonsInstantiated();
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "alice", "secret", true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_EDITOR")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Method method = SampleController.class.getMethod("update", Long.class, String.class);
+        aspect.audit(joinPoint(method, 42L, "body"), method.getAnnotation(Audited.class));
+
+        verify(auditPolicy).shouldRecord("UPDATE_ARTICLE", 7L, 42L, "10.0.0.1");
+        verify(auditLogUseCase).logAction(7L, "UPDATE_ARTICLE", "ARTICLE", 42L, "Article updated: 42",
+                "10.0.0.1", "Mozilla/5.0");
+    }
+
+    @Test
+    void audit_WithoutPrincipalOrId_ShouldLogAnonymousEvent() throws Exception {
+        Method method = SampleController.class.getMethod("login");
+        aspect.audit(joinPoint(method), method.getAnnotation(Audited.class));
+
+        verify(auditLogUseCase).logAction(null, "LOGIN", "AUTH", null, null, "10.0.0.1", "Mozilla/5.0");
+    }
+
+    @Test
+    void audit_WhenPolicySuppresses_ShouldNotLog() throws Exception {
+        when(auditPolicy.shouldRecord(anyString(), any(), any(), any())).thenReturn(false);
+
+        Method method = SampleController.class.getMethod("login");
+        aspect.audit(joinPoint(method), method.getAnnotation(Audited.class));
+
+        verifyNoInteractions(auditLogUseCase);
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WithUnknownIdParam_ShouldFailFast() {
+        when(applicationContext.getBeansWithAnnotation(RestController.class))
+                .thenReturn(Map.of("broken", new BrokenController()));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, aspect::afterSingletonsInstantiated);
+        assertTrue(ex.getMessage().contains("articleId"));
+    }
+
+    private JoinPoint joinPoint(Method method, Object... args) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+}
@@ -1,18 +1,46 @@
 package com.aziz.library.presentation.controller;
 
+import com.aziz.library.application.dto.request.ArticlePatchRequest;
+import com.aziz.library.application.dto.request.ArticleRequest;
 import com.aziz.library.application.dto.response.ApiResponse;
+import com.aziz.library.application.dto.response.ArticleImportResponse;
 import com.aziz.library.application.dto.response.ArticleResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionResponse;
+import com.aziz.library.application.dto.response.ArticleRevisionSummaryResponse;
+import com.aziz.library.application.dto.response.ArticleSearchPageResponse;
+import com.aziz.library.application.dto.response.TaggedArticlePageResponse;
+import com.aziz.library.domain.exception.ArticleVersionMismatchException;
 import com.aziz.library.domain.model.Article;
+import com.aziz.library.domain.model.ArticleImportLine;
+import com.aziz.library.domain.model.ArticleImportResult;
+import com.aziz.library.domain.model.ArticlePatch;
+import com.aziz.library.domain.model.ArticleRevision;
+import com.aziz.library.domain.model.ArticleRevisionSummary;
+import com.aziz.library.domain.model.ArticleSearchPage;
+import com.aziz.library.domain.model.TagMatch;
+import com.aziz.library.domain.model.TaggedArticlePage;
 import com.aziz.library.domain.port.in.ArticleUseCase;
+import com.aziz.library.application.export.ArticleExportWriter;
+import com.aziz.library.application.importer.ArticleImportReader;
 import com.aziz.library.application.mapper.ArticleMapper;
 import com.aziz.library.infrastructure.security.CustomUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
 class ArticleControllerTest {
@@ -20,6 +48,8 @@ class ArticleControllerTest {
     private ArticleUseCase articleUseCase;
     private ArticleMapper articleMapper;
     private CustomUserDetailsService userDetailsService;
+    private ArticleImportReader articleImportReader;
+    private ArticleExportWriter articleExportWriter;
     private ArticleController articleController;
     private Authentication authentication;
 
@@ -29,7 +59,10 @@ class ArticleControllerTest {
         articleMapper = mock(ArticleMapper.class);
         userDetailsService = mock(CustomUserDetailsService.class);
         authentication = mock(Authentication.class);
-        articleController = new ArticleController(articleUseCase, articleMapper, userDetailsService);
+        articleImportReader = mock(ArticleImportReader.class);
+        articleExportWriter = mock(ArticleExportWriter.class);
+        articleController = new ArticleController(articleUseCase, articleMapper, userDetailsService, articleImportReader,
+                articleExportWriter);
     }
 
     @Test
@@ -137,4 +170,251 @@ class ArticleControllerTest {
         assertEquals("DB error", thrown.getMessage());
         verify(articleUseCase, times(1)).getMyArticles(userId);
     }
+
+    @Test
+    void searchArticles_shouldReturnMappedPage() {
+        Long userId = 7L;
+        ArticleSearchPage page = new ArticleSearchPage(List.of(), 0, 20, false);
+        ArticleSearchPageResponse mapped = mock(ArticleSearchPageResponse.class);
+
+        when(authentication.getName()).thenReturn("reader");
+        when(userDetailsService.getUserIdByUsername("reader")).thenReturn(userId);
+        when(articleUseCase.searchArticles("spring", 0, 20, userId)).thenReturn(page);
+        when(articleMapper.toSearchPageResponse(page)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<ArticleSearchPageResponse>> response =
+                articleController.searchArticles("spring", 0, 20, authentication);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals("Articles found", response.getBody().getMessage());
+        assertSame(mapped, response.getBody().getData());
+    }
+
+    @Test
+    void getArticlesByTags_shouldReturnMappedPage() {
+        Long userId = 7L;
+        TaggedArticlePage page = new TaggedArticlePage(List.of(), 0, 20, 0, List.of());
+        TaggedArticlePageResponse mapped = mock(TaggedArticlePageResponse.class);
+
+        when(authentication.getName()).thenReturn("reader");
+        when(userDetailsService.getUserIdByUsername("reader")).thenReturn(userId);
+        when(articleUseCase.getArticlesByTags(List.of("design"), TagMatch.ANY, 0, 20, userId)).thenReturn(page);
+        when(articleMapper.toTaggedPageResponse(page)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<TaggedArticlePageResponse>> response =
+                articleController.getArticlesByTags(List.of("design"), TagMatch.ANY, 0, 20, authentication);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertSame(mapped, response.getBody().getData());
+    }
+
+    @Test
+    void getTrendingArticles_shouldReturnMappedArticles() {
+        Long userId = 7L;
+        Article article = Article.builder().id(1L).build();
+        ArticleResponse mapped = ArticleResponse.builder().id(1L).build();
+
+        when(authentication.getName()).thenReturn("reader");
+        when(userDetailsService.getUserIdByUsername("reader")).thenReturn(userId);
+        when(articleUseCase.getTrendingArticles(10, userId)).thenReturn(List.of(article));
+        when(articleMapper.toResponse(article)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<List<ArticleResponse>>> response =
+                articleController.getTrendingArticles(10, authentication);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertEquals(List.of(mapped), response.getBody().getData());
+    }
+
+    @Test
+    void getArticleById_withMatchingIfNoneMatch_shouldReturn304WithoutLoadingArticle() {
+        when(authentication.getName()).thenReturn("reader");
+        when(userDetailsService.getUserIdByUsername("reader")).thenReturn(7L);
+        when(articleUseCase.getArticleVersion(1L, 7L)).thenReturn(3L);
+
+        ResponseEntity<ApiResponse<ArticleResponse>> response =
+                articleController.getArticleById(1L, "\"2\", W/\"3\"", authentication);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(articleUseCase, never()).getArticleById(any(), any());
+    }
+
+    @Test
+    void getArticleById_withStaleIfNoneMatch_shouldReturnArticleWithETag() {
+        Article article = Article.builder().id(1L).version(4L).build();
+        ArticleResponse mapped = ArticleResponse.builder().id(1L).build();
+        when(authentication.getName()).thenReturn("reader");
+        when(userDetailsService.getUserIdByUsername("reader")).thenReturn(7L);
+        when(articleUseCase.getArticleVersion(1L, 7L)).thenReturn(4L);
+        when(articleUseCase.getArticleById(1L, 7L)).thenReturn(article);
+        when(articleMapper.toResponse(article)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<ArticleResponse>> response =
+                articleController.getArticleById(1L, "\"3\"", authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertSame(mapped, response.getBody().getData());
+    }
+
+    @Test
+    void updateArticle_withIfMatch_shouldPassExpectedVersion() {
+        ArticleRequest request = new ArticleRequest();
+        Article article = new Article();
+        Article updated = Article.builder().id(1L).version(6L).build();
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(7L);
+        when(articleMapper.toDomain(request)).thenReturn(article);
+        when(articleUseCase.updateArticle(1L, article, 7L)).thenReturn(updated);
+
+        ResponseEntity<ApiResponse<ArticleResponse>> response =
+                articleController.updateArticle(1L, request, "\"5\"", authentication);
+
+        assertEquals(5L, article.getVersion());
+        assertEquals("\"6\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void updateArticle_withWeakIfMatch_shouldFailPrecondition() {
+        ArticleRequest request = new ArticleRequest();
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(7L);
+        when(articleMapper.toDomain(request)).thenReturn(new Article());
+
+        assertThrows(ArticleVersionMismatchException.class,
+                () -> articleController.updateArticle(1L, request, "W/\"5\"", authentication));
+        verify(articleUseCase, never()).updateArticle(any(), any(), any());
+    }
+
+    @Test
+    void patchArticle_shouldPassPatchWithExpectedVersion() {
+        ArticlePatchRequest request = new ArticlePatchRequest();
+        request.setIsPublic(true);
+        ArticlePatch patch = ArticlePatch.builder().isPublic(true).build();
+        Article patched = Article.builder().id(1L).isPublic(true).version(6L).build();
+        ArticleResponse articleResponse = new ArticleResponse();
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(7L);
+        when(articleMapper.toPatch(request)).thenReturn(patch);
+        when(articleUseCase.patchArticle(1L, patch, 7L)).thenReturn(patched);
+        when(articleMapper.toResponse(patched)).thenReturn(articleResponse);
+
+        ResponseEntity<ApiResponse<ArticleResponse>> response =
+                articleController.patchArticle(1L, request, "\"5\"", authentication);
+
+        assertEquals(5L, patch.getVersion());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"6\"", response.getHeaders().getETag());
+        assertSame(articleResponse, response.getBody().getData());
+    }
+
+    @Test
+    void patchArticle_withoutIfMatch_shouldNotExpectVersion() {
+        ArticlePatchRequest request = new ArticlePatchRequest();
+        ArticlePatch patch = new ArticlePatch();
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(7L);
+        when(articleMapper.toPatch(request)).thenReturn(patch);
+        when(articleUseCase.patchArticle(1L, patch, 7L)).thenReturn(Article.builder().id(1L).version(2L).build());
+
+        articleController.patchArticle(1L, request, null, authentication);
+
+        assertNull(patch.getVersion());
+    }
+
+    @Test
+    void importArticles_shouldPassParsedLinesToUseCase() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        Iterator<ArticleImportLine> lines = List.<ArticleImportLine>of().iterator();
+        ArticleImportResult result = new ArticleImportResult(0, 0, List.of(), false);
+        ArticleImportResponse importResponse = new ArticleImportResponse();
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(7L);
+        when(articleImportReader.read(body)).thenReturn(lines);
+        when(articleUseCase.importArticles(lines, 7L)).thenReturn(result);
+        when(articleMapper.toImportResponse(result)).thenReturn(importResponse);
+
+        ResponseEntity<ApiResponse<ArticleImportResponse>> response = articleController.importArticles(body, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(importResponse, response.getBody().getData());
+    }
+
+    @Test
+    void exportArticles_shouldStreamThroughExportWriter() throws Exception {
+        when(authentication.getName()).thenReturn("viewer");
+        when(userDetailsService.getUserIdByUsername("viewer")).thenReturn(3L);
+
+        ResponseEntity<StreamingResponseBody> response = articleController.exportArticles(null, authentication);
+
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        verifyNoInteractions(articleExportWriter);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(articleExportWriter).write(eq(out), any());
+    }
+
+    @Test
+    void exportArticles_acceptingGzip_shouldCompress() throws Exception {
+        when(authentication.getName()).thenReturn("viewer");
+        when(userDetailsService.getUserIdByUsername("viewer")).thenReturn(3L);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes());
+            return null;
+        }).when(articleExportWriter).write(any(), any());
+
+        ResponseEntity<StreamingResponseBody> response = articleController.exportArticles("br, gzip;q=0.8", authentication);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes()));
+        }
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourZeroQuality() {
+        assertTrue(ArticleController.acceptsGzip("gzip, deflate"));
+        assertTrue(ArticleController.acceptsGzip("GZIP;q=0.5"));
+        assertFalse(ArticleController.acceptsGzip("gzip;q=0"));
+        assertFalse(ArticleController.acceptsGzip("deflate, br"));
+        assertFalse(ArticleController.acceptsGzip(null));
+    }
+
+    @Test
+    void getArticleRevisions_shouldMapSummaries() {
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(1L);
+        ArticleRevisionSummary summary = new ArticleRevisionSummary(4L, "Title", true, null);
+        ArticleRevisionSummaryResponse mapped = ArticleRevisionSummaryResponse.builder().version(4L).build();
+        when(articleUseCase.getArticleRevisions(7L, 5L, 20, 1L)).thenReturn(List.of(summary));
+        when(articleMapper.toRevisionSummaryResponse(summary)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<List<ArticleRevisionSummaryResponse>>> response =
+                articleController.getArticleRevisions(7L, 5L, 20, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(mapped), response.getBody().getData());
+    }
+
+    @Test
+    void getArticleRevision_shouldMapRevision() {
+        when(authentication.getName()).thenReturn("editor");
+        when(userDetailsService.getUserIdByUsername("editor")).thenReturn(1L);
+        ArticleRevision revision = ArticleRevision.builder().articleId(7L).version(4L).content("Old").build();
+        ArticleRevisionResponse mapped = ArticleRevisionResponse.builder().version(4L).content("Old").build();
+        when(articleUseCase.getArticleRevision(7L, 4L, 1L)).thenReturn(revision);
+        when(articleMapper.toRevisionResponse(revision)).thenReturn(mapped);
+
+        ResponseEntity<ApiResponse<ArticleRevisionResponse>> response =
+                articleController.getArticleRevision(7L, 4L, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(mapped, response.getBody().getData());
+    }
 }
@@ -1,20 +1,34 @@
 package com.aziz.library.presentation.controller;
 
 import com.aziz.library.application.dto.response.ApiResponse;
+import com.aziz.library.application.dto.response.AuditLogPageResponse;
 import com.aziz.library.application.dto.response.AuditLogResponse;
+import com.aziz.library.application.dto.response.AuditLogStatResponse;
+import com.aziz.library.application.export.AuditLogExportWriter;
 import com.aziz.library.application.mapper.AuditLogMapper;
+import com.aziz.library.domain.exception.InvalidCursorException;
 import com.aziz.library.domain.model.AuditLog;
+import com.aziz.library.domain.model.AuditLogCursor;
+import com.aziz.library.domain.model.AuditLogFilter;
+import com.aziz.library.domain.model.AuditLogGranularity;
+import com.aziz.library.domain.model.AuditLogPage;
+import com.aziz.library.domain.model.AuditLogStat;
+import com.aziz.library.domain.model.AuditLogStatDimension;
 import com.aziz.library.domain.port.in.AuditLogUseCase;
 import com.aziz.library.infrastructure.security.CustomUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +42,8 @@ class AuditLogControllerTest {
     @Mock
     private CustomUserDetailsService userDetailsService;
     @Mock
+    private AuditLogExportWriter auditLogExportWriter;
+    @Mock
     private Authentication authentication;
 
     private AuditLogController auditLogController;
@@ -35,76 +51,148 @@ class AuditLogControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        auditLogController = new AuditLogController(auditLogUseCase, auditLogMapper, userDetailsService);
+        auditLogController = new AuditLogController(auditLogUseCase, auditLogMapper, userDetailsService, auditLogExportWriter);
         when(authentication.getName()).thenReturn("adminUser");
         when(userDetailsService.getUserIdByUsername("adminUser")).thenReturn(1L);
     }
 
     @Test
-    void getAllLogs_returnsAuditLogs() {
-        AuditLog log1 = mock(AuditLog.class);
-        AuditLog log2 = mock(AuditLog.class);
-        List<AuditLog> logs = Arrays.asList(log1, log2);
-
-        AuditLogResponse resp1 = mock(AuditLogResponse.class);
-        AuditLogResponse resp2 = mock(AuditLogResponse.class);
+    void getAllLogs_returnsPageWithCursor() {
+        AuditLog log1 = AuditLog.builder().id(2L).timestamp(LocalDateTime.now()).build();
+        AuditLogPage page = new AuditLogPage(List.of(log1), AuditLogCursor.after(log1));
+        AuditLogPageResponse pageResponse = AuditLogPageResponse.builder()
+                .items(List.of(mock(AuditLogResponse.class)))
+                .nextCursor("next")
+                .hasMore(true)
+                .build();
 
-        when(auditLogUseCase.getAllLogs(1L)).thenReturn(logs);
-        when(auditLogMapper.toResponse(log1)).thenReturn(resp1);
-        when(auditLogMapper.toResponse(log2)).thenReturn(resp2);
+        when(auditLogUseCase.searchLogs(any(AuditLogFilter.class), isNull(), eq(50), eq(1L))).thenReturn(page);
+        when(auditLogMapper.toPageResponse(page)).thenReturn(pageResponse);
 
-        ResponseEntity<ApiResponse<List<AuditLogResponse>>> response = auditLogController.getAllLogs(authentication);
+        ResponseEntity<ApiResponse<AuditLogPageResponse>> response = auditLogController.getAllLogs(
+                null, "LOGIN", "USER", null, null, null, 50, authentication);
 
         assertTrue(response.getStatusCode().is2xxSuccessful());
         assertNotNull(response.getBody());
         assertEquals("Audit logs retrieved successfully", response.getBody().getMessage());
-        assertEquals(Arrays.asList(resp1, resp2), response.getBody().getData());
+        assertSame(pageResponse, response.getBody().getData());
+
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogUseCase).searchLogs(filter.capture(), isNull(), eq(50), eq(1L));
+        assertEquals("LOGIN", filter.getValue().getAction());
+        assertEquals("USER", filter.getValue().getEntity());
     }
 
     @Test
-    void getAllLogs_returnsEmptyList() {
-        when(auditLogUseCase.getAllLogs(1L)).thenReturn(Collections.emptyList());
-
-        ResponseEntity<ApiResponse<List<AuditLogResponse>>> response = auditLogController.getAllLogs(authentication);
+    void getAllLogs_decodesCursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 10, 1, 12, 0);
+        String cursor = new AuditLogCursor(timestamp, 42L).encode();
+        AuditLogPage page = new AuditLogPage(Collections.emptyList(), null);
+        when(auditLogUseCase.searchLogs(any(AuditLogFilter.class), any(AuditLogCursor.class), eq(20), eq(1L))).thenReturn(page);
+        when(auditLogMapper.toPageResponse(page)).thenReturn(new AuditLogPageResponse(List.of(), null, false));
+
+        auditLogController.getAllLogs(null, null, null, null, null, cursor, 20, authentication);
+
+        ArgumentCaptor<AuditLogCursor> after = ArgumentCaptor.forClass(AuditLogCursor.class);
+        verify(auditLogUseCase).searchLogs(any(AuditLogFilter.class), after.capture(), eq(20), eq(1L));
+        assertEquals(timestamp, after.getValue().getTimestamp());
+        assertEquals(42L, after.getValue().getId());
+    }
 
-        assertTrue(response.getStatusCode().is2xxSuccessful());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody().getData().isEmpty());
+    @Test
+    void getAllLogs_withMalformedCursor_throwsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () ->
+                auditLogController.getAllLogs(null, null, null, null, null, "not-a-cursor", 20, authentication));
+        verify(auditLogUseCase, never()).searchLogs(any(), any(), anyInt(), any());
     }
 
     @Test
-    void getLogsByUser_returnsAuditLogs() {
+    void getLogsByUser_filtersOnUser() {
         Long userId = 5L;
-        AuditLog log = mock(AuditLog.class);
-        AuditLogResponse resp = mock(AuditLogResponse.class);
+        AuditLogPage page = new AuditLogPage(Collections.emptyList(), null);
+        AuditLogPageResponse pageResponse = new AuditLogPageResponse(List.of(), null, false);
 
-        when(auditLogUseCase.getLogsByUser(userId, 1L)).thenReturn(List.of(log));
-        when(auditLogMapper.toResponse(log)).thenReturn(resp);
+        when(auditLogUseCase.searchLogs(any(AuditLogFilter.class), isNull(), eq(50), eq(1L))).thenReturn(page);
+        when(auditLogMapper.toPageResponse(page)).thenReturn(pageResponse);
 
-        ResponseEntity<ApiResponse<List<AuditLogResponse>>> response = auditLogController.getLogsByUser(userId, authentication);
+        ResponseEntity<ApiResponse<AuditLogPageResponse>> response =
+                auditLogController.getLogsByUser(userId, null, 50, authentication);
 
         assertTrue(response.getStatusCode().is2xxSuccessful());
-        assertNotNull(response.getBody());
         assertEquals("User audit logs retrieved successfully", response.getBody().getMessage());
-        assertEquals(List.of(resp), response.getBody().getData());
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogUseCase).searchLogs(filter.capture(), isNull(), eq(50), eq(1L));
+        assertEquals(userId, filter.getValue().getUserId());
     }
 
     @Test
-    void getLogsByDateRange_returnsAuditLogs() {
+    void getLogsByDateRange_filtersOnRange() {
         LocalDateTime start = LocalDateTime.now().minusDays(1);
         LocalDateTime end = LocalDateTime.now();
-        AuditLog log = mock(AuditLog.class);
-        AuditLogResponse resp = mock(AuditLogResponse.class);
+        AuditLogPage page = new AuditLogPage(Collections.emptyList(), null);
+        AuditLogPageResponse pageResponse = new AuditLogPageResponse(List.of(), null, false);
 
-        when(auditLogUseCase.getLogsByDateRange(start, end, 1L)).thenReturn(List.of(log));
-        when(auditLogMapper.toResponse(log)).thenReturn(resp);
+        when(auditLogUseCase.searchLogs(any(AuditLogFilter.class), isNull(), eq(50), eq(1L))).thenReturn(page);
+        when(auditLogMapper.toPageResponse(page)).thenReturn(pageResponse);
 
-        ResponseEntity<ApiResponse<List<AuditLogResponse>>> response = auditLogController.getLogsByDateRange(start, end, authentication);
+        ResponseEntity<ApiResponse<AuditLogPageResponse>> response =
+                auditLogController.getLogsByDateRange(start, end, null, 50, authentication);
 
-        assertTrue(response.getStatusCode().is2xxSuccessful());
-        assertNotNull(response.getBody());
         assertEquals("Date range audit logs retrieved successfully", response.getBody().getMessage());
-        assertEquals(List.of(resp), response.getBody().getData());
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogUseCase).searchLogs(filter.capture(), isNull(), eq(50), eq(1L));
+        assertEquals(start, filter.getValue().getStart());
+        assertEquals(end, filter.getValue().getEnd());
+    }
+
+    @Test
+    void getStats_groupsByRequestedDimensions() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 1, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        List<AuditLogStat> stats = List.of(AuditLogStat.builder().bucketStart(start).action("LOGIN").count(3).build());
+        List<AuditLogStatResponse> statResponses = List.of(new AuditLogStatResponse(start, "LOGIN", null, null, 3));
+
+        when(auditLogUseCase.getStats(eq(AuditLogGranularity.HOUR), any(AuditLogFilter.class),
+                eq(EnumSet.of(AuditLogStatDimension.ACTION)), eq(1L))).thenReturn(stats);
+        when(auditLogMapper.toStatResponseList(stats)).thenReturn(statResponses);
+
+        ResponseEntity<ApiResponse<List<AuditLogStatResponse>>> response = auditLogController.getStats(
+                AuditLogGranularity.HOUR, start, end, null, "LOGIN", null,
+                List.of(AuditLogStatDimension.ACTION), authentication);
+
+        assertEquals("Audit stats retrieved successfully", response.getBody().getMessage());
+        assertSame(statResponses, response.getBody().getData());
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogUseCase).getStats(eq(AuditLogGranularity.HOUR), filter.capture(), any(), eq(1L));
+        assertEquals("LOGIN", filter.getValue().getAction());
+        assertEquals(start, filter.getValue().getStart());
+        assertEquals(end, filter.getValue().getEnd());
+    }
+
+    @Test
+    void getStats_withoutGroupBy_countsPerBucketOnly() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 1, 0, 0);
+        when(auditLogUseCase.getStats(any(), any(), any(), any())).thenReturn(List.of());
+        when(auditLogMapper.toStatResponseList(List.of())).thenReturn(List.of());
+
+        auditLogController.getStats(AuditLogGranularity.DAY, start, start.plusDays(7), null, null, null, null, authentication);
+
+        verify(auditLogUseCase).getStats(eq(AuditLogGranularity.DAY), any(AuditLogFilter.class),
+                eq(EnumSet.noneOf(AuditLogStatDimension.class)), eq(1L));
+    }
+
+    @Test
+    void exportLogs_streamsThroughExportWriter() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = auditLogController.exportLogs(
+                AuditLogExportWriter.Format.CSV, null, "LOGIN", null, null, null, authentication);
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("audit-logs.csv"));
+        verifyNoInteractions(auditLogExportWriter);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(auditLogExportWriter).write(eq(AuditLogExportWriter.Format.CSV), eq(out), any());
     }
 
     @Test